@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmarks;
+
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.benchmark.client.data.DataContainer;
+import com.github.nmorel.gwtjackson.benchmark.client.data.Person;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.deser.collection.ListJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+
+/**
+ * Hand-assembled deserializer of {@link DataContainer}, equivalent to the one generated for the bean.
+ *
+ * @author Nicolas Morel
+ */
+public class DataContainerJsonDeserializer extends JsonDeserializer<DataContainer> {
+
+    private static final DataContainerJsonDeserializer INSTANCE = new DataContainerJsonDeserializer();
+
+    public static DataContainerJsonDeserializer getInstance() {
+        return INSTANCE;
+    }
+
+    private final JsonDeserializer<List<Person>> personsDeserializer = ListJsonDeserializer.newInstance( PersonJsonDeserializer
+            .getInstance() );
+
+    private DataContainerJsonDeserializer() { }
+
+    @Override
+    protected DataContainer doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+        DataContainer container = new DataContainer();
+        reader.beginObject();
+        while ( reader.hasNext() ) {
+            if ( "persons".equals( reader.nextName() ) ) {
+                container.setPersons( personsDeserializer.deserialize( reader, ctx ) );
+            } else {
+                reader.skipRawValue();
+            }
+        }
+        reader.endObject();
+        return container;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmarks;
+
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.benchmark.client.data.DataContainer;
+import com.github.nmorel.gwtjackson.benchmark.client.data.Person;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.JsonSerializerParameters;
+import com.github.nmorel.gwtjackson.client.ser.CollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+
+/**
+ * Hand-assembled serializer of {@link DataContainer}, equivalent to the one generated for the bean.
+ *
+ * @author Nicolas Morel
+ */
+public class DataContainerJsonSerializer extends JsonSerializer<DataContainer> {
+
+    private static final DataContainerJsonSerializer INSTANCE = new DataContainerJsonSerializer();
+
+    public static DataContainerJsonSerializer getInstance() {
+        return INSTANCE;
+    }
+
+    private final JsonSerializer<List<Person>> personsSerializer = CollectionJsonSerializer.<List<Person>>newInstance(
+            PersonJsonSerializer.getInstance() );
+
+    private DataContainerJsonSerializer() { }
+
+    @Override
+    protected void doSerialize( JsonWriter writer, DataContainer value, JsonSerializationContext ctx, JsonSerializerParameters params ) {
+        writer.beginObject();
+        writer.prerenderedName( "persons", ",\"persons\":" );
+        personsSerializer.serialize( writer, value.getPersons(), ctx );
+        writer.endObject();
+    }
+}
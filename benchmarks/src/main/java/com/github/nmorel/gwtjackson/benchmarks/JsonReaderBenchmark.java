@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.nmorel.gwtjackson.benchmark.client.data.DataContainer;
+import com.github.nmorel.gwtjackson.benchmark.client.data.DataProvider;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reads the JSON of a {@link DataContainer} token by token and with the hand-assembled deserializers.
+ *
+ * @author Nicolas Morel
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class JsonReaderBenchmark {
+
+    @Param( {"10", "1000"} )
+    private int nbItems;
+
+    @Param
+    private ReaderType readerType;
+
+    private String input;
+
+    private JsonDeserializationContext ctx;
+
+    @Setup
+    public void setup() {
+        JsonWriter writer = WriterType.DEFAULT.newLenientJsonWriter();
+        DataContainerJsonSerializer.getInstance().serialize( writer, DataProvider.generateData( nbItems ), new JsonSerializationContext
+                .Builder().build() );
+        input = writer.getOutput();
+        ctx = new JsonDeserializationContext.Builder().build();
+    }
+
+    @Benchmark
+    public void readTokens( Blackhole blackhole ) {
+        readValue( readerType.newJsonReader( input ), blackhole );
+    }
+
+    @Benchmark
+    public DataContainer deserialize() {
+        return DataContainerJsonDeserializer.getInstance().deserialize( readerType.newJsonReader( input ), ctx );
+    }
+
+    private static void readValue( JsonReader reader, Blackhole blackhole ) {
+        switch ( reader.peek() ) {
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                while ( reader.hasNext() ) {
+                    readValue( reader, blackhole );
+                }
+                reader.endArray();
+                break;
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                while ( reader.hasNext() ) {
+                    blackhole.consume( reader.nextName() );
+                    readValue( reader, blackhole );
+                }
+                reader.endObject();
+                break;
+            case STRING:
+                blackhole.consume( reader.nextString() );
+                break;
+            case NUMBER:
+                blackhole.consume( reader.nextDouble() );
+                break;
+            case BOOLEAN:
+                blackhole.consume( reader.nextBoolean() );
+                break;
+            case NULL:
+                reader.nextNull();
+                break;
+            default:
+                throw new IllegalStateException( "Unexpected token " + reader.peek() );
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.github.nmorel.gwtjackson.benchmark.client.data.DataContainer;
+import com.github.nmorel.gwtjackson.benchmark.client.data.DataProvider;
+import com.github.nmorel.gwtjackson.benchmark.client.data.Person;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes a {@link DataContainer} token by token and with the hand-assembled serializers.
+ *
+ * @author Nicolas Morel
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class JsonWriterBenchmark {
+
+    @Param( {"10", "1000"} )
+    private int nbItems;
+
+    @Param
+    private WriterType writerType;
+
+    private DataContainer data;
+
+    private JsonSerializationContext ctx;
+
+    @Setup
+    public void setup() {
+        data = DataProvider.generateData( nbItems );
+        ctx = new JsonSerializationContext.Builder().build();
+    }
+
+    @Benchmark
+    public String writeTokens() {
+        JsonWriter writer = writerType.newLenientJsonWriter();
+        writer.beginObject();
+        writer.name( "persons" );
+        writePersons( writer, data.getPersons() );
+        writer.endObject();
+        return writer.getOutput();
+    }
+
+    @Benchmark
+    public String serialize() {
+        JsonWriter writer = writerType.newLenientJsonWriter();
+        DataContainerJsonSerializer.getInstance().serialize( writer, data, ctx );
+        return writer.getOutput();
+    }
+
+    private static void writePersons( JsonWriter writer, List<Person> persons ) {
+        writer.beginArray();
+        for ( Person person : persons ) {
+            writer.beginObject();
+            writer.name( "firstName" ).value( person.getFirstName() );
+            writer.name( "lastName" ).value( person.getLastName() );
+            writer.name( "childs" );
+            writePersons( writer, person.getChilds() );
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+}
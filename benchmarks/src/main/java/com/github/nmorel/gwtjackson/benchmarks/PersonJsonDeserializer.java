@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmarks;
+
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.benchmark.client.data.Person;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.deser.StringJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.ListJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+
+/**
+ * Hand-assembled deserializer of {@link Person}, equivalent to the one generated for the bean.
+ *
+ * @author Nicolas Morel
+ */
+public class PersonJsonDeserializer extends JsonDeserializer<Person> {
+
+    private static final String[] PROPERTY_NAMES = new String[]{"firstName", "lastName", "childs"};
+
+    private static final PersonJsonDeserializer INSTANCE = new PersonJsonDeserializer();
+
+    public static PersonJsonDeserializer getInstance() {
+        return INSTANCE;
+    }
+
+    private final JsonDeserializer<List<Person>> childsDeserializer = ListJsonDeserializer.newInstance( this );
+
+    private PersonJsonDeserializer() { }
+
+    @Override
+    protected Person doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+        Person person = new Person();
+        reader.beginObject();
+        int expectedIndex = 0;
+        while ( reader.hasNext() ) {
+            int index = reader.nextNameIndex( PROPERTY_NAMES, expectedIndex );
+            switch ( index ) {
+                case 0:
+                    person.setFirstName( StringJsonDeserializer.getInstance().deserialize( reader, ctx ) );
+                    break;
+                case 1:
+                    person.setLastName( StringJsonDeserializer.getInstance().deserialize( reader, ctx ) );
+                    break;
+                case 2:
+                    person.setChilds( childsDeserializer.deserialize( reader, ctx ) );
+                    break;
+                default:
+                    reader.skipRawValue();
+            }
+            expectedIndex = index + 1;
+        }
+        reader.endObject();
+        return person;
+    }
+}
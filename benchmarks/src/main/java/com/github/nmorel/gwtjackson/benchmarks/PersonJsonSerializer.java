@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmarks;
+
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.benchmark.client.data.Person;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.JsonSerializerParameters;
+import com.github.nmorel.gwtjackson.client.ser.CollectionJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.StringJsonSerializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+
+/**
+ * Hand-assembled serializer of {@link Person}, equivalent to the one generated for the bean.
+ *
+ * @author Nicolas Morel
+ */
+public class PersonJsonSerializer extends JsonSerializer<Person> {
+
+    private static final PersonJsonSerializer INSTANCE = new PersonJsonSerializer();
+
+    public static PersonJsonSerializer getInstance() {
+        return INSTANCE;
+    }
+
+    private final JsonSerializer<List<Person>> childsSerializer = CollectionJsonSerializer.<List<Person>>newInstance( this );
+
+    private PersonJsonSerializer() { }
+
+    @Override
+    protected void doSerialize( JsonWriter writer, Person value, JsonSerializationContext ctx, JsonSerializerParameters params ) {
+        writer.beginObject();
+        writer.prerenderedName( "firstName", ",\"firstName\":" );
+        StringJsonSerializer.getInstance().serialize( writer, value.getFirstName(), ctx );
+        writer.prerenderedName( "lastName", ",\"lastName\":" );
+        StringJsonSerializer.getInstance().serialize( writer, value.getLastName(), ctx );
+        writer.prerenderedName( "childs", ",\"childs\":" );
+        childsSerializer.serialize( writer, value.getChilds(), ctx );
+        writer.endObject();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmarks;
+
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.impl.DefaultJsonReader;
+import com.github.nmorel.gwtjackson.client.stream.impl.NonBufferedJsonReader;
+import com.github.nmorel.gwtjackson.client.stream.impl.StrictJsonReader;
+import com.github.nmorel.gwtjackson.client.stream.impl.StringReader;
+
+/**
+ * The {@link JsonReader} implementations benchmarked.
+ *
+ * @author Nicolas Morel
+ */
+public enum ReaderType {
+    NON_BUFFERED {
+        @Override
+        public JsonReader newJsonReader( String input ) {
+            return lenient( new NonBufferedJsonReader( input ) );
+        }
+    },
+    DEFAULT {
+        @Override
+        public JsonReader newJsonReader( String input ) {
+            return lenient( new DefaultJsonReader( new StringReader( input ) ) );
+        }
+    },
+    STRICT {
+        @Override
+        public JsonReader newJsonReader( String input ) {
+            return new StrictJsonReader( input );
+        }
+    };
+
+    private static JsonReader lenient( JsonReader reader ) {
+        reader.setLenient( true );
+        return reader;
+    }
+
+    /**
+     * Creates a new reader configured like {@link com.github.nmorel.gwtjackson.client.JsonDeserializationContext#newJsonReader(String)}.
+     * It is lenient except for the {@link StrictJsonReader}.
+     */
+    public abstract JsonReader newJsonReader( String input );
+}
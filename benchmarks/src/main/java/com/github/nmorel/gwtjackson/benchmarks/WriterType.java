@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.benchmarks;
+
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.DefaultJsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.FastJsonWriter;
+
+/**
+ * The {@link JsonWriter} implementations benchmarked.
+ *
+ * @author Nicolas Morel
+ */
+public enum WriterType {
+    FAST {
+        @Override
+        protected JsonWriter newJsonWriter() {
+            return new FastJsonWriter( new StringBuilder() );
+        }
+    },
+    DEFAULT {
+        @Override
+        protected JsonWriter newJsonWriter() {
+            return new DefaultJsonWriter( new StringBuilder() );
+        }
+    };
+
+    /**
+     * Creates a new lenient writer like {@link com.github.nmorel.gwtjackson.client.JsonSerializationContext#newJsonWriter()}.
+     */
+    public JsonWriter newLenientJsonWriter() {
+        JsonWriter writer = newJsonWriter();
+        writer.setLenient( true );
+        return writer;
+    }
+
+    protected abstract JsonWriter newJsonWriter();
+}
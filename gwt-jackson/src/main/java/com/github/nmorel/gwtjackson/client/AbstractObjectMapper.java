@@ -16,18 +16,24 @@
 
 package com.github.nmorel.gwtjackson.client;
 
+import java.util.Collections;
+import java.util.Iterator;
+
 import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
 import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
 import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.NonBufferedJsonReader;
+import com.google.gwt.core.client.Callback;
+import com.google.gwt.core.client.Scheduler;
 
 /**
- * Base implementation of {@link ObjectMapper}. It delegates the serialization/deserialization to a serializer/deserializer.
+ * Base implementation of {@link StreamingObjectMapper}. It delegates the serialization/deserialization to a serializer/deserializer.
  *
  * @author Nicolas Morel
  */
-public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
+public abstract class AbstractObjectMapper<T> implements StreamingObjectMapper<T> {
 
     private final String rootName;
 
@@ -35,19 +41,130 @@ public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
 
     private JsonSerializer<T> serializer;
 
+    /**
+     * Context used by {@link #read(String)}, reset and kept after each call. It is null while in use so a nested call creates its own.
+     */
+    private JsonDeserializationContext defaultDeserializationContext;
+
+    /**
+     * Context used by {@link #write(Object)}, reset and kept after each call. It is null while in use so a nested call creates its own.
+     */
+    private JsonSerializationContext defaultSerializationContext;
+
     protected AbstractObjectMapper( String rootName ) {
         this.rootName = rootName;
     }
 
     @Override
     public T read( String in ) throws JsonDeserializationException {
-        return read( in, JsonDeserializationContext.builder().build() );
+        JsonDeserializationContext ctx = defaultDeserializationContext;
+        if ( null == ctx ) {
+            ctx = JsonDeserializationContext.builder().build();
+        } else {
+            defaultDeserializationContext = null;
+        }
+        try {
+            return read( in, ctx );
+        } finally {
+            ctx.reset();
+            defaultDeserializationContext = ctx;
+        }
     }
 
     @Override
     public T read( String in, JsonDeserializationContext ctx ) throws JsonDeserializationException {
-        JsonReader reader = ctx.newJsonReader( in );
+        return read( ctx.newJsonReader( in ), ctx );
+    }
+
+    @Override
+    public IncrementalRead<T> readIncrementally() {
+        return readIncrementally( JsonDeserializationContext.builder().build() );
+    }
+
+    @Override
+    public IncrementalRead<T> readIncrementally( JsonDeserializationContext ctx ) {
+        return new IncrementalRead<T>( this, ctx );
+    }
+
+    @Override
+    public void readAsync( String in, Callback<T, RuntimeException> callback ) {
+        readAsync( in, JsonDeserializationContext.builder().build(), callback );
+    }
+
+    @Override
+    public void readAsync( String in, JsonDeserializationContext ctx, Callback<T, RuntimeException> callback ) {
+        Scheduler.get().scheduleIncremental( new AsyncRead<T>( this, in, ctx, callback ) );
+    }
+
+    @Override
+    public Iterator<T> readValues( String in ) throws JsonDeserializationException {
+        return readValues( in, JsonDeserializationContext.builder().build() );
+    }
+
+    @Override
+    public Iterator<T> readValues( String in, JsonDeserializationContext ctx ) throws JsonDeserializationException {
+        if ( isBlank( in ) ) {
+            // an empty stream, there is no value to read
+            return Collections.<T>emptyList().iterator();
+        }
+        // JSON.parse only accepts a single document so the native parser is never used here
+        JsonReader reader = new NonBufferedJsonReader( in );
+        reader.setLenient( true );
+        return new ValueIterator<T>( this, reader, ctx );
+    }
+
+    /**
+     * Reads a JSON array element by element, see {@link ElementReader#readElements(String, JsonDeserializationContext)}.
+     *
+     * @param in JSON input to read
+     * @param ctx Context for the full reading process
+     * @param elementDeserializer deserializer of the elements
+     * @param <E> Type of the elements
+     *
+     * @return an {@link Iterator} over the elements
+     * @throws JsonDeserializationException if an exception occurs while reading the input
+     */
+    protected <E> Iterator<E> readElements( String in, JsonDeserializationContext ctx, JsonDeserializer<? extends E> elementDeserializer )
+            throws JsonDeserializationException {
+        return readElements( ctx.newJsonReader( in ), ctx, elementDeserializer );
+    }
 
+    /**
+     * Reads the JSON array of the given reader element by element.
+     *
+     * @param reader reader positioned at the start of the document
+     * @param ctx Context for the full reading process
+     * @param elementDeserializer deserializer of the elements
+     * @param <E> Type of the elements
+     *
+     * @return an {@link ElementIterator} over the elements
+     * @throws JsonDeserializationException if an exception occurs while reading the input
+     */
+    <E> ElementIterator<E> readElements( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializer<? extends E>
+            elementDeserializer ) throws JsonDeserializationException {
+        return new ElementIterator<E>( reader, ctx, elementDeserializer, rootName );
+    }
+
+    private static boolean isBlank( String in ) {
+        for ( int i = 0; i < in.length(); i++ ) {
+            char c = in.charAt( i );
+            if ( c != ' ' && c != '\t' && c != '\n' && c != '\r' ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the JSON input of the given reader into an object.
+     *
+     * @param reader reader positioned at the start of the document
+     * @param ctx Context for the full reading process
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if an exception occurs while reading the input
+     */
+    T read( JsonReader reader, JsonDeserializationContext ctx ) throws JsonDeserializationException {
         try {
 
             if ( ctx.isUnwrapRootValue() ) {
@@ -101,12 +218,37 @@ public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
 
     @Override
     public String write( T value ) throws JsonSerializationException {
-        return write( value, JsonSerializationContext.builder().build() );
+        JsonSerializationContext ctx = defaultSerializationContext;
+        if ( null == ctx ) {
+            ctx = JsonSerializationContext.builder().build();
+        } else {
+            defaultSerializationContext = null;
+        }
+        try {
+            return write( value, ctx );
+        } finally {
+            ctx.reset();
+            defaultSerializationContext = ctx;
+        }
     }
 
     @Override
     public String write( T value, JsonSerializationContext ctx ) throws JsonSerializationException {
         JsonWriter writer = ctx.newJsonWriter();
+        write( writer, value, ctx );
+        return writer.getOutput();
+    }
+
+    /**
+     * Writes an object as a top-level value of the given writer.
+     *
+     * @param writer writer receiving the value
+     * @param value Object to write
+     * @param ctx Context for the full writing process
+     *
+     * @throws JsonSerializationException if an exception occurs while writing the value
+     */
+    private void write( JsonWriter writer, T value, JsonSerializationContext ctx ) throws JsonSerializationException {
         try {
             if ( ctx.isWrapRootValue() ) {
                 writer.beginObject();
@@ -116,7 +258,6 @@ public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
             } else {
                 getSerializer().serialize( writer, value, ctx );
             }
-            return writer.getOutput();
         } catch ( JsonSerializationException e ) {
             // already logged, we just throw it
             throw e;
@@ -125,6 +266,24 @@ public abstract class AbstractObjectMapper<T> implements ObjectMapper<T> {
         }
     }
 
+    @Override
+    public String writeValues( Iterable<? extends T> values ) throws JsonSerializationException {
+        return writeValues( values, JsonSerializationContext.builder().build() );
+    }
+
+    @Override
+    public String writeValues( Iterable<? extends T> values, JsonSerializationContext ctx ) throws JsonSerializationException {
+        JsonWriter writer = ctx.newJsonWriter();
+        for ( T value : values ) {
+            try {
+                write( writer, value, ctx );
+            } finally {
+                ctx.reset();
+            }
+        }
+        return writer.getOutput();
+    }
+
     /**
      * @return the {@link JsonSerializer} used by this mapper
      */
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.github.nmorel.gwtjackson.client.deser.array.ArrayJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.bean.AbstractBeanJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.bean.BeanPropertyDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.collection.BaseCollectionJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.stream.impl.IncrementalJsonReader;
+import com.google.gwt.core.client.Callback;
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+
+/**
+ * Asynchronous read started by {@link StreamingObjectReader#readAsync(String, Callback)}, each slice of
+ * {@link JsonDeserializationContext#getReadTimeSlice()} milliseconds being a call to {@link #execute()}.
+ * <p>
+ * The input is first tokenized by an {@link IncrementalJsonReader}, the position in the input and the state of the tokenizer being
+ * kept between the slices. The object is then read from the recorded tokens, the slice being able to end after any element read by an
+ * {@link ElementIterator}:
+ * <ul>
+ * <li>the elements of a {@link java.util.Collection} or an array of objects are deserialized one by one</li>
+ * <li>the properties of a bean are read one by one, the collections and arrays of objects among them element by element. The other
+ * properties are buffered and deserialized with the bean once all of them are read.</li>
+ * </ul>
+ * The few roots that fit neither case, a bean with type or identity information or a root value wrapped with its name for example,
+ * are read in a single slice.
+ * </p>
+ *
+ * @param <T> Type of the read object
+ *
+ * @author Nicolas Morel
+ */
+final class AsyncRead<T> implements RepeatingCommand {
+
+    /**
+     * Number of characters tokenized between two checks of the elapsed time.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+    private final AbstractObjectMapper<T> mapper;
+
+    private final JsonDeserializationContext ctx;
+
+    private final IncrementalJsonReader reader;
+
+    private final String input;
+
+    private final int timeSlice;
+
+    private final Callback<T, RuntimeException> callback;
+
+    /**
+     * Index of the next character of the input to tokenize.
+     */
+    private int position = 0;
+
+    private boolean tokenized;
+
+    /**
+     * Deserializer of the root bean when its properties are read one by one, null otherwise.
+     */
+    private AbstractBeanJsonDeserializer<T> beanDeserializer;
+
+    /**
+     * Properties of the root bean deserialized with it, buffered until all the properties are read.
+     */
+    private Map<String, JsonReader> bufferedProperties;
+
+    /**
+     * Collections and arrays of the root bean already deserialized, set once the bean is instantiated.
+     */
+    private Map<BeanPropertyDeserializer<T, ?>, Object> separatedValues;
+
+    /**
+     * Property of the root bean whose elements are being deserialized.
+     */
+    private BeanPropertyDeserializer<T, ?> property;
+
+    /**
+     * Deserializer of the collection or the array whose elements are being deserialized.
+     */
+    private JsonDeserializer<?> containerDeserializer;
+
+    /**
+     * Iterator over the elements of the collection or the array being read, null if there is none.
+     */
+    private ElementIterator<Object> iterator;
+
+    /**
+     * Elements already deserialized.
+     */
+    private List<Object> elements;
+
+    AsyncRead( AbstractObjectMapper<T> mapper, String input, JsonDeserializationContext ctx, Callback<T, RuntimeException> callback ) {
+        this.mapper = mapper;
+        this.ctx = ctx;
+        this.reader = new IncrementalJsonReader();
+        this.reader.setLenient( true );
+        this.input = input;
+        this.timeSlice = ctx.getReadTimeSlice();
+        this.callback = callback;
+    }
+
+    @Override
+    @SuppressWarnings( "unchecked" )
+    public boolean execute() {
+        Duration duration = new Duration();
+        T value;
+        try {
+            if ( !tokenized ) {
+                if ( !tokenize( duration ) ) {
+                    return true;
+                }
+                tokenized = true;
+                start();
+            }
+
+            if ( null != beanDeserializer ) {
+                if ( !readProperties( duration ) ) {
+                    return true;
+                }
+                value = newBean();
+            } else if ( null != iterator ) {
+                if ( !readElements( duration ) ) {
+                    return true;
+                }
+                value = (T) newContainer();
+            } else {
+                value = mapper.read( reader, ctx );
+            }
+        } catch ( RuntimeException e ) {
+            callback.onFailure( e );
+            return false;
+        }
+        callback.onSuccess( value );
+        return false;
+    }
+
+    /**
+     * Tokenizes the input until it ends or the time slice is elapsed.
+     *
+     * @param duration time elapsed since the start of the slice
+     *
+     * @return true if the whole input is tokenized
+     */
+    private boolean tokenize( Duration duration ) {
+        int length = input.length();
+        while ( position < length ) {
+            int end = Math.min( length, position + CHUNK_SIZE );
+            reader.append( input, position, end );
+            position = end;
+            if ( position < length && duration.elapsedMillis() >= timeSlice ) {
+                // we yield to the event loop, the next slice starts from the current position
+                return false;
+            }
+        }
+        reader.end();
+        return true;
+    }
+
+    /**
+     * Prepares the read of the tokenized input depending on the type of the read object.
+     */
+    @SuppressWarnings( "unchecked" )
+    private void start() {
+        JsonDeserializer<T> deserializer = mapper.getDeserializer();
+        JsonDeserializer<?> elementDeserializer = getElementDeserializer( deserializer );
+        if ( null != elementDeserializer ) {
+            startElements( deserializer, mapper.readElements( reader, ctx, elementDeserializer ) );
+        } else if ( deserializer instanceof AbstractBeanJsonDeserializer && ((AbstractBeanJsonDeserializer<T>) deserializer)
+                .canDeserializeByProperty() && !ctx.isUnwrapRootValue() && JsonToken.BEGIN_OBJECT == reader.peek() ) {
+            beanDeserializer = (AbstractBeanJsonDeserializer<T>) deserializer;
+            bufferedProperties = new LinkedHashMap<String, JsonReader>();
+            separatedValues = new LinkedHashMap<BeanPropertyDeserializer<T, ?>, Object>();
+            reader.beginObject();
+        }
+    }
+
+    /**
+     * @return the deserializer of the elements if the given deserializer reads a collection or an array of objects, null otherwise
+     */
+    private JsonDeserializer<?> getElementDeserializer( JsonDeserializer<?> deserializer ) {
+        if ( deserializer instanceof BaseCollectionJsonDeserializer ) {
+            return ((BaseCollectionJsonDeserializer<?, ?>) deserializer).getDeserializer();
+        } else if ( deserializer instanceof ArrayJsonDeserializer ) {
+            return ((ArrayJsonDeserializer<?>) deserializer).getDeserializer();
+        } else {
+            return null;
+        }
+    }
+
+    private void startElements( JsonDeserializer<?> deserializer, ElementIterator<Object> iterator ) {
+        this.containerDeserializer = deserializer;
+        this.iterator = iterator;
+        this.elements = new ArrayList<Object>();
+    }
+
+    /**
+     * Deserializes the elements of the current collection or array until its end or the end of the time slice.
+     *
+     * @param duration time elapsed since the start of the slice
+     *
+     * @return true if all the elements are deserialized
+     */
+    private boolean readElements( Duration duration ) {
+        while ( iterator.hasNext() ) {
+            elements.add( iterator.next() );
+            if ( duration.elapsedMillis() >= timeSlice ) {
+                // we yield to the event loop, the next slice starts from the next element
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the collection or the array containing the deserialized elements
+     */
+    @SuppressWarnings( "unchecked" )
+    private Object newContainer() {
+        if ( iterator.isNullValue() ) {
+            return null;
+        }
+        if ( containerDeserializer instanceof ArrayJsonDeserializer ) {
+            return ((ArrayJsonDeserializer) containerDeserializer).toArray( elements );
+        } else {
+            return ((BaseCollectionJsonDeserializer) containerDeserializer).toCollection( elements );
+        }
+    }
+
+    /**
+     * Reads the properties of the root bean until its end or the end of the time slice.
+     *
+     * @param duration time elapsed since the start of the slice
+     *
+     * @return true if all the properties are read
+     */
+    private boolean readProperties( Duration duration ) {
+        try {
+            while ( true ) {
+                if ( null != iterator ) {
+                    if ( !readElements( duration ) ) {
+                        return false;
+                    }
+                    separatedValues.put( property, newContainer() );
+                    property = null;
+                    iterator = null;
+                    elements = null;
+                }
+
+                if ( JsonToken.NAME != reader.peek() ) {
+                    return true;
+                }
+                String name = reader.nextName();
+                BeanPropertyDeserializer<T, ?> separableProperty = beanDeserializer.getSeparableProperty( name );
+                JsonDeserializer<?> elementDeserializer = null == separableProperty ? null : getElementDeserializer( separableProperty
+                        .getDeserializer() );
+                if ( null == elementDeserializer ) {
+                    bufferedProperties.put( name, reader.bufferValue() );
+                } else {
+                    property = separableProperty;
+                    startElements( separableProperty.getDeserializer(), new ElementIterator<Object>( reader, ctx, elementDeserializer ) );
+                }
+            }
+        } catch ( JsonDeserializationException e ) {
+            // already logged, we just throw it
+            throw e;
+        } catch ( RuntimeException e ) {
+            throw ctx.traceError( e, reader );
+        }
+    }
+
+    /**
+     * @return the root bean deserialized from the buffered properties, with the collections and arrays already deserialized
+     */
+    @SuppressWarnings( "unchecked" )
+    private T newBean() {
+        try {
+            T bean = beanDeserializer.deserializeInline( reader, ctx, JsonDeserializerParameters.DEFAULT, null, null, null,
+                    bufferedProperties );
+            reader.endObject();
+            for ( Entry<BeanPropertyDeserializer<T, ?>, Object> separatedValue : separatedValues.entrySet() ) {
+                ((BeanPropertyDeserializer<T, Object>) separatedValue.getKey()).setValue( bean, separatedValue.getValue(), ctx );
+            }
+            return bean;
+        } catch ( JsonDeserializationException e ) {
+            // already logged, we just throw it
+            throw e;
+        } catch ( RuntimeException e ) {
+            throw ctx.traceError( e, reader );
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+
+/**
+ * {@link Iterator} returned by {@link ElementReader#readElements(String)}. Each element is only deserialized when {@link #next()} is
+ * called, so nothing keeps a reference to the elements already returned. It is also used by {@link AsyncRead} to read the collections
+ * of a bean element by element.
+ *
+ * @param <E> Type of the elements
+ *
+ * @author Nicolas Morel
+ */
+final class ElementIterator<E> implements Iterator<E> {
+
+    private final JsonReader reader;
+
+    private final JsonDeserializationContext ctx;
+
+    private final JsonDeserializer<? extends E> deserializer;
+
+    private final boolean unwrapRootValue;
+
+    /**
+     * True if the input is a single value read as an array of one element.
+     */
+    private final boolean singleValue;
+
+    /**
+     * True if the input is null instead of an array.
+     */
+    private boolean nullValue;
+
+    private boolean ended;
+
+    ElementIterator( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializer<? extends E> deserializer, String rootName ) {
+        this( reader, ctx, deserializer, ctx.isUnwrapRootValue(), rootName );
+    }
+
+    /**
+     * Creates an iterator over the array value at the current position of the reader, a property value for example.
+     */
+    ElementIterator( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializer<? extends E> deserializer ) {
+        this( reader, ctx, deserializer, false, null );
+    }
+
+    private ElementIterator( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializer<? extends E> deserializer, boolean
+            unwrapRootValue, String rootName ) {
+        this.reader = reader;
+        this.ctx = ctx;
+        this.deserializer = deserializer;
+        this.unwrapRootValue = unwrapRootValue;
+
+        try {
+            if ( unwrapRootValue ) {
+                if ( JsonToken.BEGIN_OBJECT != reader.peek() ) {
+                    throw ctx.traceError( "Unwrap root value is enabled but the input is not a JSON Object", reader );
+                }
+                reader.beginObject();
+                if ( JsonToken.END_OBJECT == reader.peek() ) {
+                    throw ctx.traceError( "Unwrap root value is enabled but the JSON Object is empty", reader );
+                }
+                String name = reader.nextName();
+                if ( !name.equals( rootName ) ) {
+                    throw ctx.traceError( "Unwrap root value is enabled but the name '" + name + "' don't match the expected rootName " +
+                            "'" + rootName + "'", reader );
+                }
+            }
+
+            JsonToken token = reader.peek();
+            if ( JsonToken.BEGIN_ARRAY == token ) {
+                reader.beginArray();
+                singleValue = false;
+            } else if ( JsonToken.NULL == token ) {
+                reader.nextNull();
+                singleValue = false;
+                nullValue = true;
+                end();
+            } else if ( ctx.isAcceptSingleValueAsArray() ) {
+                singleValue = true;
+            } else {
+                throw ctx.traceError( "Cannot deserialize an array out of " + token + " token", reader );
+            }
+        } catch ( JsonDeserializationException e ) {
+            // already logged, we just throw it
+            throw e;
+        } catch ( RuntimeException e ) {
+            throw ctx.traceError( e, reader );
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if ( ended ) {
+            return false;
+        }
+        if ( singleValue ) {
+            return true;
+        }
+        try {
+            if ( JsonToken.END_ARRAY == reader.peek() ) {
+                reader.endArray();
+                end();
+                return false;
+            }
+            return true;
+        } catch ( JsonDeserializationException e ) {
+            // already logged, we just throw it
+            throw e;
+        } catch ( RuntimeException e ) {
+            throw ctx.traceError( e, reader );
+        }
+    }
+
+    @Override
+    public E next() {
+        if ( !hasNext() ) {
+            throw new NoSuchElementException();
+        }
+        try {
+            E element = deserializer.deserialize( reader, ctx );
+            if ( singleValue ) {
+                end();
+            }
+            return element;
+        } catch ( JsonDeserializationException e ) {
+            // already logged, we just throw it
+            throw e;
+        } catch ( RuntimeException e ) {
+            throw ctx.traceError( e, reader );
+        }
+    }
+
+    /**
+     * @return true if the input is null instead of an array
+     */
+    boolean isNullValue() {
+        return nullValue;
+    }
+
+    private void end() {
+        if ( unwrapRootValue ) {
+            reader.endObject();
+        }
+        ended = true;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
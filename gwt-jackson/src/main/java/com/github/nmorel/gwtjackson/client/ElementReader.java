@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import java.util.Iterator;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * {@link ObjectReader} of a collection or an array that can also read the JSON array element by element.
+ * <p>To generate an implementation, use {@link GWT#create(Class)}. The generation fails if the type of the elements of the read
+ * object cannot be assigned to the type of the elements of the reader.</p>
+ * <p>Example : </p>
+ * <pre>
+ * public interface PersonListReader extends ElementReader&lt;List&lt;Person&gt;, Person&gt; {}
+ *
+ * PersonListReader reader = GWT.create(PersonListReader.class);
+ * Iterator&lt;Person&gt; persons = reader.readElements("[{\"firstName\":\"Nicolas\"},{\"firstName\":\"Jean\"}]");
+ * </pre>
+ *
+ * @param <T> Type of the read object, a {@link java.util.Collection}, an {@link Iterable} or an array of objects
+ * @param <E> Type of the elements
+ *
+ * @author Nicolas Morel
+ */
+public interface ElementReader<T, E> extends ObjectReader<T> {
+
+    /**
+     * Reads a JSON array element by element. Each element is deserialized when it is returned by the {@link Iterator}, so the elements
+     * already processed can be garbage collected while the next ones are read.
+     *
+     * @param input JSON input to read
+     *
+     * @return an {@link Iterator} over the elements
+     * @throws JsonDeserializationException if an exception occurs while reading the input
+     */
+    Iterator<E> readElements( String input ) throws JsonDeserializationException;
+
+    /**
+     * Reads a JSON array element by element. Each element is deserialized when it is returned by the {@link Iterator}, so the elements
+     * already processed can be garbage collected while the next ones are read.
+     *
+     * @param input JSON input to read
+     * @param ctx Context for the full reading process
+     *
+     * @return an {@link Iterator} over the elements
+     * @throws JsonDeserializationException if an exception occurs while reading the input
+     */
+    Iterator<E> readElements( String input, JsonDeserializationContext ctx ) throws JsonDeserializationException;
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.stream.impl.IncrementalJsonReader;
+
+/**
+ * Read of a JSON input received in several chunks, started by {@link StreamingObjectReader#readIncrementally()}.
+ * <p>Example : </p>
+ * <pre>
+ * IncrementalRead&lt;Person&gt; read = reader.readIncrementally();
+ * read.append("{\"firstName\":\"Nic");
+ * read.append("olas\",\"lastName\":\"Morel\"}");
+ * Person person = read.end();
+ * </pre>
+ * <p>
+ * The chunks are tokenized by an {@link IncrementalJsonReader} as soon as they are appended, so most of the parsing is done while the
+ * rest of the input is still being received. The object is read from the recorded tokens once the input is complete. Only standard
+ * JSON is accepted.
+ * </p>
+ *
+ * @param <T> Type of the read object
+ *
+ * @author Nicolas Morel
+ */
+public class IncrementalRead<T> {
+
+    private final AbstractObjectMapper<T> mapper;
+
+    private final JsonDeserializationContext ctx;
+
+    private final IncrementalJsonReader reader;
+
+    private boolean read;
+
+    private T value;
+
+    IncrementalRead( AbstractObjectMapper<T> mapper, JsonDeserializationContext ctx ) {
+        this.mapper = mapper;
+        this.ctx = ctx;
+        this.reader = new IncrementalJsonReader();
+        this.reader.setLenient( true );
+    }
+
+    /**
+     * Appends the next chunk of the input. The object is read as soon as the input is complete.
+     *
+     * @param chunk the next chunk of the input
+     *
+     * @return true if the object has been read and is available through {@link #getValue()}
+     * @throws JsonDeserializationException if the input is malformed or an exception occurs while reading the object
+     */
+    public boolean append( String chunk ) throws JsonDeserializationException {
+        if ( reader.append( chunk ) && !read ) {
+            readValue();
+        }
+        return read;
+    }
+
+    /**
+     * Appends the next chunk of the input, taken from a range of the given String. The object is read as soon as the input is complete.
+     *
+     * @param chunk the String containing the next chunk of the input
+     * @param start index of the first character of the chunk
+     * @param end index after the last character of the chunk
+     *
+     * @return true if the object has been read and is available through {@link #getValue()}
+     * @throws JsonDeserializationException if the input is malformed or an exception occurs while reading the object
+     */
+    public boolean append( String chunk, int start, int end ) throws JsonDeserializationException {
+        if ( reader.append( chunk, start, end ) && !read ) {
+            readValue();
+        }
+        return read;
+    }
+
+    /**
+     * Signals the end of the input and returns the read object.
+     *
+     * @return the read object
+     * @throws JsonDeserializationException if the input is not complete or an exception occurs while reading the object
+     */
+    public T end() throws JsonDeserializationException {
+        reader.end();
+        if ( !read ) {
+            readValue();
+        }
+        return value;
+    }
+
+    private void readValue() {
+        value = mapper.read( reader, ctx );
+        read = true;
+    }
+
+    /**
+     * @return true if the object has been read
+     */
+    public boolean isRead() {
+        return read;
+    }
+
+    /**
+     * @return the read object or null if it has not been read yet
+     */
+    public T getValue() {
+        return value;
+    }
+}
@@ -24,7 +24,9 @@ import java.util.logging.Logger;
 import com.fasterxml.jackson.annotation.ObjectIdGenerator.IdKey;
 import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
 import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonReader;
 import com.github.nmorel.gwtjackson.client.stream.impl.NonBufferedJsonReader;
+import com.github.nmorel.gwtjackson.client.stream.impl.StrictJsonReader;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsonUtils;
@@ -65,6 +67,12 @@ public class JsonDeserializationContext extends JsonMappingContext {
 
         protected boolean useBrowserTimezone = false;
 
+        protected boolean useNativeJsonParser = false;
+
+        protected boolean useStrictJsonReader = false;
+
+        protected int readTimeSlice = 16;
+
         /**
          * @deprecated Use {@link JsonDeserializationContext#builder()} instead. This constructor will be made protected in v1.0.
          */
@@ -173,9 +181,54 @@ public class JsonDeserializationContext extends JsonMappingContext {
             return this;
         }
 
+        /**
+         * Feature that determines whether gwt-jackson should parse the input with the browser's native {@code JSON.parse} and read the
+         * resulting objects instead of lexing the input itself. It is much faster but the input must be strict JSON, integers outside of
+         * [-2^53, 2^53] lose precision and the line and column of an error are not reported.
+         * <br>
+         * <br>
+         * Feature is disabled by default.
+         *
+         * @see NativeJsonReader
+         */
+        public Builder useNativeJsonParser( boolean useNativeJsonParser ) {
+            this.useNativeJsonParser = useNativeJsonParser;
+            return this;
+        }
+
+        /**
+         * Feature that determines whether gwt-jackson should read the input with a reader only accepting strict JSON as specified by
+         * RFC 8259. It is faster than the default lenient reader but comments, single quoted or unquoted strings and the other lenient
+         * syntaxes are rejected. It has no effect if {@link #useNativeJsonParser(boolean)} is enabled.
+         * <br>
+         * <br>
+         * Feature is disabled by default.
+         *
+         * @see StrictJsonReader
+         */
+        public Builder useStrictJsonReader( boolean useStrictJsonReader ) {
+            this.useStrictJsonReader = useStrictJsonReader;
+            return this;
+        }
+
+        /**
+         * Sets the time in milliseconds spent in each slice of an asynchronous read before yielding to the browser event loop. A larger
+         * slice reads faster but keeps the browser busy for longer.
+         * <br>
+         * <br>
+         * Default is 16 milliseconds.
+         *
+         * @see StreamingObjectReader#readAsync(String, com.google.gwt.core.client.Callback)
+         */
+        public Builder readTimeSlice( int readTimeSlice ) {
+            this.readTimeSlice = readTimeSlice;
+            return this;
+        }
+
         public final JsonDeserializationContext build() {
             return new JsonDeserializationContext( failOnUnknownProperties, unwrapRootValue, acceptSingleValueAsArray, wrapExceptions,
-                    useSafeEval, readUnknownEnumValuesAsNull, useBrowserTimezone );
+                    useSafeEval, readUnknownEnumValuesAsNull, useBrowserTimezone, useNativeJsonParser, useStrictJsonReader,
+                    readTimeSlice );
         }
     }
 
@@ -210,9 +263,16 @@ public class JsonDeserializationContext extends JsonMappingContext {
 
     private final boolean useBrowserTimezone;
 
+    private final boolean useNativeJsonParser;
+
+    private final boolean useStrictJsonReader;
+
+    private final int readTimeSlice;
+
     private JsonDeserializationContext( boolean failOnUnknownProperties, boolean unwrapRootValue, boolean acceptSingleValueAsArray,
                                         boolean wrapExceptions, boolean useSafeEval, boolean readUnknownEnumValuesAsNull,
-                                        boolean useBrowserTimezone ) {
+                                        boolean useBrowserTimezone, boolean useNativeJsonParser, boolean useStrictJsonReader,
+                                        int readTimeSlice ) {
         this.failOnUnknownProperties = failOnUnknownProperties;
         this.unwrapRootValue = unwrapRootValue;
         this.acceptSingleValueAsArray = acceptSingleValueAsArray;
@@ -220,6 +280,9 @@ public class JsonDeserializationContext extends JsonMappingContext {
         this.useSafeEval = useSafeEval;
         this.readUnknownEnumValuesAsNull = readUnknownEnumValuesAsNull;
         this.useBrowserTimezone = useBrowserTimezone;
+        this.useNativeJsonParser = useNativeJsonParser;
+        this.useStrictJsonReader = useStrictJsonReader;
+        this.readTimeSlice = readTimeSlice;
     }
 
     @Override
@@ -269,8 +332,32 @@ public class JsonDeserializationContext extends JsonMappingContext {
         return useBrowserTimezone;
     }
 
+    /**
+     * @see Builder#useNativeJsonParser(boolean)
+     */
+    public boolean isUseNativeJsonParser() {
+        return useNativeJsonParser;
+    }
+
+    /**
+     * @see Builder#useStrictJsonReader(boolean)
+     */
+    public boolean isUseStrictJsonReader() {
+        return useStrictJsonReader;
+    }
+
+    /**
+     * @see Builder#readTimeSlice(int)
+     */
+    public int getReadTimeSlice() {
+        return readTimeSlice;
+    }
+
     public JsonReader newJsonReader( String input ) {
-        JsonReader reader = new NonBufferedJsonReader( input );
+        if ( useStrictJsonReader && !useNativeJsonParser ) {
+            return new StrictJsonReader( input );
+        }
+        JsonReader reader = useNativeJsonParser ? new NativeJsonReader( input ) : new NonBufferedJsonReader( input );
         reader.setLenient( true );
         return reader;
     }
@@ -353,4 +440,14 @@ public class JsonDeserializationContext extends JsonMappingContext {
         }
         return null;
     }
+
+    /**
+     * Clears the state built during a deserialization, like the objects registered with their id, so this context can be reused to
+     * deserialize another input. The settings are kept.
+     */
+    public void reset() {
+        if ( null != idToObject ) {
+            idToObject.clear();
+        }
+    }
 }
@@ -30,6 +30,7 @@ import com.github.nmorel.gwtjackson.client.ser.bean.AbstractBeanJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.ObjectIdSerializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
 import com.github.nmorel.gwtjackson.client.stream.impl.FastJsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonWriter;
 import com.google.gwt.core.client.GWT;
 
 /**
@@ -78,6 +79,8 @@ public class JsonSerializationContext extends JsonMappingContext {
 
         protected boolean wrapExceptions = true;
 
+        protected boolean useNativeJsonWriter = false;
+
         /**
          * @deprecated Use {@link JsonSerializationContext#builder()} instead. This constructor will be made protected in v1.0.
          */
@@ -259,10 +262,27 @@ public class JsonSerializationContext extends JsonMappingContext {
             return this;
         }
 
+        /**
+         * Feature that determines whether gwt-jackson should build native JavaScript objects and produce the output with a single call
+         * to the browser's native {@code JSON.stringify} instead of appending each token to a String. The objects can be retrieved with
+         * {@link NativeJsonWriter#getOutputAsJavaScriptObject()}.
+         * <p>
+         * Integers outside of [-2^53, 2^53] lose precision and the properties with an integer-like name are written first, in
+         * ascending order, whatever the order they were written in.
+         * </p>
+         * Feature is disabled by default.
+         *
+         * @see NativeJsonWriter
+         */
+        public Builder useNativeJsonWriter( boolean useNativeJsonWriter ) {
+            this.useNativeJsonWriter = useNativeJsonWriter;
+            return this;
+        }
+
         public final JsonSerializationContext build() {
             return new JsonSerializationContext( useEqualityForObjectId, serializeNulls, writeDatesAsTimestamps,
                     writeDateKeysAsTimestamps, indent, wrapRootValue, writeCharArraysAsJsonArrays, writeNullMapValues,
-                    writeEmptyJsonArrays, orderMapEntriesByKeys, writeSingleElemArraysUnwrapped, wrapExceptions );
+                    writeEmptyJsonArrays, orderMapEntriesByKeys, writeSingleElemArraysUnwrapped, wrapExceptions, useNativeJsonWriter );
         }
     }
 
@@ -309,10 +329,12 @@ public class JsonSerializationContext extends JsonMappingContext {
 
     private final boolean wrapExceptions;
 
+    private final boolean useNativeJsonWriter;
+
     private JsonSerializationContext( boolean useEqualityForObjectId, boolean serializeNulls, boolean writeDatesAsTimestamps, boolean
             writeDateKeysAsTimestamps, boolean indent, boolean wrapRootValue, boolean writeCharArraysAsJsonArrays, boolean
             writeNullMapValues, boolean writeEmptyJsonArrays, boolean orderMapEntriesByKeys, boolean writeSingleElemArraysUnwrapped,
-                                      boolean wrapExceptions ) {
+                                      boolean wrapExceptions, boolean useNativeJsonWriter ) {
         this.useEqualityForObjectId = useEqualityForObjectId;
         this.serializeNulls = serializeNulls;
         this.writeDatesAsTimestamps = writeDatesAsTimestamps;
@@ -325,6 +347,7 @@ public class JsonSerializationContext extends JsonMappingContext {
         this.orderMapEntriesByKeys = orderMapEntriesByKeys;
         this.writeSingleElemArraysUnwrapped = writeSingleElemArraysUnwrapped;
         this.wrapExceptions = wrapExceptions;
+        this.useNativeJsonWriter = useNativeJsonWriter;
     }
 
     @Override
@@ -395,8 +418,15 @@ public class JsonSerializationContext extends JsonMappingContext {
         return writeSingleElemArraysUnwrapped;
     }
 
+    /**
+     * @see Builder#useNativeJsonWriter(boolean)
+     */
+    public boolean isUseNativeJsonWriter() {
+        return useNativeJsonWriter;
+    }
+
     public JsonWriter newJsonWriter() {
-        JsonWriter writer = new FastJsonWriter( new StringBuilder() );
+        JsonWriter writer = useNativeJsonWriter ? new NativeJsonWriter() : new FastJsonWriter( new StringBuilder() );
         writer.setLenient( true );
         if ( indent ) {
             writer.setIndent( "  " );
@@ -522,4 +552,17 @@ public class JsonSerializationContext extends JsonMappingContext {
         }
         return null;
     }
+
+    /**
+     * Clears the state built during a serialization, like the object ids and their generators, so this context can be reused to
+     * serialize another value. The settings are kept.
+     */
+    public void reset() {
+        if ( null != mapObjectId ) {
+            mapObjectId.clear();
+        }
+        if ( null != generators ) {
+            generators.clear();
+        }
+    }
 }
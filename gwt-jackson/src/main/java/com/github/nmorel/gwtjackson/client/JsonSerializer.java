@@ -19,6 +19,7 @@ package com.github.nmorel.gwtjackson.client;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
 import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
 
@@ -104,6 +105,17 @@ public abstract class JsonSerializer<T> {
         }
     }
 
+    /**
+     * Serializes the null value whatever the {@link JsonSerializationContext#isSerializeNulls()} option is. It is used by the bean
+     * properties that are always included.
+     *
+     * @param writer {@link JsonWriter} used to write the serialized JSON
+     * @param ctx Context for the full serialization process
+     */
+    public final void serializeNull( JsonWriter writer, JsonSerializationContext ctx ) {
+        serializeNullValue( writer, ctx, JsonSerializerParameters.DEFAULT );
+    }
+
     /**
      * Serialize the null value. This method allows children to override the default behaviour.
      *
@@ -129,6 +141,20 @@ public abstract class JsonSerializer<T> {
         return null == value;
     }
 
+    /**
+     * @return true if the value is excluded by {@link Include#NON_DEFAULT}
+     */
+    public final boolean isDefaultValue( @Nullable T value ) {
+        return isDefault( value );
+    }
+
+    /**
+     * @return true if the value is excluded by {@link Include#NON_EMPTY}
+     */
+    public final boolean isEmptyValue( @Nullable T value ) {
+        return isEmpty( value );
+    }
+
     /**
      * Serializes a non-null object into JSON output.
      *
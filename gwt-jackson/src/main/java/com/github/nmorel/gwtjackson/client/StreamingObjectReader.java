@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import java.util.Iterator;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.google.gwt.core.client.Callback;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * {@link ObjectReader} that can also read an input without blocking the browser, an input received in several chunks or a sequence
+ * of top-level values.
+ * <p>To generate an implementation, use {@link GWT#create(Class)}.</p>
+ * <p>Example : </p>
+ * <pre>
+ * public interface PersonReader extends StreamingObjectReader&lt;Person&gt; {}
+ *
+ * PersonReader reader = GWT.create(PersonReader.class);
+ * Iterator&lt;Person&gt; persons = reader.readValues("{\"firstName\":\"Nicolas\"}\n{\"firstName\":\"Jean\"}");
+ * </pre>
+ *
+ * @param <T> Type of the read object
+ *
+ * @author Nicolas Morel
+ */
+public interface StreamingObjectReader<T> extends ObjectReader<T> {
+
+    /**
+     * Reads a JSON input into an object without blocking the browser. The input is read in slices separated by calls to the event
+     * loop, see {@link JsonDeserializationContext.Builder#readTimeSlice(int)}. Only standard JSON is accepted.
+     *
+     * @param input JSON input to read
+     * @param callback called with the read object, or with the exception if the input cannot be read
+     */
+    void readAsync( String input, Callback<T, RuntimeException> callback );
+
+    /**
+     * Reads a JSON input into an object without blocking the browser. The input is read in slices separated by calls to the event
+     * loop, see {@link JsonDeserializationContext.Builder#readTimeSlice(int)}. Only standard JSON is accepted.
+     *
+     * @param input JSON input to read
+     * @param ctx Context for the full reading process
+     * @param callback called with the read object, or with the exception if the input cannot be read
+     */
+    void readAsync( String input, JsonDeserializationContext ctx, Callback<T, RuntimeException> callback );
+
+    /**
+     * Starts reading a JSON input received in several chunks, for example on the progress events of a request. Each chunk is
+     * tokenized as soon as it is appended and the object is read as soon as the input is complete.
+     *
+     * @return the {@link IncrementalRead} receiving the chunks
+     */
+    IncrementalRead<T> readIncrementally();
+
+    /**
+     * Starts reading a JSON input received in several chunks, for example on the progress events of a request. Each chunk is
+     * tokenized as soon as it is appended and the object is read as soon as the input is complete.
+     *
+     * @param ctx Context for the full reading process
+     *
+     * @return the {@link IncrementalRead} receiving the chunks
+     */
+    IncrementalRead<T> readIncrementally( JsonDeserializationContext ctx );
+
+    /**
+     * Reads a sequence of top-level JSON values, like newline-delimited JSON or several documents framed in a single message. Each value
+     * is read when it is returned by the {@link Iterator}, with the same reader and context.
+     *
+     * @param input JSON input to read
+     *
+     * @return an {@link Iterator} over the values
+     * @throws JsonDeserializationException if an exception occurs while reading the input
+     */
+    Iterator<T> readValues( String input ) throws JsonDeserializationException;
+
+    /**
+     * Reads a sequence of top-level JSON values, like newline-delimited JSON or several documents framed in a single message. Each value
+     * is read when it is returned by the {@link Iterator}, with the same reader and context.
+     *
+     * @param input JSON input to read
+     * @param ctx Context for the full reading process, reset after each value
+     *
+     * @return an {@link Iterator} over the values
+     * @throws JsonDeserializationException if an exception occurs while reading the input
+     */
+    Iterator<T> readValues( String input, JsonDeserializationContext ctx ) throws JsonDeserializationException;
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * {@link ObjectWriter} that can also write a sequence of top-level values.
+ * <p>To generate an implementation, use {@link GWT#create(Class)}.</p>
+ * <p>Example : </p>
+ * <pre>
+ * public interface PersonWriter extends StreamingObjectWriter&lt;Person&gt; {}
+ *
+ * PersonWriter writer = GWT.create(PersonWriter.class);
+ * String json = writer.writeValues(Arrays.asList(new Person("Nicolas", "Morel"), new Person("Jean", "Dupont")));
+ *
+ * json ==&gt; {"firstName":"Nicolas","lastName":"Morel"}
+ *          {"firstName":"Jean","lastName":"Dupont"}
+ * </pre>
+ *
+ * @param <T> Type of the object to write
+ *
+ * @author Nicolas Morel
+ */
+public interface StreamingObjectWriter<T> extends ObjectWriter<T> {
+
+    /**
+     * Writes a sequence of objects as newline-delimited JSON, each object being a top-level value on its own line.
+     *
+     * @param values Objects to write
+     *
+     * @return the JSON output
+     * @throws JsonSerializationException if an exception occurs while writing the output
+     */
+    String writeValues( Iterable<? extends T> values ) throws JsonSerializationException;
+
+    /**
+     * Writes a sequence of objects as newline-delimited JSON, each object being a top-level value on its own line.
+     *
+     * @param values Objects to write
+     * @param ctx Context for the full writing process, reset after each value
+     *
+     * @return the JSON output
+     * @throws JsonSerializationException if an exception occurs while writing the output
+     */
+    String writeValues( Iterable<? extends T> values, JsonSerializationContext ctx ) throws JsonSerializationException;
+}
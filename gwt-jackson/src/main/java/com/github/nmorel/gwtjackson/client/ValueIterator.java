@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+
+/**
+ * {@link Iterator} returned by {@link StreamingObjectReader#readValues(String)}. All the values are read with the same
+ * {@link JsonReader} and context, the context being reset after each value so the documents stay independent.
+ *
+ * @param <T> Type of the values
+ *
+ * @author Nicolas Morel
+ */
+final class ValueIterator<T> implements Iterator<T> {
+
+    private final AbstractObjectMapper<T> mapper;
+
+    private final JsonReader reader;
+
+    private final JsonDeserializationContext ctx;
+
+    ValueIterator( AbstractObjectMapper<T> mapper, JsonReader reader, JsonDeserializationContext ctx ) {
+        this.mapper = mapper;
+        this.reader = reader;
+        this.ctx = ctx;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return JsonToken.END_DOCUMENT != reader.peek();
+        } catch ( JsonDeserializationException e ) {
+            // already logged, we just throw it
+            throw e;
+        } catch ( RuntimeException e ) {
+            throw ctx.traceError( e, reader );
+        }
+    }
+
+    @Override
+    public T next() {
+        if ( !hasNext() ) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return mapper.read( reader, ctx );
+        } finally {
+            ctx.reset();
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
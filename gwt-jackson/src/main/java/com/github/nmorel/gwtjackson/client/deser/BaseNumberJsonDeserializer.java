@@ -50,6 +50,7 @@ public abstract class BaseNumberJsonDeserializer<N extends Number> extends JsonD
 
         @Override
         protected BigDecimal doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+            // a number token is returned as written in the input, so it is parsed only once
             return new BigDecimal( reader.nextString() );
         }
     }
@@ -72,6 +73,7 @@ public abstract class BaseNumberJsonDeserializer<N extends Number> extends JsonD
 
         @Override
         protected BigInteger doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
+            // a number token is returned as written in the input, so it is parsed only once
             return new BigInteger( reader.nextString() );
         }
     }
@@ -138,7 +140,11 @@ public abstract class BaseNumberJsonDeserializer<N extends Number> extends JsonD
 
         @Override
         protected Float doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-            return Float.parseFloat( reader.nextString() );
+            if ( JsonToken.NUMBER.equals( reader.peek() ) ) {
+                return (float) reader.nextDouble();
+            } else {
+                return Float.parseFloat( reader.nextString() );
+            }
         }
     }
 
@@ -66,10 +66,27 @@ public class ArrayJsonDeserializer<T> extends AbstractArrayJsonDeserializer<T[]>
         this.arrayCreator = arrayCreator;
     }
 
+    /**
+     * @return the {@link JsonDeserializer} used to deserialize the objects inside the array
+     */
+    public JsonDeserializer<T> getDeserializer() {
+        return deserializer;
+    }
+
     @Override
     public T[] doDeserializeArray( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
-        List<T> list = deserializeIntoList( reader, ctx, deserializer, params );
-        return list.toArray( arrayCreator.create( list.size() ) );
+        return toArray( deserializeIntoList( reader, ctx, deserializer, params ) );
+    }
+
+    /**
+     * Creates the array containing the given elements, already deserialized one by one.
+     *
+     * @param elements the deserialized elements
+     *
+     * @return the new array
+     */
+    public T[] toArray( List<T> elements ) {
+        return elements.toArray( arrayCreator.create( elements.size() ) );
     }
 
     @Override
@@ -16,9 +16,11 @@
 
 package com.github.nmorel.gwtjackson.client.deser.bean;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -45,11 +47,38 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
 
     private final SimpleStringMap<BeanPropertyDeserializer<T, ?>> deserializers;
 
+    private final String[] indexedPropertyNames;
+
+    private final BeanPropertyDeserializer<T, ?>[] indexedDeserializers;
+
     private final SimpleStringMap<BackReferenceProperty<T, ?>> backReferenceDeserializers;
 
-    private final Set<String> defaultIgnoredProperties;
+    private final IgnoredProperties defaultIgnoredProperties;
+
+    /**
+     * Ignored properties computed for the last parameters with ignored properties
+     */
+    private IgnoredProperties lastIgnoredProperties;
+
+    /**
+     * Names of the required properties tracked in a mask, indexed by their bit
+     */
+    private final String[] requiredPropertyNames;
 
-    private final Set<String> requiredProperties;
+    /**
+     * For each indexed property, its bit in the mask of the required properties or 0 if it is not required
+     */
+    private final int[] requiredPropertyBits;
+
+    /**
+     * Mask with the bits of all the required properties
+     */
+    private final int requiredPropertiesMask;
+
+    /**
+     * Required properties that could not be given a bit, because they are not indexed or there are more than 32 required properties
+     */
+    private final Set<String> untrackedRequiredProperties;
 
     private final IdentityDeserializationInfo<T> defaultIdentityInfo;
 
@@ -62,9 +91,33 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
     protected AbstractBeanJsonDeserializer() {
         this.instanceBuilder = initInstanceBuilder();
         this.deserializers = initDeserializers();
+        this.indexedPropertyNames = getIndexedPropertyNames();
+        this.indexedDeserializers = initIndexedDeserializers();
         this.backReferenceDeserializers = initBackReferenceDeserializers();
-        this.defaultIgnoredProperties = initIgnoredProperties();
-        this.requiredProperties = initRequiredProperties();
+        this.defaultIgnoredProperties = new IgnoredProperties( null, initIgnoredProperties() );
+
+        // each required property gets a bit so we can track the ones read without allocating a set for each bean
+        Set<String> requiredProperties = initRequiredProperties();
+        List<String> trackedRequiredProperties = new ArrayList<String>();
+        Set<String> untrackedRequiredProperties = new HashSet<String>();
+        int[] requiredPropertyBits = new int[indexedPropertyNames.length];
+        int requiredPropertiesMask = 0;
+        for ( String requiredProperty : requiredProperties ) {
+            int index = getPropertyIndex( requiredProperty );
+            if ( index >= 0 && trackedRequiredProperties.size() < 32 ) {
+                requiredPropertyBits[index] = 1 << trackedRequiredProperties.size();
+                requiredPropertiesMask |= requiredPropertyBits[index];
+                trackedRequiredProperties.add( requiredProperty );
+            } else {
+                untrackedRequiredProperties.add( requiredProperty );
+            }
+        }
+        this.requiredPropertyNames = trackedRequiredProperties.toArray( new String[trackedRequiredProperties.size()] );
+        this.requiredPropertyBits = requiredPropertyBits;
+        this.requiredPropertiesMask = requiredPropertiesMask;
+        this.untrackedRequiredProperties = untrackedRequiredProperties.isEmpty() ? Collections
+                .<String>emptySet() : untrackedRequiredProperties;
+
         this.defaultIdentityInfo = initIdentityInfo();
         this.defaultTypeInfo = initTypeInfo();
         this.subtypeClassToDeserializer = initMapSubtypeClassToDeserializer();
@@ -86,6 +139,35 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         return SimpleStringMap.createObject().cast();
     }
 
+    /**
+     * Returns the names of the properties indexed by {@link #getPropertyIndex(String)}. They are also given to {@link
+     * JsonReader#nextNameIndex(String[], int)} so the names read are matched without being created. Returns an empty array if the
+     * properties are only looked up by name.
+     */
+    protected String[] getIndexedPropertyNames() {
+        return new String[0];
+    }
+
+    /**
+     * Returns the index of the property in {@link #getIndexedPropertyNames()} or -1 if the property is not indexed. The generated
+     * deserializers resolve it with a dispatch on the name computed at compile time, which avoids a lookup in the {@link
+     * SimpleStringMap} for each property read.
+     *
+     * @param propertyName name of the property
+     */
+    protected int getPropertyIndex( String propertyName ) {
+        return -1;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private BeanPropertyDeserializer<T, ?>[] initIndexedDeserializers() {
+        BeanPropertyDeserializer<T, ?>[] result = new BeanPropertyDeserializer[indexedPropertyNames.length];
+        for ( int i = 0; i < indexedPropertyNames.length; i++ ) {
+            result[i] = deserializers.get( indexedPropertyNames[i] );
+        }
+        return result;
+    }
+
     /**
      * Initialize the {@link SimpleStringMap} containing the back reference deserializers. Returns an empty map if there are no back
      * reference on the bean.
@@ -191,7 +273,7 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
                 case PROPERTY:
                     // the type info is the first property of the object
                     reader.beginObject();
-                    Map<String, String> bufferedProperties = null;
+                    Map<String, JsonReader> bufferedProperties = null;
                     String typeInfoProperty = null;
                     while ( JsonToken.NAME.equals( reader.peek() ) ) {
                         String name = reader.nextName();
@@ -201,9 +283,9 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
                             break;
                         } else {
                             if ( null == bufferedProperties ) {
-                                bufferedProperties = new HashMap<String, String>();
+                                bufferedProperties = new HashMap<String, JsonReader>();
                             }
-                            bufferedProperties.put( name, reader.nextValue() );
+                            bufferedProperties.put( name, reader.bufferValue() );
                         }
                     }
                     if ( null == typeInfoProperty ) {
@@ -251,6 +333,36 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         return null != instanceBuilder;
     }
 
+    /**
+     * Returns true if the properties of a json object can be read one by one by the caller and given to {@link #deserializeInline} as
+     * buffered properties. It requires a bean without identity or type information.
+     */
+    public boolean canDeserializeByProperty() {
+        return canDeserialize() && null == defaultIdentityInfo && null == defaultTypeInfo;
+    }
+
+    /**
+     * Returns the property with the given name if its value can be deserialized apart from the bean and set with {@link
+     * BeanPropertyDeserializer#setValue} once the bean is instantiated. The property must not be a parameter of the creator, ignored,
+     * required or deserialized with specific parameters.
+     *
+     * @param propertyName name of the property
+     *
+     * @return the property or null if it has to be read with the bean
+     */
+    public BeanPropertyDeserializer<T, ?> getSeparableProperty( String propertyName ) {
+        int index = getPropertyIndex( propertyName );
+        BeanPropertyDeserializer<T, ?> property = index < 0 ? deserializers.get( propertyName ) : indexedDeserializers[index];
+        if ( null == property || defaultIgnoredProperties.isIgnored( index, propertyName ) ) {
+            return null;
+        }
+        boolean required = (index >= 0 && 0 != requiredPropertyBits[index]) || untrackedRequiredProperties.contains( propertyName );
+        if ( required || JsonDeserializerParameters.DEFAULT != property.getParameters() ) {
+            return null;
+        }
+        return property;
+    }
+
     @Override
     public T deserializeWrapped( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params,
                                  IdentityDeserializationInfo identityInfo, TypeDeserializationInfo typeInfo, String typeInformation ) {
@@ -271,19 +383,14 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
     @Override
     public final T deserializeInline( final JsonReader reader, final JsonDeserializationContext ctx, JsonDeserializerParameters params,
                                       IdentityDeserializationInfo identityInfo, TypeDeserializationInfo typeInfo, String type,
-                                      Map<String, String> bufferedProperties ) {
+                                      Map<String, JsonReader> bufferedProperties ) {
         final boolean ignoreUnknown = params.isIgnoreUnknown() || isDefaultIgnoreUnknown();
-        final Set<String> ignoredProperties;
-        if ( null == params.getIgnoredProperties() ) {
-            ignoredProperties = defaultIgnoredProperties;
-        } else {
-            ignoredProperties = new HashSet<String>( defaultIgnoredProperties );
-            ignoredProperties.addAll( params.getIgnoredProperties() );
-        }
+        final IgnoredProperties ignoredProperties = getIgnoredProperties( params );
 
-        // we will remove the properties read from this list and check at the end it's empty
-        Set<String> requiredPropertiesLeft = requiredProperties.isEmpty() ? Collections
-                .<String>emptySet() : new HashSet<String>( requiredProperties );
+        // we will clear the bits of the properties read and check at the end that none is left
+        int requiredPropertiesLeft = requiredPropertiesMask;
+        Set<String> untrackedRequiredPropertiesLeft = untrackedRequiredProperties.isEmpty() ? Collections
+                .<String>emptySet() : new HashSet<String>( untrackedRequiredProperties );
 
         // we first look for identity. It can also buffer properties if it is not in current reader position.
         Object id = null;
@@ -291,23 +398,18 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         if ( null != identityInfo ) {
             JsonReader identityReader = null;
 
-            // we look if it has not been already buffered
-            String propertyValue = null;
-
             // we fisrt look if the identity property has not been read already
             if ( null != bufferedProperties ) {
-                propertyValue = bufferedProperties.remove( identityInfo.getPropertyName() );
+                identityReader = bufferedProperties.remove( identityInfo.getPropertyName() );
             }
 
-            if ( null != propertyValue ) {
-                identityReader = ctx.newJsonReader( propertyValue );
-            } else {
+            if ( null == identityReader ) {
                 // we search for the identity property
                 while ( JsonToken.NAME.equals( reader.peek() ) ) {
                     String name = reader.nextName();
 
-                    if ( ignoredProperties.contains( name ) ) {
-                        reader.skipValue();
+                    if ( ignoredProperties.isIgnored( name ) ) {
+                        reader.skipRawValue();
                         continue;
                     }
 
@@ -316,9 +418,9 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
                         break;
                     } else {
                         if ( null == bufferedProperties ) {
-                            bufferedProperties = new HashMap<String, String>();
+                            bufferedProperties = new HashMap<String, JsonReader>();
                         }
-                        bufferedProperties.put( name, reader.nextValue() );
+                        bufferedProperties.put( name, reader.bufferValue() );
                     }
                 }
             }
@@ -360,7 +462,8 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
         }
 
         // we flush any buffered properties
-        flushBufferedProperties( bean, bufferedProperties, requiredPropertiesLeft, ctx, ignoreUnknown, ignoredProperties );
+        requiredPropertiesLeft = flushBufferedProperties( bean, bufferedProperties, requiredPropertiesLeft,
+                untrackedRequiredPropertiesLeft, ctx, ignoreUnknown, ignoredProperties );
 
         // in case there is a property that need the type info
         if ( null != typeInfo && null != typeInfo.getPropertyName() && null != type ) {
@@ -370,57 +473,159 @@ public abstract class AbstractBeanJsonDeserializer<T> extends JsonDeserializer<T
             }
         }
 
+        int expectedIndex = 0;
         while ( JsonToken.NAME.equals( reader.peek() ) ) {
-            String propertyName = reader.nextName();
+            // the known names are matched against the input without creating a String
+            int index = reader.nextNameIndex( indexedPropertyNames, expectedIndex );
+            String propertyName;
+            if ( index < 0 ) {
+                propertyName = reader.getUnmatchedName();
+            } else {
+                propertyName = indexedPropertyNames[index];
+                expectedIndex = index + 1;
+            }
 
-            requiredPropertiesLeft.remove( propertyName );
+            if ( index >= 0 ) {
+                requiredPropertiesLeft &= ~requiredPropertyBits[index];
+            }
+            if ( !untrackedRequiredPropertiesLeft.isEmpty() ) {
+                untrackedRequiredPropertiesLeft.remove( propertyName );
+            }
 
-            if ( ignoredProperties.contains( propertyName ) ) {
-                reader.skipValue();
+            if ( ignoredProperties.isIgnored( index, propertyName ) ) {
+                reader.skipRawValue();
                 continue;
             }
 
-            BeanPropertyDeserializer<T, ?> property = getPropertyDeserializer( propertyName, ctx, ignoreUnknown );
+            BeanPropertyDeserializer<T, ?> property = getPropertyDeserializer( index, propertyName, ctx, ignoreUnknown );
             if ( null != property ) {
                 property.deserialize( reader, bean, ctx );
             } else if ( null != anySetterDeserializer ) {
                 anySetterDeserializer.deserialize( reader, bean, propertyName, ctx );
             } else {
-                reader.skipValue();
+                reader.skipRawValue();
             }
         }
 
-        if ( !requiredPropertiesLeft.isEmpty() ) {
-            throw ctx.traceError( "Required properties are missing : " + requiredPropertiesLeft, reader );
+        if ( 0 != requiredPropertiesLeft || !untrackedRequiredPropertiesLeft.isEmpty() ) {
+            List<String> missingProperties = getMissingRequiredProperties( requiredPropertyNames, requiredPropertiesLeft );
+            missingProperties.addAll( untrackedRequiredPropertiesLeft );
+            throw ctx.traceError( "Required properties are missing : " + missingProperties, reader );
         }
         return bean;
     }
 
-    private void flushBufferedProperties( T bean, Map<String, String> bufferedProperties, Set<String> requiredPropertiesLeft,
-                                          JsonDeserializationContext ctx, boolean ignoreUnknown, Set<String> ignoredProperties ) {
+    /**
+     * @return the mask of the required properties left once the buffered properties are deserialized
+     */
+    private int flushBufferedProperties( T bean, Map<String, JsonReader> bufferedProperties, int requiredPropertiesLeft,
+                                         Set<String> untrackedRequiredPropertiesLeft, JsonDeserializationContext ctx,
+                                         boolean ignoreUnknown, IgnoredProperties ignoredProperties ) {
         if ( null != bufferedProperties && !bufferedProperties.isEmpty() ) {
-            for ( Entry<String, String> bufferedProperty : bufferedProperties.entrySet() ) {
+            for ( Entry<String, JsonReader> bufferedProperty : bufferedProperties.entrySet() ) {
                 String propertyName = bufferedProperty.getKey();
+                int index = getPropertyIndex( propertyName );
 
-                requiredPropertiesLeft.remove( propertyName );
+                if ( index >= 0 ) {
+                    requiredPropertiesLeft &= ~requiredPropertyBits[index];
+                }
+                if ( !untrackedRequiredPropertiesLeft.isEmpty() ) {
+                    untrackedRequiredPropertiesLeft.remove( propertyName );
+                }
 
-                if ( ignoredProperties.contains( propertyName ) ) {
+                if ( ignoredProperties.isIgnored( index, propertyName ) ) {
                     continue;
                 }
 
-                BeanPropertyDeserializer<T, ?> property = getPropertyDeserializer( propertyName, ctx, ignoreUnknown );
+                BeanPropertyDeserializer<T, ?> property = getPropertyDeserializer( index, propertyName, ctx, ignoreUnknown );
                 if ( null != property ) {
-                    property.deserialize( ctx.newJsonReader( bufferedProperty.getValue() ), bean, ctx );
+                    property.deserialize( bufferedProperty.getValue(), bean, ctx );
                 } else if ( null != anySetterDeserializer ) {
-                    anySetterDeserializer.deserialize( ctx.newJsonReader( bufferedProperty.getValue() ), bean, propertyName, ctx );
+                    anySetterDeserializer.deserialize( bufferedProperty.getValue(), bean, propertyName, ctx );
                 }
             }
         }
+        return requiredPropertiesLeft;
+    }
+
+    /**
+     * Returns the ignored properties for the given parameters. They are merged with the default ones only once and reused as long as
+     * the same parameters are given.
+     *
+     * @param params parameters of the deserialization
+     */
+    private IgnoredProperties getIgnoredProperties( JsonDeserializerParameters params ) {
+        if ( null == params.getIgnoredProperties() ) {
+            return defaultIgnoredProperties;
+        }
+        IgnoredProperties ignoredProperties = lastIgnoredProperties;
+        if ( null == ignoredProperties || ignoredProperties.parameters != params.getIgnoredProperties() ) {
+            Set<String> names = new HashSet<String>( defaultIgnoredProperties.names );
+            names.addAll( params.getIgnoredProperties() );
+            ignoredProperties = new IgnoredProperties( params.getIgnoredProperties(), names );
+            lastIgnoredProperties = ignoredProperties;
+        }
+        return ignoredProperties;
+    }
+
+    /**
+     * Names of the ignored properties. The indexed properties are checked with a mask instead of hashing their name.
+     */
+    private final class IgnoredProperties {
+
+        /**
+         * Ignored properties of the parameters these ignored properties were computed for, null for the default ones
+         */
+        private final Set<String> parameters;
+
+        private final Set<String> names;
+
+        private final boolean[] indexedMask;
+
+        private IgnoredProperties( Set<String> parameters, Set<String> names ) {
+            this.parameters = parameters;
+            this.names = names;
+            this.indexedMask = new boolean[indexedPropertyNames.length];
+            for ( int i = 0; i < indexedPropertyNames.length; i++ ) {
+                indexedMask[i] = names.contains( indexedPropertyNames[i] );
+            }
+        }
+
+        private boolean isIgnored( String name ) {
+            return !names.isEmpty() && names.contains( name );
+        }
+
+        private boolean isIgnored( int index, String name ) {
+            return index >= 0 ? indexedMask[index] : isIgnored( name );
+        }
+    }
+
+    /**
+     * Lists the required properties whose bit is still set. The property at index i in names has the bit i % 32 of masks[i / 32].
+     *
+     * @param names names of the required properties
+     * @param masks masks of the required properties left
+     *
+     * @return the names of the missing required properties
+     */
+    protected static List<String> getMissingRequiredProperties( String[] names, int... masks ) {
+        List<String> result = new ArrayList<String>();
+        for ( int i = 0; i < names.length; i++ ) {
+            if ( 0 != (masks[i / 32] & (1 << i)) ) {
+                result.add( names[i] );
+            }
+        }
+        return result;
     }
 
     private BeanPropertyDeserializer<T, ?> getPropertyDeserializer( String propertyName, JsonDeserializationContext ctx, boolean
             ignoreUnknown ) {
-        BeanPropertyDeserializer<T, ?> property = deserializers.get( propertyName );
+        return getPropertyDeserializer( getPropertyIndex( propertyName ), propertyName, ctx, ignoreUnknown );
+    }
+
+    private BeanPropertyDeserializer<T, ?> getPropertyDeserializer( int index, String propertyName, JsonDeserializationContext ctx,
+                                                                    boolean ignoreUnknown ) {
+        BeanPropertyDeserializer<T, ?> property = index < 0 ? deserializers.get( propertyName ) : indexedDeserializers[index];
         if ( null == property ) {
             if ( !ignoreUnknown && ctx.isFailOnUnknownProperties() && null == anySetterDeserializer ) {
                 throw ctx.traceError( "Unknown property '" + propertyName + "'" );
@@ -18,6 +18,8 @@ package com.github.nmorel.gwtjackson.client.deser.bean;
 
 import java.util.Map;
 
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+
 /**
  * @author Nicolas Morel
  */
@@ -25,9 +27,9 @@ public class Instance<T> {
 
     private final T instance;
 
-    private final Map<String, String> bufferedProperties;
+    private final Map<String, JsonReader> bufferedProperties;
 
-    public Instance( T instance, Map<String, String> bufferedProperties ) {
+    public Instance( T instance, Map<String, JsonReader> bufferedProperties ) {
         this.instance = instance;
         this.bufferedProperties = bufferedProperties;
     }
@@ -36,7 +38,7 @@ public class Instance<T> {
         return instance;
     }
 
-    public Map<String, String> getBufferedProperties() {
+    public Map<String, JsonReader> getBufferedProperties() {
         return bufferedProperties;
     }
 }
@@ -27,7 +27,7 @@ import com.github.nmorel.gwtjackson.client.stream.JsonReader;
  */
 public interface InstanceBuilder<T> {
 
-    Instance<T> newInstance( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params, Map<String, String> bufferedProperties,
+    Instance<T> newInstance( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params, Map<String, JsonReader> bufferedProperties,
                              Map<String, Object> bufferedPropertiesValues );
 
     SimpleStringMap<HasDeserializerAndParameters> getParametersDeserializer();
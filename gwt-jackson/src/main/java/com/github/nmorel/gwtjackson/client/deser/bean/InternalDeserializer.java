@@ -34,7 +34,7 @@ interface InternalDeserializer<T, S extends JsonDeserializer<T>> {
 
     T deserializeInline( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params,
                          IdentityDeserializationInfo identityInfo, TypeDeserializationInfo typeInfo, String typeInformation, Map<String,
-            String> bufferedProperties );
+            JsonReader> bufferedProperties );
 
     T deserializeWrapped( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params,
                           IdentityDeserializationInfo identityInfo, TypeDeserializationInfo typeInfo, String typeInformation );
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.nmorel.gwtjackson.client.deser.bean;
+
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.LongJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+
+/**
+ * Deserializes a bean's property of type {@code long} with the default {@link LongJsonDeserializer}. A number token is read and set
+ * without boxing it, the other tokens go through the deserializer.
+ *
+ * @author Nicolas Morel
+ */
+public abstract class LongBeanPropertyDeserializer<T> extends BeanPropertyDeserializer<T, Long> {
+
+    @Override
+    protected JsonDeserializer<?> newDeserializer() {
+        return LongJsonDeserializer.getInstance();
+    }
+
+    @Override
+    public void deserialize( JsonReader reader, T bean, JsonDeserializationContext ctx ) {
+        if ( JsonToken.NUMBER.equals( reader.peek() ) ) {
+            setPrimitiveValue( bean, reader.nextLong(), ctx );
+        } else {
+            super.deserialize( reader, bean, ctx );
+        }
+    }
+
+    @Override
+    public void setValue( T bean, Long value, JsonDeserializationContext ctx ) {
+        setPrimitiveValue( bean, value, ctx );
+    }
+
+    /**
+     * @param bean bean to set the property to
+     * @param value the property's value
+     * @param ctx context of the deserialization process
+     */
+    public abstract void setPrimitiveValue( T bean, long value, JsonDeserializationContext ctx );
+}
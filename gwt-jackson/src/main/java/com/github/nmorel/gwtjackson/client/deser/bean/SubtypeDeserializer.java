@@ -41,7 +41,7 @@ public abstract class SubtypeDeserializer<T, D extends JsonDeserializer<T>> exte
         @Override
         public T deserializeInline( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params,
                                     IdentityDeserializationInfo identityInfo, TypeDeserializationInfo typeInfo, String typeInformation,
-                                    Map<String, String> bufferedProperties ) {
+                                    Map<String, JsonReader> bufferedProperties ) {
             return getDeserializer().deserializeInline( reader, ctx, params, identityInfo, typeInfo, typeInformation, bufferedProperties );
         }
 
@@ -62,7 +62,7 @@ public abstract class SubtypeDeserializer<T, D extends JsonDeserializer<T>> exte
         @Override
         public T deserializeInline( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params,
                                     IdentityDeserializationInfo identityInfo, TypeDeserializationInfo typeInfo, String typeInformation,
-                                    Map<String, String> bufferedProperties ) {
+                                    Map<String, JsonReader> bufferedProperties ) {
             throw ctx.traceError( "Cannot deserialize into a bean when not using an AbstractBeanJsonDeserializer" );
         }
 
@@ -17,6 +17,7 @@
 package com.github.nmorel.gwtjackson.client.deser.collection;
 
 import java.util.Collection;
+import java.util.List;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
@@ -69,6 +70,23 @@ public abstract class BaseCollectionJsonDeserializer<C extends Collection<T>, T>
         }
     }
 
+    /**
+     * Creates the collection containing the given elements, already deserialized one by one.
+     *
+     * @param elements the deserialized elements
+     *
+     * @return the new collection
+     */
+    public C toCollection( List<T> elements ) {
+        C result = newCollection();
+        for ( T element : elements ) {
+            if ( isNullValueAllowed() || null != element ) {
+                result.add( element );
+            }
+        }
+        return result;
+    }
+
     /**
      * Instantiates a new collection for deserialization process.
      *
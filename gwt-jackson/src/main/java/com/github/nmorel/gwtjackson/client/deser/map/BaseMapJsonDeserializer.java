@@ -17,6 +17,7 @@
 package com.github.nmorel.gwtjackson.client.deser.map;
 
 import java.util.Map;
+import java.util.Set;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
@@ -65,9 +66,15 @@ public abstract class BaseMapJsonDeserializer<M extends Map<K, V>, K, V> extends
     public M doDeserialize( JsonReader reader, JsonDeserializationContext ctx, JsonDeserializerParameters params ) {
         M result = newMap();
 
+        Set<String> ignoredKeys = params.getIgnoredProperties();
+
         reader.beginObject();
         while ( JsonToken.END_OBJECT != reader.peek() ) {
             String name = reader.nextName();
+            if ( null != ignoredKeys && ignoredKeys.contains( name ) ) {
+                reader.skipRawValue();
+                continue;
+            }
             K key = keyDeserializer.deserialize( name, ctx );
             V value = valueDeserializer.deserialize( reader, ctx, params );
             result.put( key, value );
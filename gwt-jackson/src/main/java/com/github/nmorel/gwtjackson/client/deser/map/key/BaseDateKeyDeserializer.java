@@ -22,6 +22,7 @@ import java.util.Date;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.utils.NumberUtils;
 import com.google.gwt.i18n.client.DateTimeFormat;
 import com.google.gwt.i18n.client.DateTimeFormat.PredefinedFormat;
 
@@ -160,7 +161,7 @@ public abstract class BaseDateKeyDeserializer<D extends Date> extends KeyDeseria
 
         // maybe it's in milliseconds
         try {
-            return deserializeMillis( Long.parseLong( key ) );
+            return deserializeMillis( NumberUtils.parseLong( key ) );
         } catch ( NumberFormatException e ) {
             // can happen if the key is string-based like an ISO-8601 format
         }
@@ -20,6 +20,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.utils.NumberUtils;
 
 /**
  * Base implementation of {@link KeyDeserializer} for {@link Number}s.
@@ -112,7 +113,7 @@ public abstract class BaseNumberKeyDeserializer<N extends Number> extends KeyDes
 
         @Override
         protected Double doDeserialize( String key, JsonDeserializationContext ctx ) {
-            return Double.valueOf( key );
+            return NumberUtils.parseDouble( key );
         }
 
     }
@@ -135,7 +136,7 @@ public abstract class BaseNumberKeyDeserializer<N extends Number> extends KeyDes
 
         @Override
         protected Float doDeserialize( String key, JsonDeserializationContext ctx ) {
-            return Float.valueOf( key );
+            return (float) NumberUtils.parseDouble( key );
         }
     }
 
@@ -179,7 +180,7 @@ public abstract class BaseNumberKeyDeserializer<N extends Number> extends KeyDes
 
         @Override
         protected Long doDeserialize( String key, JsonDeserializationContext ctx ) {
-            return Long.valueOf( key );
+            return NumberUtils.parseLong( key );
         }
     }
 
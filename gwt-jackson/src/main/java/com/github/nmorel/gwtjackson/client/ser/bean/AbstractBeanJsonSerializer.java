@@ -39,6 +39,11 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
 
     protected final BeanPropertySerializer[] serializers;
 
+    /**
+     * Mask over {@link #serializers} computed for the last ignored properties given
+     */
+    private IgnoredProperties lastIgnoredProperties;
+
     private final Map<Class, SubtypeSerializer> subtypeClassToSerializer;
 
     private final IdentitySerializationInfo<T> defaultIdentityInfo;
@@ -233,11 +238,18 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
 
     private void serializeProperties( JsonWriter writer, T value, JsonSerializationContext ctx, Set<String> ignoredProperties,
                                       IdentitySerializationInfo identityInfo ) {
-        for ( BeanPropertySerializer<T, ?> propertySerializer : serializers ) {
-            if ( (null == identityInfo || !identityInfo.isProperty() || !identityInfo.getPropertyName().equals( propertySerializer
-                    .getPropertyName() )) && !ignoredProperties.contains( propertySerializer.getPropertyName() ) ) {
-                propertySerializer.serializePropertyName( writer, value, ctx );
-                propertySerializer.serialize( writer, value, ctx );
+        if ( ignoredProperties.isEmpty() && (null == identityInfo || !identityInfo.isProperty()) ) {
+            // no property has to be ignored at runtime
+            serializeProperties( writer, value, ctx );
+        } else {
+            boolean[] ignoredMask = getIgnoredMask( ignoredProperties );
+            for ( int i = 0; i < serializers.length; i++ ) {
+                BeanPropertySerializer<T, ?> propertySerializer = serializers[i];
+                if ( (null == identityInfo || !identityInfo.isProperty() || !identityInfo.getPropertyName().equals( propertySerializer
+                        .getPropertyName() )) && (null == ignoredMask || !ignoredMask[i]) ) {
+                    propertySerializer.serializePropertyName( writer, value, ctx );
+                    propertySerializer.serialize( writer, value, ctx );
+                }
             }
         }
 
@@ -245,4 +257,55 @@ public abstract class AbstractBeanJsonSerializer<T> extends JsonSerializer<T> im
             anyGetterPropertySerializer.serialize( writer, value, ctx );
         }
     }
+
+    /**
+     * Returns the mask of the ignored properties over {@link #serializers}. It is computed only once and reused as long as the same
+     * ignored properties are given.
+     *
+     * @param ignoredProperties ignored properties
+     *
+     * @return the mask or null if there are no ignored properties
+     */
+    private boolean[] getIgnoredMask( Set<String> ignoredProperties ) {
+        if ( ignoredProperties.isEmpty() ) {
+            return null;
+        }
+        IgnoredProperties result = lastIgnoredProperties;
+        if ( null == result || result.names != ignoredProperties ) {
+            boolean[] mask = new boolean[serializers.length];
+            for ( int i = 0; i < serializers.length; i++ ) {
+                mask[i] = ignoredProperties.contains( serializers[i].getPropertyName() );
+            }
+            result = new IgnoredProperties( ignoredProperties, mask );
+            lastIgnoredProperties = result;
+        }
+        return result.mask;
+    }
+
+    /**
+     * Serializes all the properties of the bean when none of them is ignored at runtime. The generated serializers override it to
+     * serialize each property in sequence, reading the simple ones directly from the bean.
+     *
+     * @param writer writer
+     * @param bean bean to serialize
+     * @param ctx context of the serialization process
+     */
+    protected void serializeProperties( JsonWriter writer, T bean, JsonSerializationContext ctx ) {
+        for ( BeanPropertySerializer<T, ?> propertySerializer : serializers ) {
+            propertySerializer.serializePropertyName( writer, bean, ctx );
+            propertySerializer.serialize( writer, bean, ctx );
+        }
+    }
+
+    private static final class IgnoredProperties {
+
+        private final Set<String> names;
+
+        private final boolean[] mask;
+
+        private IgnoredProperties( Set<String> names, boolean[] mask ) {
+            this.names = names;
+            this.mask = mask;
+        }
+    }
 }
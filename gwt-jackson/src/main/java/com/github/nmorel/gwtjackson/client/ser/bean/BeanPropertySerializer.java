@@ -30,10 +30,21 @@ public abstract class BeanPropertySerializer<T, V> extends HasSerializer<V, Json
 
     protected final String propertyName;
 
+    /**
+     * The property name escaped and quoted, preceded by a comma and followed by a colon. Null if the name is written without escaping
+     * by {@link JsonWriter#unescapeName(String)}.
+     */
+    private final String propertyNameToken;
+
     private JsonSerializerParameters parameters;
 
     protected BeanPropertySerializer( String propertyName ) {
+        this( propertyName, null );
+    }
+
+    protected BeanPropertySerializer( String propertyName, String propertyNameToken ) {
         this.propertyName = propertyName;
+        this.propertyNameToken = propertyNameToken;
     }
 
     protected JsonSerializerParameters getParameters() {
@@ -59,7 +70,11 @@ public abstract class BeanPropertySerializer<T, V> extends HasSerializer<V, Json
      * @param ctx context of the serialization process
      */
     public void serializePropertyName( JsonWriter writer, T bean, JsonSerializationContext ctx ) {
-        writer.unescapeName( propertyName );
+        if ( null == propertyNameToken ) {
+            writer.unescapeName( propertyName );
+        } else {
+            writer.prerenderedName( propertyName, propertyNameToken );
+        }
     }
 
     /**
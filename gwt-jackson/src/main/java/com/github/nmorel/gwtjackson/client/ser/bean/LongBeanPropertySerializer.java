@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.nmorel.gwtjackson.client.ser.bean;
+
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.LongJsonSerializer;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+
+/**
+ * Serializes a bean's property of type {@code long} with the default {@link LongJsonSerializer} without boxing its value.
+ *
+ * @author Nicolas Morel
+ */
+public abstract class LongBeanPropertySerializer<T> extends BeanPropertySerializer<T, Long> {
+
+    protected LongBeanPropertySerializer( String propertyName, String propertyNameToken ) {
+        super( propertyName, propertyNameToken );
+    }
+
+    @Override
+    protected JsonSerializer<?> newSerializer() {
+        return LongJsonSerializer.getInstance();
+    }
+
+    @Override
+    public Long getValue( T bean, JsonSerializationContext ctx ) {
+        return getPrimitiveValue( bean, ctx );
+    }
+
+    /**
+     * @param bean bean containing the property to serialize
+     * @param ctx context of the serialization process
+     *
+     * @return the property's value
+     */
+    public abstract long getPrimitiveValue( T bean, JsonSerializationContext ctx );
+
+    @Override
+    public void serialize( JsonWriter writer, T bean, JsonSerializationContext ctx ) {
+        writer.value( getPrimitiveValue( bean, ctx ) );
+    }
+}
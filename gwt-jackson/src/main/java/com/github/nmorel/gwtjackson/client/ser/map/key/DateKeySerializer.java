@@ -21,6 +21,7 @@ import java.util.Date;
 
 import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
 import com.github.nmorel.gwtjackson.client.utils.DateFormat;
+import com.github.nmorel.gwtjackson.client.utils.NumberUtils;
 
 /**
  * Default implementation of {@link KeySerializer} for dates.
@@ -48,7 +49,7 @@ public class DateKeySerializer<D extends Date> extends KeySerializer<D> {
     @Override
     protected String doSerialize( @Nonnull Date value, JsonSerializationContext ctx ) {
         if ( ctx.isWriteDateKeysAsTimestamps() ) {
-            return Long.toString( value.getTime() );
+            return NumberUtils.formatLong( value.getTime() );
         } else {
             return DateFormat.format( value );
         }
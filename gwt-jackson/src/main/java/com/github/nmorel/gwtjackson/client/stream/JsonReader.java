@@ -95,6 +95,22 @@ public interface JsonReader
      */
     String nextName();
 
+    /**
+     * Consumes the next token, a {@link JsonToken#NAME property name}, and returns its index in {@code names}. The name is compared
+     * in place against the input when possible so no String is created for the names found. When the name is not found, -1 is
+     * returned and the name is available with {@link #getUnmatchedName()}.
+     *
+     * @param names the names expected, for example the properties of a bean
+     * @param expected index of the first name compared. The search continues with the following names, so passing the index following
+     * the previous name found makes the lookup immediate when the input is in the same order as {@code names}.
+     */
+    int nextNameIndex( String[] names, int expected );
+
+    /**
+     * Returns the name consumed by the last call to {@link #nextNameIndex(String[], int)} that returned -1.
+     */
+    String getUnmatchedName();
+
     /**
      * Returns the {@link JsonToken#STRING string} value of the next token,
      * consuming it. If the next token is a number, this method will return its
@@ -170,12 +186,32 @@ public interface JsonReader
      */
     void skipValue();
 
+    /**
+     * Skips the next value like {@link #skipValue()} but, when it is an object or array, only counts the brackets and jumps over the
+     * string literals of the raw input until the matching closing bracket. No token or String is created for the nested elements and
+     * their syntax is not validated. This method is intended for the values ignored by the deserializers.
+     */
+    void skipRawValue();
+
     /**
      * Reads the next value recursively and returns it as a String. If it is an object or array, all nested
      * elements are read.
      */
     String nextValue();
 
+    /**
+     * Reads the next value recursively and returns the exact portion of the input containing it, without unescaping or normalizing
+     * it. Unlike {@link #nextValue()}, any syntax accepted by a lenient reader is kept as-is.
+     */
+    String nextRawValue();
+
+    /**
+     * Reads the next value recursively and returns a {@link JsonReader} replaying it. If it is an object or array, all nested
+     * elements are read. The tokens are recorded as offsets into the input so the value is not tokenized again when the returned
+     * reader is consumed.
+     */
+    JsonReader bufferValue();
+
     int getLineNumber();
 
     int getColumnNumber();
@@ -38,6 +38,7 @@ public interface JsonWriter {
      * <ul>
      *   <li>Top-level values of any type. With strict writing, the top-level
      *       value must be an object or an array.
+     *   <li>Multiple top-level values, each one written on its own line.
      *   <li>Numbers may be {@link Double#isNaN() NaNs} or {@link
      *       Double#isInfinite() infinities}.
      * </ul>
@@ -98,6 +99,17 @@ public interface JsonWriter {
      */
     JsonWriter unescapeName( String name );
 
+    /**
+     * Encodes the property name using a token rendered in advance. The token is the name escaped and quoted, preceded by a comma and
+     * followed by a colon, like {@code ,"name":}, so it can be written in one append. The writers that cannot use it, for example when
+     * an indent is set, encode the name like {@link #name(String)}.
+     *
+     * @param name the name of the forthcoming value. May not be null.
+     * @param token the name rendered in advance. May not be null.
+     * @return this writer.
+     */
+    JsonWriter prerenderedName( String name, String token );
+
     /**
      * Encodes {@code value}.
      *
@@ -139,6 +151,13 @@ public interface JsonWriter {
      */
     JsonWriter value( double value );
 
+    /**
+     * Encodes {@code value}.
+     *
+     * @return this writer.
+     */
+    JsonWriter value( int value );
+
     /**
      * Encodes {@code value}.
      *
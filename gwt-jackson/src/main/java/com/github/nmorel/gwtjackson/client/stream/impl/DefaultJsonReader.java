@@ -25,7 +25,6 @@ import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationExceptio
 import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
 import com.google.gwt.core.client.JavaScriptObject;
-import com.google.gwt.core.client.JsArrayInteger;
 import com.google.gwt.core.client.JsonUtils;
 
 /**
@@ -243,6 +242,9 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
   /** True to accept non-spec compliant JSON */
   private boolean lenient = false;
 
+  /** True once a non-spec compliant syntax has been accepted */
+  private boolean lenientSyntax = false;
+
   /**
    * Use a manual buffer to easily read and unread upcoming characters, and
    * also so we can create strings without an intermediate StringBuilder.
@@ -253,6 +255,9 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
   private int pos = 0;
   private int limit = 0;
 
+  /** The offset in the input of the first character of the buffer. */
+  private int bufferStart = 0;
+
   private int lineNumber = 0;
   private int lineStart = 0;
 
@@ -266,7 +271,8 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
 
   /**
    * The number of characters in a peeked number literal. Increment 'pos' by
-   * this after reading a number.
+   * this after reading a number. For a PEEKED_LONG, 'pos' has already been
+   * incremented.
    */
   private int peekedNumberLength;
 
@@ -277,10 +283,16 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
    */
   private String peekedString;
 
+  /**
+   * The name consumed by the last call to {@link #nextNameIndex(String[], int)}
+   * that did not find it.
+   */
+  private String unmatchedName;
+
   /*
    * The nesting stack. Using a manual array rather than an ArrayList saves 20%.
    */
-  private JsArrayInteger stack = JsArrayInteger.createArray().cast();
+  private final IntArray stack = IntArray.create(32);
   private int stackSize = 0;
   {
     stack.set(stackSize++, JsonScope.EMPTY_DOCUMENT);
@@ -705,6 +717,7 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
     // We've read a complete number. Decide if it's a PEEKED_LONG or a PEEKED_NUMBER.
     if (last == NUMBER_CHAR_DIGIT && fitsInLong && (value != Long.MIN_VALUE || negative)) {
       peekedLong = negative ? value : -value;
+      peekedNumberLength = i;
       pos += i;
       return peeked = PEEKED_LONG;
     } else if (last == NUMBER_CHAR_DIGIT || last == NUMBER_CHAR_FRACTION_DIGIT
@@ -764,6 +777,78 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
     return result;
   }
 
+  @Override
+  public int nextNameIndex(String[] names, int expected)
+  {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+    if (p == PEEKED_DOUBLE_QUOTED_NAME) {
+      // the name is compared in place if it has no escape sequence and is
+      // entirely in the buffer
+      int end = pos;
+      while (end < limit) {
+        char c = buffer[end];
+        if (c == '"' || c == '\\' || c == '\n') {
+          break;
+        }
+        end++;
+      }
+      if (end < limit && buffer[end] == '"') {
+        int index = indexOfName(names, expected, end - pos);
+        if (index < 0) {
+          unmatchedName = nextName();
+        } else {
+          pos = end + 1;
+          peeked = PEEKED_NONE;
+        }
+        return index;
+      }
+    }
+
+    String name = nextName();
+    int n = names.length;
+    for (int i = 0; i < n; i++) {
+      int index = (expected + i) % n;
+      if (names[index].equals(name)) {
+        return index;
+      }
+    }
+    unmatchedName = name;
+    return -1;
+  }
+
+  /**
+   * Returns the index of the name equals to the {@code length} characters at
+   * {@code pos} or -1 if there is none.
+   */
+  private int indexOfName(String[] names, int expected, int length)
+  {
+    int n = names.length;
+    nextName:
+    for (int i = 0; i < n; i++) {
+      int index = (expected + i) % n;
+      String name = names[index];
+      if (name.length() != length) {
+        continue;
+      }
+      for (int j = 0; j < length; j++) {
+        if (buffer[pos + j] != name.charAt(j)) {
+          continue nextName;
+        }
+      }
+      return index;
+    }
+    return -1;
+  }
+
+  @Override
+  public String getUnmatchedName()
+  {
+    return unmatchedName;
+  }
+
   @Override
   public String nextString()
   {
@@ -938,9 +1023,13 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
           p = pos;
           l = limit;
           start = p;
-        } else if (c == '\n') {
-          lineNumber++;
-          lineStart = p;
+        } else if (c < ' ') {
+          // control characters must be escaped in JSON
+          lenientSyntax = true;
+          if (c == '\n') {
+            lineNumber++;
+            lineStart = p;
+          }
         }
       }
 
@@ -1018,10 +1107,17 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
     return result;
   }
 
-  private void skipQuotedValue(char quote)
+  /**
+   * Skips the string up to and including {@code quote}. The opening quote
+   * should have already been read.
+   *
+   * @return true if the string contains at least one escape sequence
+   */
+  private boolean skipQuotedValue(char quote)
   {
     // Like nextNonWhitespace, this uses locals 'p' and 'l' to save inner-loop field access.
     char[] buffer = this.buffer;
+    boolean escaped = false;
     do {
       int p = pos;
       int l = limit;
@@ -1030,15 +1126,20 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
         int c = buffer[p++];
         if (c == quote) {
           pos = p;
-          return;
+          return escaped;
         } else if (c == '\\') {
+          escaped = true;
           pos = p;
           readEscapeCharacter();
           p = pos;
           l = limit;
-        } else if (c == '\n') {
-          lineNumber++;
-          lineStart = p;
+        } else if (c < ' ') {
+          // control characters must be escaped in JSON
+          lenientSyntax = true;
+          if (c == '\n') {
+            lineNumber++;
+            lineStart = p;
+          }
         }
       }
       pos = p;
@@ -1168,6 +1269,95 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
     } while (count != 0);
   }
 
+  @Override
+  public void skipRawValue()
+  {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+    if (p != PEEKED_BEGIN_ARRAY && p != PEEKED_BEGIN_OBJECT) {
+      skipValue();
+      return;
+    }
+    peeked = PEEKED_NONE;
+
+    // the opening bracket has already been consumed by doPeek
+    int depth = 1;
+    while (pos < limit || fillBuffer(1)) {
+      char c = buffer[pos++];
+      switch (c) {
+      case '{':
+      case '[':
+        depth++;
+        break;
+      case '}':
+      case ']':
+        if (--depth == 0) {
+          return;
+        }
+        break;
+      case '"':
+      case '\'':
+        skipRawQuotedValue(c);
+        break;
+      case '/':
+        if (pos < limit || fillBuffer(1)) {
+          char next = buffer[pos];
+          if (next == '*') {
+            pos++;
+            if (!skipTo("*/")) {
+              throw syntaxError("Unterminated comment");
+            }
+            pos += 2;
+          } else if (next == '/') {
+            pos++;
+            skipToEndOfLine();
+          }
+        }
+        break;
+      case '#':
+        skipToEndOfLine();
+        break;
+      case '\n':
+        lineNumber++;
+        lineStart = pos;
+        break;
+      }
+    }
+    throw syntaxError(p == PEEKED_BEGIN_ARRAY ? "Unterminated array" : "Unterminated object");
+  }
+
+  /**
+   * Jumps over a quoted string without decoding its escape sequences.
+   */
+  private void skipRawQuotedValue(char quote)
+  {
+    char[] buffer = this.buffer;
+    boolean escaping = false;
+    do {
+      int p = pos;
+      int l = limit;
+      while (p < l) {
+        char c = buffer[p++];
+        if (escaping) {
+          escaping = false;
+        } else if (c == quote) {
+          pos = p;
+          return;
+        } else if (c == '\\') {
+          escaping = true;
+        }
+        if (c == '\n') {
+          lineNumber++;
+          lineStart = p;
+        }
+      }
+      pos = p;
+    } while (fillBuffer(1));
+    throw syntaxError("Unterminated string");
+  }
+
   private void push(int newTop) {
     stack.set(stackSize++, newTop);
   }
@@ -1181,6 +1371,7 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
   {
     char[] buffer = this.buffer;
     lineStart -= pos;
+    bufferStart += pos;
     if (limit != pos) {
       limit -= pos;
       System.arraycopy( buffer, pos, buffer, 0, limit );
@@ -1320,6 +1511,7 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
     if (!lenient) {
       throw syntaxError("Use JsonReader.setLenient(true) to accept malformed JSON");
     }
+    lenientSyntax = true;
   }
 
   /**
@@ -1422,15 +1614,20 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
     case 'f':
       return '\f';
 
+    case '"':
+    case '\\':
+    case '/':
+      return escaped;
+
     case '\n':
       lineNumber++;
       lineStart = pos;
       // fall-through
 
     case '\'':
-    case '"':
-    case '\\':
     default:
+      // not a JSON escape sequence, a strict parser would reject the raw input
+      lenientSyntax = true;
       return escaped;
     }
   }
@@ -1474,6 +1671,72 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
     return in.getInput();
   }
 
+  @Override
+  public com.github.nmorel.gwtjackson.client.stream.JsonReader bufferValue()
+  {
+    // each value has its own buffer so its tokens are released with the replaying reader
+    TokenBuffer tokens = new TokenBuffer(getInput());
+    lenientSyntax = false;
+
+    int count = 0;
+    do {
+      int p = peeked;
+      if (p == PEEKED_NONE) {
+        p = doPeek();
+      }
+
+      if (p == PEEKED_BEGIN_ARRAY) {
+        push(JsonScope.EMPTY_ARRAY);
+        count++;
+        tokens.add(TokenBuffer.BEGIN_ARRAY, bufferStart + pos - 1, bufferStart + pos);
+      } else if (p == PEEKED_BEGIN_OBJECT) {
+        push(JsonScope.EMPTY_OBJECT);
+        count++;
+        tokens.add(TokenBuffer.BEGIN_OBJECT, bufferStart + pos - 1, bufferStart + pos);
+      } else if (p == PEEKED_END_ARRAY) {
+        stackSize--;
+        count--;
+        tokens.add(TokenBuffer.END_ARRAY, bufferStart + pos - 1, bufferStart + pos);
+      } else if (p == PEEKED_END_OBJECT) {
+        stackSize--;
+        count--;
+        tokens.add(TokenBuffer.END_OBJECT, bufferStart + pos - 1, bufferStart + pos);
+      } else if (p == PEEKED_UNQUOTED_NAME || p == PEEKED_UNQUOTED) {
+        int start = bufferStart + pos;
+        skipUnquotedValue();
+        tokens.add(p == PEEKED_UNQUOTED_NAME ? TokenBuffer.NAME : TokenBuffer.STRING, start, bufferStart + pos);
+      } else if (p == PEEKED_SINGLE_QUOTED_NAME || p == PEEKED_DOUBLE_QUOTED_NAME) {
+        int start = bufferStart + pos - 1;
+        boolean escaped = skipQuotedValue(p == PEEKED_SINGLE_QUOTED_NAME ? '\'' : '"');
+        tokens.add(TokenBuffer.NAME | TokenBuffer.QUOTED | (escaped ? TokenBuffer.ESCAPED : 0), start, bufferStart + pos);
+      } else if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
+        int start = bufferStart + pos - 1;
+        boolean escaped = skipQuotedValue(p == PEEKED_SINGLE_QUOTED ? '\'' : '"');
+        tokens.add(TokenBuffer.STRING | TokenBuffer.QUOTED | (escaped ? TokenBuffer.ESCAPED : 0), start, bufferStart + pos);
+      } else if (p == PEEKED_NUMBER) {
+        tokens.add(TokenBuffer.NUMBER, bufferStart + pos, bufferStart + pos + peekedNumberLength);
+        pos += peekedNumberLength;
+      } else if (p == PEEKED_LONG) {
+        tokens.add(TokenBuffer.NUMBER, bufferStart + pos - peekedNumberLength, bufferStart + pos);
+      } else if (p == PEEKED_TRUE) {
+        tokens.add(TokenBuffer.TRUE, bufferStart + pos, bufferStart + pos);
+      } else if (p == PEEKED_FALSE) {
+        tokens.add(TokenBuffer.FALSE, bufferStart + pos, bufferStart + pos);
+      } else if (p == PEEKED_NULL) {
+        tokens.add(TokenBuffer.NULL, bufferStart + pos, bufferStart + pos);
+      } else if (p == PEEKED_BUFFERED) {
+        tokens.addLiteral(TokenBuffer.STRING, peekedString);
+        peekedString = null;
+      }
+      peeked = PEEKED_NONE;
+    } while (count != 0);
+
+    if (lenientSyntax) {
+      tokens.setLenientSyntax();
+    }
+    return new TokenBufferJsonReader(tokens, 0, tokens.size());
+  }
+
   @Override
   public String nextValue()
   {
@@ -1482,6 +1745,77 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
       p = doPeek();
     }
 
+    if (p == PEEKED_BUFFERED) {
+      // the value has already been decoded, we have to write it again
+      return writeValue();
+    }
+
+    lenientSyntax = p == PEEKED_SINGLE_QUOTED || p == PEEKED_UNQUOTED;
+    String value = nextRawValue();
+    if (!lenientSyntax) {
+      return value;
+    }
+
+    // the value contains syntax only accepted by a lenient reader, we write it again as valid JSON
+    DefaultJsonReader reader = new DefaultJsonReader(new StringReader(value));
+    reader.setLenient(true);
+    return reader.writeValue();
+  }
+
+  @Override
+  public String nextRawValue()
+  {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+
+    int start;
+    switch (p) {
+    case PEEKED_NULL:
+      peeked = PEEKED_NONE;
+      return "null";
+    case PEEKED_TRUE:
+      peeked = PEEKED_NONE;
+      return "true";
+    case PEEKED_FALSE:
+      peeked = PEEKED_NONE;
+      return "false";
+    case PEEKED_BUFFERED:
+      return writeValue();
+    case PEEKED_BEGIN_OBJECT:
+    case PEEKED_BEGIN_ARRAY:
+    case PEEKED_SINGLE_QUOTED:
+    case PEEKED_DOUBLE_QUOTED:
+      start = bufferStart + pos - 1;
+      break;
+    case PEEKED_LONG:
+      start = bufferStart + pos - peekedNumberLength;
+      break;
+    case PEEKED_UNQUOTED:
+    case PEEKED_NUMBER:
+      start = bufferStart + pos;
+      break;
+    default:
+      throw new IllegalStateException("Expected a value but was " + peek()
+          + " at line " + getLineNumber() + " column " + getColumnNumber());
+    }
+
+    skipValue();
+    return getInput().substring(start, bufferStart + pos);
+  }
+
+  /**
+   * Reads the next value recursively and writes it as a String with a
+   * {@link JsonWriter}.
+   */
+  private String writeValue()
+  {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+
     if(p == PEEKED_NULL) {
       peeked = PEEKED_NONE;
       return "null";
@@ -1667,8 +2001,18 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
         limit = toEval.length();
         peeked = PEEKED_NONE;
       } else {
-        String toEval = nextValue();
-        result = useSafeEval ? JsonUtils.safeEval( toEval ) : JsonUtils.unsafeEval( toEval );
+        lenientSyntax = false;
+        String toEval = nextRawValue();
+        if (lenientSyntax) {
+          // the value contains syntax only accepted by a lenient reader, we write it again as valid JSON
+          DefaultJsonReader reader = new DefaultJsonReader(new StringReader(toEval));
+          reader.setLenient(true);
+          toEval = reader.writeValue();
+          result = useSafeEval ? JsonUtils.safeEval( toEval ) : JsonUtils.unsafeEval( toEval );
+        } else {
+          // the value has already been validated by this reader, we give it directly to the native parser
+          result = parse( toEval );
+        }
       }
       return result;
     default:
@@ -1676,5 +2020,9 @@ public class DefaultJsonReader implements com.github.nmorel.gwtjackson.client.st
           + " at line " + getLineNumber() + " column " + getColumnNumber());
     }
   }
+
+  private static native JavaScriptObject parse( String json ) /*-{
+    return JSON.parse(json);
+  }-*/;
 }
 //@formatter:on
\ No newline at end of file
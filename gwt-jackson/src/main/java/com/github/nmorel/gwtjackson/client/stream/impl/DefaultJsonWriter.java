@@ -21,8 +21,8 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
+import com.github.nmorel.gwtjackson.client.utils.NumberUtils;
 import com.google.gwt.core.client.JavaScriptObject;
-import com.google.gwt.core.client.JsArrayInteger;
 
 /**
  * Writes a JSON (<a href="http://www.ietf.org/rfc/rfc4627.txt">RFC 4627</a>)
@@ -161,7 +161,7 @@ public class DefaultJsonWriter implements com.github.nmorel.gwtjackson.client.st
   /** The output data, containing at most one top-level array or object. */
   private final StringBuilder out;
 
-  private JsArrayInteger stack = JsArrayInteger.createArray().cast();
+  private final IntArray stack = IntArray.create(32);
   private int stackSize = 0;
   {
     push( JsonScope.EMPTY_DOCUMENT);
@@ -184,6 +184,12 @@ public class DefaultJsonWriter implements com.github.nmorel.gwtjackson.client.st
 
   private String deferredName;
 
+  /**
+   * The token rendered in advance for {@link #deferredName}, or null if it
+   * has to be encoded.
+   */
+  private String deferredNameToken;
+
   private boolean serializeNulls = true;
 
   /**
@@ -323,6 +329,19 @@ public class DefaultJsonWriter implements com.github.nmorel.gwtjackson.client.st
     return this;
   }
 
+  @Override
+  public DefaultJsonWriter prerenderedName( String name, String token ) {
+    checkName(name);
+    if (token == null) {
+      throw new NullPointerException("token == null");
+    }
+    deferredName = name;
+    if (indent == null) {
+      deferredNameToken = token;
+    }
+    return this;
+  }
+
   private void checkName(String name) {
     if (name == null) {
       throw new NullPointerException("name == null");
@@ -336,7 +355,11 @@ public class DefaultJsonWriter implements com.github.nmorel.gwtjackson.client.st
   }
 
   private void writeDeferredName() {
-    if (deferredUnescapeName != null) {
+    if (deferredNameToken != null) {
+      beforeNameToken();
+      deferredNameToken = null;
+      deferredName = null;
+    } else if (deferredUnescapeName != null) {
       beforeName();
       out.append('\"').append(deferredUnescapeName).append('\"');
       deferredUnescapeName = null;
@@ -377,6 +400,7 @@ public class DefaultJsonWriter implements com.github.nmorel.gwtjackson.client.st
       } else {
         deferredUnescapeName = null;
         deferredName = null;
+        deferredNameToken = null;
         return this; // skip the name and the value
       }
     }
@@ -391,6 +415,7 @@ public class DefaultJsonWriter implements com.github.nmorel.gwtjackson.client.st
       deferredUnescapeName = null;
     } else if (deferredName != null) {
       deferredName = null;
+      deferredNameToken = null;
     }
     return this;
   }
@@ -414,11 +439,19 @@ public class DefaultJsonWriter implements com.github.nmorel.gwtjackson.client.st
     return this;
   }
 
+  @Override
+  public DefaultJsonWriter value( int value ) {
+    writeDeferredName();
+    beforeValue(false);
+    out.append(Integer.toString(value));
+    return this;
+  }
+
   @Override
   public DefaultJsonWriter value( long value ) {
     writeDeferredName();
     beforeValue(false);
-    out.append(Long.toString(value));
+    out.append(NumberUtils.formatLong(value));
     return this;
   }
 
@@ -550,6 +583,23 @@ public class DefaultJsonWriter implements com.github.nmorel.gwtjackson.client.st
     replaceTop( JsonScope.DANGLING_NAME);
   }
 
+  /**
+   * Writes the deferred name token with the separator before it when the name
+   * is not the first in the object. Also adjusts the stack to expect the
+   * name's value.
+   */
+  private void beforeNameToken() {
+    int context = peek();
+    if (context == JsonScope.NONEMPTY_OBJECT) {
+      out.append(deferredNameToken);
+    } else if (context == JsonScope.EMPTY_OBJECT) { // first in object
+      out.append(deferredNameToken, 1, deferredNameToken.length());
+    } else { // not in an object!
+      throw new IllegalStateException("Nesting problem.");
+    }
+    replaceTop( JsonScope.DANGLING_NAME_AND_SEPARATOR);
+  }
+
   /**
    * Inserts any necessary separators and whitespace before a literal value,
    * inline array, or inline object. Also adjusts the stack to expect either a
@@ -566,6 +616,8 @@ public class DefaultJsonWriter implements com.github.nmorel.gwtjackson.client.st
         throw new IllegalStateException(
             "JSON must have only one top-level value.");
       }
+      // each top-level value on its own line
+      out.append('\n');
       // fall-through
     case JsonScope.EMPTY_DOCUMENT: // first in document
       if (!lenient && !root) {
@@ -590,6 +642,10 @@ public class DefaultJsonWriter implements com.github.nmorel.gwtjackson.client.st
       replaceTop( JsonScope.NONEMPTY_OBJECT);
       break;
 
+    case JsonScope.DANGLING_NAME_AND_SEPARATOR: // value for name token
+      replaceTop( JsonScope.NONEMPTY_OBJECT);
+      break;
+
     default:
       throw new IllegalStateException("Nesting problem.");
     }
@@ -21,8 +21,9 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
+import com.github.nmorel.gwtjackson.client.utils.NumberUtils;
+import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JavaScriptObject;
-import com.google.gwt.core.client.JsArrayInteger;
 import com.google.gwt.core.client.JsonUtils;
 
 /**
@@ -35,7 +36,7 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
   /** The output data, containing at most one top-level array or object. */
   private final StringBuilder out;
 
-  private JsArrayInteger stack = JsArrayInteger.createArray().cast();
+  private final IntArray stack = IntArray.create(32);
   private int stackSize = 0;
   {
     push( JsonScope.EMPTY_DOCUMENT);
@@ -58,6 +59,12 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
 
   private String deferredName;
 
+  /**
+   * The token rendered in advance for {@link #deferredName}, or null if it
+   * has to be encoded.
+   */
+  private String deferredNameToken;
+
   private boolean serializeNulls = true;
 
   /**
@@ -197,6 +204,19 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
     return this;
   }
 
+  @Override
+  public FastJsonWriter prerenderedName( String name, String token ) {
+    checkName(name);
+    if (token == null) {
+      throw new NullPointerException("token == null");
+    }
+    deferredName = name;
+    if (indent == null) {
+      deferredNameToken = token;
+    }
+    return this;
+  }
+
   private void checkName(String name) {
     if (name == null) {
       throw new NullPointerException("name == null");
@@ -210,7 +230,11 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
   }
 
   private void writeDeferredName() {
-    if (deferredUnescapeName != null) {
+    if (deferredNameToken != null) {
+      beforeNameToken();
+      deferredNameToken = null;
+      deferredName = null;
+    } else if (deferredUnescapeName != null) {
       beforeName();
       out.append('\"').append(deferredUnescapeName).append('\"');
       deferredUnescapeName = null;
@@ -251,6 +275,7 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
       } else {
         deferredUnescapeName = null;
         deferredName = null;
+        deferredNameToken = null;
         return this; // skip the name and the value
       }
     }
@@ -265,6 +290,7 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
       deferredUnescapeName = null;
     } else if (deferredName != null) {
       deferredName = null;
+      deferredNameToken = null;
     }
     return this;
   }
@@ -288,11 +314,19 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
     return this;
   }
 
+  @Override
+  public FastJsonWriter value( int value ) {
+    writeDeferredName();
+    beforeValue(false);
+    out.append(Integer.toString(value));
+    return this;
+  }
+
   @Override
   public FastJsonWriter value( long value ) {
     writeDeferredName();
     beforeValue(false);
-    out.append(Long.toString(value));
+    out.append(NumberUtils.formatLong(value));
     return this;
   }
 
@@ -357,7 +391,12 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
   }
 
   private void string(String value) {
-    out.append(JsonUtils.escapeValue(value));
+    if (GWT.isClient()) {
+      out.append(JsonUtils.escapeValue(value));
+    } else {
+      // JsonUtils is only available in client code
+      out.append('\"').append(DefaultJsonWriter.encodeString(value)).append('\"');
+    }
   }
 
   private void newline() {
@@ -386,6 +425,23 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
     replaceTop( JsonScope.DANGLING_NAME);
   }
 
+  /**
+   * Writes the deferred name token with the separator before it when the name
+   * is not the first in the object. Also adjusts the stack to expect the
+   * name's value.
+   */
+  private void beforeNameToken() {
+    int context = peek();
+    if (context == JsonScope.NONEMPTY_OBJECT) {
+      out.append(deferredNameToken);
+    } else if (context == JsonScope.EMPTY_OBJECT) { // first in object
+      out.append(deferredNameToken, 1, deferredNameToken.length());
+    } else { // not in an object!
+      throw new IllegalStateException("Nesting problem.");
+    }
+    replaceTop( JsonScope.DANGLING_NAME_AND_SEPARATOR);
+  }
+
   /**
    * Inserts any necessary separators and whitespace before a literal value,
    * inline array, or inline object. Also adjusts the stack to expect either a
@@ -402,6 +458,8 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
         throw new IllegalStateException(
             "JSON must have only one top-level value.");
       }
+      // each top-level value on its own line
+      out.append('\n');
       // fall-through
     case JsonScope.EMPTY_DOCUMENT: // first in document
       if (!lenient && !root) {
@@ -426,6 +484,10 @@ public class FastJsonWriter implements com.github.nmorel.gwtjackson.client.strea
       replaceTop( JsonScope.NONEMPTY_OBJECT);
       break;
 
+    case JsonScope.DANGLING_NAME_AND_SEPARATOR: // value for name token
+      replaceTop( JsonScope.NONEMPTY_OBJECT);
+      break;
+
     default:
       throw new IllegalStateException("Nesting problem.");
     }
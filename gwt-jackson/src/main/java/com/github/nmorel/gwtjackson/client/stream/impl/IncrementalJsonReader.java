@@ -0,0 +1,741 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * {@link JsonReader} fed with the chunks of a JSON input as they are received, for example on the progress events of a request.
+ * <p>
+ * Each chunk is tokenized by {@link #append(String)} as soon as it is received. When a chunk ends in the middle of a token, the
+ * tokenizer suspends and resumes with the next chunk. Once the document is complete, the recorded tokens are read like with any other
+ * {@link JsonReader}, without tokenizing the input again. Reading before the document is complete throws an
+ * {@link IllegalStateException}.
+ * </p>
+ * <p>
+ * Only standard JSON is accepted. Comments, unquoted or single quoted strings and the other syntaxes accepted by a lenient reader are
+ * rejected. The document can be any value, not only an object or an array.
+ * </p>
+ *
+ * @author Nicolas Morel
+ */
+public class IncrementalJsonReader implements JsonReader {
+
+    private static final int STATE_STRUCTURE = 0;
+
+    private static final int STATE_STRING = 1;
+
+    private static final int STATE_ESCAPE = 2;
+
+    private static final int STATE_UNICODE = 3;
+
+    private static final int STATE_NUMBER = 4;
+
+    private static final int STATE_LITERAL = 5;
+
+    private static final int NUMBER_CHAR_NONE = 0;
+
+    private static final int NUMBER_CHAR_SIGN = 1;
+
+    private static final int NUMBER_CHAR_ZERO = 2;
+
+    private static final int NUMBER_CHAR_DIGIT = 3;
+
+    private static final int NUMBER_CHAR_DECIMAL = 4;
+
+    private static final int NUMBER_CHAR_FRACTION_DIGIT = 5;
+
+    private static final int NUMBER_CHAR_EXP_E = 6;
+
+    private static final int NUMBER_CHAR_EXP_SIGN = 7;
+
+    private static final int NUMBER_CHAR_EXP_DIGIT = 8;
+
+    /**
+     * String holding the input while the chunks are the consecutive ranges of a single String starting at its first character, the
+     * input is then tokenized without being copied.
+     */
+    private String source;
+
+    /**
+     * Copy of the input, only created when a chunk is not the next range of {@link #source}.
+     */
+    private StringBuilder input;
+
+    /**
+     * Length of the input received.
+     */
+    private int length;
+
+    private final TokenBuffer tokens = new TokenBuffer();
+
+    private final IntArray stack = IntArray.create( 32 );
+
+    private int stackSize = 0;
+
+    {
+        stack.set( stackSize++, JsonScope.EMPTY_DOCUMENT );
+    }
+
+    /**
+     * True when the last token of the current scope is followed by its separator, ',' or ':'.
+     */
+    private boolean separated;
+
+    private int state = STATE_STRUCTURE;
+
+    /**
+     * Offset in the input of the first character of the chunk being tokenized.
+     */
+    private int base;
+
+    private int lineNumber = 0;
+
+    private int lineStart = 0;
+
+    /**
+     * Type and offset of the first character of the token being tokenized.
+     */
+    private int tokenType;
+
+    private int tokenStart;
+
+    private boolean escaped;
+
+    private int unicodeLeft;
+
+    private int numberChar;
+
+    private String keyword;
+
+    private int keywordIndex;
+
+    private boolean complete;
+
+    private boolean ended;
+
+    private boolean lenient = false;
+
+    /**
+     * Reader of the recorded tokens, created once the document is complete.
+     */
+    private JsonReader reader;
+
+    /**
+     * Tokenizes the next chunk of the input.
+     *
+     * @param chunk the next chunk of the input
+     *
+     * @return true if the document is complete and can be read
+     * @throws MalformedJsonException if the input is not valid JSON
+     */
+    public boolean append( String chunk ) {
+        return append( chunk, 0, chunk.length() );
+    }
+
+    /**
+     * Tokenizes the next chunk of the input, taken from a range of the given String. While the chunks are the consecutive ranges of
+     * the same String, starting at its first character, the input is tokenized without being copied.
+     *
+     * @param chunk the String containing the next chunk of the input
+     * @param start index of the first character of the chunk
+     * @param end index after the last character of the chunk
+     *
+     * @return true if the document is complete and can be read
+     * @throws MalformedJsonException if the input is not valid JSON
+     */
+    public boolean append( String chunk, int start, int end ) {
+        if ( ended ) {
+            throw new IllegalStateException( "The input has already ended" );
+        }
+
+        // offsets in the input are computed from the indexes in the chunk
+        base = length - start;
+        if ( null == input && (0 == length ? 0 == start : chunk == source && start == length) ) {
+            source = chunk;
+        } else {
+            if ( null == input ) {
+                input = new StringBuilder();
+                if ( 0 < length ) {
+                    input.append( source, 0, length );
+                }
+                source = null;
+            }
+            input.append( chunk, start, end );
+        }
+        length += end - start;
+
+        int i = start;
+        while ( i < end ) {
+            switch ( state ) {
+                case STATE_STRUCTURE:
+                    i = scanStructure( chunk, i, end );
+                    break;
+                case STATE_STRING:
+                    i = scanString( chunk, i, end );
+                    break;
+                case STATE_ESCAPE:
+                    i = scanEscape( chunk, i );
+                    break;
+                case STATE_UNICODE:
+                    i = scanUnicode( chunk, i, end );
+                    break;
+                case STATE_NUMBER:
+                    i = scanNumber( chunk, i, end );
+                    break;
+                default:
+                    i = scanLiteral( chunk, i, end );
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Signals the end of the input. A number at the root of the document is only complete once the input ends.
+     *
+     * @throws MalformedJsonException if the document is not complete
+     */
+    public void end() {
+        if ( ended ) {
+            return;
+        }
+        int position = length;
+        if ( state == STATE_NUMBER ) {
+            if ( !isNumberComplete() ) {
+                throw syntaxError( "Malformed number", position );
+            }
+            endNumber( position );
+        }
+        if ( !complete ) {
+            throw syntaxError( "End of input", position );
+        }
+        ended = true;
+    }
+
+    /**
+     * @return true if the document is complete and can be read
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private int scanStructure( String chunk, int i, int length ) {
+        while ( i < length ) {
+            char c = chunk.charAt( i++ );
+            if ( c == ' ' || c == '\t' || c == '\r' ) {
+                continue;
+            }
+            if ( c == '\n' ) {
+                lineNumber++;
+                lineStart = base + i;
+                continue;
+            }
+
+            nextStructure( c, base + i - 1 );
+            if ( state != STATE_STRUCTURE ) {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private void nextStructure( char c, int position ) {
+        int scope = stack.get( stackSize - 1 );
+        switch ( scope ) {
+            case JsonScope.EMPTY_ARRAY:
+                if ( c == ']' ) {
+                    endContainer( TokenBuffer.END_ARRAY, position );
+                } else {
+                    stack.set( stackSize - 1, JsonScope.NONEMPTY_ARRAY );
+                    beginValue( c, position );
+                }
+                break;
+            case JsonScope.NONEMPTY_ARRAY:
+                if ( separated ) {
+                    separated = false;
+                    beginValue( c, position );
+                } else if ( c == ',' ) {
+                    separated = true;
+                } else if ( c == ']' ) {
+                    endContainer( TokenBuffer.END_ARRAY, position );
+                } else {
+                    throw syntaxError( "Unterminated array", position );
+                }
+                break;
+            case JsonScope.EMPTY_OBJECT:
+                if ( c == '}' ) {
+                    endContainer( TokenBuffer.END_OBJECT, position );
+                } else {
+                    beginName( c, position );
+                }
+                break;
+            case JsonScope.NONEMPTY_OBJECT:
+                if ( separated ) {
+                    separated = false;
+                    beginName( c, position );
+                } else if ( c == ',' ) {
+                    separated = true;
+                } else if ( c == '}' ) {
+                    endContainer( TokenBuffer.END_OBJECT, position );
+                } else {
+                    throw syntaxError( "Unterminated object", position );
+                }
+                break;
+            case JsonScope.DANGLING_NAME:
+                if ( separated ) {
+                    separated = false;
+                    stack.set( stackSize - 1, JsonScope.NONEMPTY_OBJECT );
+                    beginValue( c, position );
+                } else if ( c == ':' ) {
+                    separated = true;
+                } else {
+                    throw syntaxError( "Expected ':'", position );
+                }
+                break;
+            case JsonScope.EMPTY_DOCUMENT:
+                stack.set( stackSize - 1, JsonScope.NONEMPTY_DOCUMENT );
+                beginValue( c, position );
+                break;
+            default:
+                throw syntaxError( "Expected end of input", position );
+        }
+    }
+
+    private void beginName( char c, int position ) {
+        if ( c != '"' ) {
+            throw syntaxError( "Expected name", position );
+        }
+        stack.set( stackSize - 1, JsonScope.DANGLING_NAME );
+        beginString( TokenBuffer.NAME, position );
+    }
+
+    private void beginValue( char c, int position ) {
+        switch ( c ) {
+            case '{':
+                tokens.add( TokenBuffer.BEGIN_OBJECT, position, position + 1 );
+                stack.set( stackSize++, JsonScope.EMPTY_OBJECT );
+                break;
+            case '[':
+                tokens.add( TokenBuffer.BEGIN_ARRAY, position, position + 1 );
+                stack.set( stackSize++, JsonScope.EMPTY_ARRAY );
+                break;
+            case '"':
+                beginString( TokenBuffer.STRING, position );
+                break;
+            case 't':
+                beginKeyword( TokenBuffer.TRUE, "true", position );
+                break;
+            case 'f':
+                beginKeyword( TokenBuffer.FALSE, "false", position );
+                break;
+            case 'n':
+                beginKeyword( TokenBuffer.NULL, "null", position );
+                break;
+            case '-':
+                beginNumber( NUMBER_CHAR_SIGN, position );
+                break;
+            case '0':
+                beginNumber( NUMBER_CHAR_ZERO, position );
+                break;
+            default:
+                if ( c >= '1' && c <= '9' ) {
+                    beginNumber( NUMBER_CHAR_DIGIT, position );
+                } else {
+                    throw syntaxError( "Expected value", position );
+                }
+        }
+    }
+
+    private void endContainer( int type, int position ) {
+        tokens.add( type, position, position + 1 );
+        stackSize--;
+        endValue();
+    }
+
+    private void endValue() {
+        state = STATE_STRUCTURE;
+        if ( stackSize == 1 ) {
+            complete = true;
+        }
+    }
+
+    private void beginString( int type, int position ) {
+        state = STATE_STRING;
+        tokenType = type;
+        tokenStart = position;
+        escaped = false;
+    }
+
+    private int scanString( String chunk, int i, int length ) {
+        while ( i < length ) {
+            char c = chunk.charAt( i++ );
+            if ( c == '"' ) {
+                tokens.add( tokenType | TokenBuffer.QUOTED | (escaped ? TokenBuffer.ESCAPED : 0), tokenStart, base + i );
+                if ( tokenType == TokenBuffer.NAME ) {
+                    state = STATE_STRUCTURE;
+                } else {
+                    endValue();
+                }
+                break;
+            } else if ( c == '\\' ) {
+                escaped = true;
+                state = STATE_ESCAPE;
+                break;
+            } else if ( c < ' ' ) {
+                // control characters must be escaped in JSON
+                throw syntaxError( "Unescaped control character", base + i - 1 );
+            }
+        }
+        return i;
+    }
+
+    private int scanEscape( String chunk, int i ) {
+        char c = chunk.charAt( i++ );
+        switch ( c ) {
+            case 'u':
+                state = STATE_UNICODE;
+                unicodeLeft = 4;
+                break;
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+                state = STATE_STRING;
+                break;
+            default:
+                throw syntaxError( "Invalid escape sequence", base + i - 1 );
+        }
+        return i;
+    }
+
+    private int scanUnicode( String chunk, int i, int length ) {
+        while ( i < length ) {
+            char c = chunk.charAt( i++ );
+            if ( (c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F') ) {
+                throw syntaxError( "Malformed Unicode escape", base + i - 1 );
+            }
+            if ( --unicodeLeft == 0 ) {
+                state = STATE_STRING;
+                break;
+            }
+        }
+        return i;
+    }
+
+    private void beginNumber( int firstChar, int position ) {
+        state = STATE_NUMBER;
+        tokenStart = position;
+        numberChar = firstChar;
+    }
+
+    private int scanNumber( String chunk, int i, int length ) {
+        while ( i < length ) {
+            int next = nextNumberChar( chunk.charAt( i ), base + i );
+            if ( next == NUMBER_CHAR_NONE ) {
+                // the character following the number is tokenized as a structure character
+                endNumber( base + i );
+                break;
+            }
+            numberChar = next;
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return the state of the number after the given character or {@link #NUMBER_CHAR_NONE} if the character ends the number
+     */
+    private int nextNumberChar( char c, int position ) {
+        boolean digit = c >= '0' && c <= '9';
+        switch ( numberChar ) {
+            case NUMBER_CHAR_SIGN:
+                if ( digit ) {
+                    return c == '0' ? NUMBER_CHAR_ZERO : NUMBER_CHAR_DIGIT;
+                }
+                break;
+            case NUMBER_CHAR_ZERO:
+                if ( c == '.' ) {
+                    return NUMBER_CHAR_DECIMAL;
+                } else if ( c == 'e' || c == 'E' ) {
+                    return NUMBER_CHAR_EXP_E;
+                } else if ( !digit ) {
+                    return NUMBER_CHAR_NONE;
+                }
+                // leading zeros are not allowed
+                break;
+            case NUMBER_CHAR_DIGIT:
+                if ( digit ) {
+                    return NUMBER_CHAR_DIGIT;
+                } else if ( c == '.' ) {
+                    return NUMBER_CHAR_DECIMAL;
+                } else if ( c == 'e' || c == 'E' ) {
+                    return NUMBER_CHAR_EXP_E;
+                }
+                return NUMBER_CHAR_NONE;
+            case NUMBER_CHAR_DECIMAL:
+                if ( digit ) {
+                    return NUMBER_CHAR_FRACTION_DIGIT;
+                }
+                break;
+            case NUMBER_CHAR_FRACTION_DIGIT:
+                if ( digit ) {
+                    return NUMBER_CHAR_FRACTION_DIGIT;
+                } else if ( c == 'e' || c == 'E' ) {
+                    return NUMBER_CHAR_EXP_E;
+                }
+                return NUMBER_CHAR_NONE;
+            case NUMBER_CHAR_EXP_E:
+                if ( c == '+' || c == '-' ) {
+                    return NUMBER_CHAR_EXP_SIGN;
+                } else if ( digit ) {
+                    return NUMBER_CHAR_EXP_DIGIT;
+                }
+                break;
+            case NUMBER_CHAR_EXP_SIGN:
+                if ( digit ) {
+                    return NUMBER_CHAR_EXP_DIGIT;
+                }
+                break;
+            default:
+                if ( digit ) {
+                    return NUMBER_CHAR_EXP_DIGIT;
+                }
+                return NUMBER_CHAR_NONE;
+        }
+        throw syntaxError( "Malformed number", position );
+    }
+
+    private boolean isNumberComplete() {
+        return numberChar == NUMBER_CHAR_ZERO || numberChar == NUMBER_CHAR_DIGIT || numberChar == NUMBER_CHAR_FRACTION_DIGIT ||
+                numberChar == NUMBER_CHAR_EXP_DIGIT;
+    }
+
+    private void endNumber( int position ) {
+        tokens.add( TokenBuffer.NUMBER, tokenStart, position );
+        endValue();
+    }
+
+    private void beginKeyword( int type, String keyword, int position ) {
+        state = STATE_LITERAL;
+        tokenType = type;
+        tokenStart = position;
+        this.keyword = keyword;
+        keywordIndex = 1;
+    }
+
+    private int scanLiteral( String chunk, int i, int length ) {
+        while ( i < length && keywordIndex < keyword.length() ) {
+            if ( chunk.charAt( i ) != keyword.charAt( keywordIndex ) ) {
+                throw syntaxError( "Expected value", base + i );
+            }
+            i++;
+            keywordIndex++;
+        }
+        if ( keywordIndex == keyword.length() ) {
+            tokens.add( tokenType, tokenStart, base + i );
+            endValue();
+        }
+        return i;
+    }
+
+    private MalformedJsonException syntaxError( String message, int position ) {
+        return new MalformedJsonException( message + " at line " + (lineNumber + 1) + " column " + (position - lineStart + 1) );
+    }
+
+    /**
+     * @return the input received
+     */
+    private String input() {
+        if ( null != input ) {
+            return input.toString();
+        } else if ( null == source ) {
+            return "";
+        } else if ( length == source.length() ) {
+            return source;
+        } else {
+            return source.substring( 0, length );
+        }
+    }
+
+    /**
+     * @return the reader of the recorded tokens
+     * @throws IllegalStateException if the document is not complete
+     */
+    private JsonReader reader() {
+        if ( null == reader ) {
+            if ( !complete ) {
+                throw new IllegalStateException( "The JSON document is not complete" );
+            }
+            tokens.setInput( input() );
+            reader = new TokenBufferJsonReader( tokens, 0, tokens.size() );
+            reader.setLenient( lenient );
+        }
+        return reader;
+    }
+
+    @Override
+    public void setLenient( boolean lenient ) {
+        this.lenient = lenient;
+        if ( null != reader ) {
+            reader.setLenient( lenient );
+        }
+    }
+
+    @Override
+    public void beginArray() {
+        reader().beginArray();
+    }
+
+    @Override
+    public void endArray() {
+        reader().endArray();
+    }
+
+    @Override
+    public void beginObject() {
+        reader().beginObject();
+    }
+
+    @Override
+    public void endObject() {
+        reader().endObject();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return reader().hasNext();
+    }
+
+    @Override
+    public JsonToken peek() {
+        return reader().peek();
+    }
+
+    @Override
+    public String nextName() {
+        return reader().nextName();
+    }
+
+    @Override
+    public int nextNameIndex( String[] names, int expected ) {
+        return reader().nextNameIndex( names, expected );
+    }
+
+    @Override
+    public String getUnmatchedName() {
+        return reader().getUnmatchedName();
+    }
+
+    @Override
+    public String nextString() {
+        return reader().nextString();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return reader().nextBoolean();
+    }
+
+    @Override
+    public void nextNull() {
+        reader().nextNull();
+    }
+
+    @Override
+    public double nextDouble() {
+        return reader().nextDouble();
+    }
+
+    @Override
+    public long nextLong() {
+        return reader().nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return reader().nextInt();
+    }
+
+    @Override
+    public void close() {
+        ended = true;
+        if ( null != reader ) {
+            reader.close();
+        }
+    }
+
+    @Override
+    public void skipValue() {
+        reader().skipValue();
+    }
+
+    @Override
+    public void skipRawValue() {
+        reader().skipRawValue();
+    }
+
+    @Override
+    public String nextValue() {
+        return reader().nextValue();
+    }
+
+    @Override
+    public String nextRawValue() {
+        return reader().nextRawValue();
+    }
+
+    @Override
+    public JsonReader bufferValue() {
+        return reader().bufferValue();
+    }
+
+    @Override
+    public int getLineNumber() {
+        return null == reader ? lineNumber + 1 : reader.getLineNumber();
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return null == reader ? length - lineStart + 1 : reader.getColumnNumber();
+    }
+
+    @Override
+    public String getInput() {
+        return null == reader ? input() : reader.getInput();
+    }
+
+    @Override
+    public Number nextNumber() {
+        return reader().nextNumber();
+    }
+
+    @Override
+    public JavaScriptObject nextJavaScriptObject( boolean useSafeEval ) {
+        return reader().nextJavaScriptObject( useSafeEval );
+    }
+
+    @Override
+    public String toString() {
+        return "JsonReader at line " + getLineNumber() + " column " + getColumnNumber();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * Growable array of int used for the nesting stack of {@link JsonScope} of the readers and writers and for the tokens recorded in a
+ * {@link TokenBuffer}. It is pre-sized and its capacity is doubled when an index past the end is set.
+ * <p>
+ * Once compiled, it is backed by an {@code Int32Array} when the browser supports typed arrays, so the values are never stored in a
+ * dynamic array of JavaScript numbers. In development mode and on a plain JVM, for example in benchmarks, it is backed by an
+ * {@code int[]}.
+ * </p>
+ *
+ * @author Nicolas Morel
+ */
+abstract class IntArray {
+
+    static IntArray create( int capacity ) {
+        if ( GWT.isScript() && Int32ArrayImpl.isSupported() ) {
+            return new Int32ArrayImpl( capacity );
+        } else {
+            return new JavaArrayImpl( capacity );
+        }
+    }
+
+    private static final class Int32ArrayImpl extends IntArray {
+
+        private static native boolean isSupported() /*-{
+            return typeof Int32Array !== 'undefined';
+        }-*/;
+
+        private static native JavaScriptObject newArray( int length ) /*-{
+            return new Int32Array(length);
+        }-*/;
+
+        private static native JavaScriptObject copyOf( JavaScriptObject array, int length ) /*-{
+            var newArray = new Int32Array(length);
+            newArray.set(array);
+            return newArray;
+        }-*/;
+
+        private static native int get( JavaScriptObject array, int index ) /*-{
+            return array[index];
+        }-*/;
+
+        private static native void set( JavaScriptObject array, int index, int value ) /*-{
+            array[index] = value;
+        }-*/;
+
+        private JavaScriptObject array;
+
+        private int length;
+
+        Int32ArrayImpl( int capacity ) {
+            this.array = newArray( capacity );
+            this.length = capacity;
+        }
+
+        @Override
+        int get( int index ) {
+            return get( array, index );
+        }
+
+        @Override
+        void set( int index, int value ) {
+            if ( index >= length ) {
+                length = Math.max( length * 2, index + 1 );
+                array = copyOf( array, length );
+            }
+            set( array, index, value );
+        }
+    }
+
+    private static final class JavaArrayImpl extends IntArray {
+
+        private int[] array;
+
+        JavaArrayImpl( int capacity ) {
+            this.array = new int[capacity];
+        }
+
+        @Override
+        int get( int index ) {
+            return array[index];
+        }
+
+        @Override
+        void set( int index, int value ) {
+            if ( index >= array.length ) {
+                int[] newArray = new int[Math.max( array.length * 2, index + 1 )];
+                System.arraycopy( array, 0, newArray, 0, array.length );
+                array = newArray;
+            }
+            array[index] = value;
+        }
+    }
+
+    /**
+     * Returns the value at the given index.
+     */
+    abstract int get( int index );
+
+    /**
+     * Sets the value at the given index, growing the array if needed.
+     */
+    abstract void set( int index, int value );
+}
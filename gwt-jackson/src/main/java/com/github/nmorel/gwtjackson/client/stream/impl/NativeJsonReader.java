@@ -0,0 +1,575 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import java.math.BigInteger;
+
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.utils.NumberUtils;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayInteger;
+import com.google.gwt.core.client.JsArrayString;
+
+/**
+ * {@link JsonReader} parsing the whole input at once with the browser's native {@code JSON.parse} and walking the resulting objects and
+ * arrays.
+ * <p>
+ * There is no lexing done in Java so it is much faster than the other implementations but it comes with some limitations :
+ * <ul>
+ * <li>the input must be strict JSON, the syntax accepted by {@link #setLenient(boolean)} is rejected</li>
+ * <li>numbers are JavaScript numbers, integers outside of [-2^53, 2^53] lose precision and {@link #nextString()} on a number returns
+ * its JavaScript representation instead of the original text</li>
+ * <li>the properties of an object are read in the order defined by {@code Object.keys}, integer-like names come first</li>
+ * <li>the line and column numbers are not tracked and are always 0</li>
+ * </ul>
+ * </p>
+ *
+ * @author Nicolas Morel
+ */
+public class NativeJsonReader implements JsonReader {
+
+    private static final int TYPE_NULL = 0;
+
+    private static final int TYPE_BOOLEAN = 1;
+
+    private static final int TYPE_NUMBER = 2;
+
+    private static final int TYPE_STRING = 3;
+
+    private static final int TYPE_ARRAY = 4;
+
+    private static final int TYPE_OBJECT = 5;
+
+    private static final double MAX_SAFE_LONG = 9007199254740992d;
+
+    private static final BigInteger MIN_LONG_BIGINTEGER = new BigInteger( "" + Long.MIN_VALUE );
+
+    private static final BigInteger MAX_LONG_BIGINTEGER = new BigInteger( "" + Long.MAX_VALUE );
+
+    private final String in;
+
+    /**
+     * The objects and arrays currently read. The first one is an array containing the document's root value.
+     */
+    private final JsArray<JavaScriptObject> containers = JavaScriptObject.createArray().cast();
+
+    /**
+     * The names of the properties of each object in {@link #containers}. Null for arrays.
+     */
+    private final JsArray<JsArrayString> names = JavaScriptObject.createArray().cast();
+
+    /**
+     * The position of the next element to read in each container. For an object, even positions are the names and odd positions the
+     * values.
+     */
+    private final JsArrayInteger positions = JavaScriptObject.createArray().cast();
+
+    private int stackSize = 0;
+
+    private boolean lenient = false;
+
+    private String unmatchedName;
+
+    public NativeJsonReader( String in ) {
+        this( in, parse( in ) );
+    }
+
+    private NativeJsonReader( String in, JavaScriptObject document ) {
+        this.in = in;
+        push( document, null );
+    }
+
+    private static native JavaScriptObject parse( String json ) /*-{
+        try {
+            return [JSON.parse(json)];
+        } catch (e) {
+            throw @com.github.nmorel.gwtjackson.client.stream.impl.MalformedJsonException::new(Ljava/lang/String;)("Error parsing JSON: " + e);
+        }
+    }-*/;
+
+    @Override
+    public void setLenient( boolean lenient ) {
+        this.lenient = lenient;
+    }
+
+    @Override
+    public void beginArray() {
+        if ( peekType() != TYPE_ARRAY ) {
+            throw unexpected( "BEGIN_ARRAY" );
+        }
+        JavaScriptObject array = getObject( container(), currentNames(), position() );
+        advance();
+        push( array, null );
+    }
+
+    @Override
+    public void endArray() {
+        if ( peek() != JsonToken.END_ARRAY ) {
+            throw unexpected( "END_ARRAY" );
+        }
+        stackSize--;
+    }
+
+    @Override
+    public void beginObject() {
+        if ( peekType() != TYPE_OBJECT ) {
+            throw unexpected( "BEGIN_OBJECT" );
+        }
+        JavaScriptObject object = getObject( container(), currentNames(), position() );
+        advance();
+        push( object, keys( object ) );
+    }
+
+    @Override
+    public void endObject() {
+        if ( peek() != JsonToken.END_OBJECT ) {
+            throw unexpected( "END_OBJECT" );
+        }
+        stackSize--;
+    }
+
+    private void push( JavaScriptObject container, JsArrayString containerNames ) {
+        containers.set( stackSize, container );
+        names.set( stackSize, containerNames );
+        positions.set( stackSize, 0 );
+        stackSize++;
+    }
+
+    private JavaScriptObject container() {
+        return containers.get( stackSize - 1 );
+    }
+
+    private JsArrayString currentNames() {
+        return names.get( stackSize - 1 );
+    }
+
+    private int position() {
+        return positions.get( stackSize - 1 );
+    }
+
+    private void advance() {
+        positions.set( stackSize - 1, positions.get( stackSize - 1 ) + 1 );
+    }
+
+    /**
+     * @return true if the next element of the current object is a name
+     */
+    private boolean isNameNext() {
+        JsArrayString currentNames = currentNames();
+        int position = position();
+        return null != currentNames && (position & 1) == 0 && position < currentNames.length() * 2;
+    }
+
+    /**
+     * @return true if the current object or array has no more element
+     */
+    private boolean isEndNext() {
+        JsArrayString currentNames = currentNames();
+        if ( null == currentNames ) {
+            return position() >= length( container() );
+        }
+        return position() >= currentNames.length() * 2;
+    }
+
+    /**
+     * @return the type of the next value or -1 if the next element is not a value
+     */
+    private int peekType() {
+        if ( isEndNext() || isNameNext() ) {
+            return -1;
+        }
+        return typeOf( container(), currentNames(), position() );
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !isEndNext();
+    }
+
+    @Override
+    public JsonToken peek() {
+        if ( isEndNext() ) {
+            if ( stackSize == 1 ) {
+                return JsonToken.END_DOCUMENT;
+            }
+            return null == currentNames() ? JsonToken.END_ARRAY : JsonToken.END_OBJECT;
+        }
+        if ( isNameNext() ) {
+            return JsonToken.NAME;
+        }
+        switch ( typeOf( container(), currentNames(), position() ) ) {
+            case TYPE_BOOLEAN:
+                return JsonToken.BOOLEAN;
+            case TYPE_NUMBER:
+                return JsonToken.NUMBER;
+            case TYPE_STRING:
+                return JsonToken.STRING;
+            case TYPE_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case TYPE_OBJECT:
+                return JsonToken.BEGIN_OBJECT;
+            default:
+                return JsonToken.NULL;
+        }
+    }
+
+    @Override
+    public String nextName() {
+        if ( !isNameNext() ) {
+            throw unexpected( "a name" );
+        }
+        String name = currentNames().get( position() >> 1 );
+        advance();
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The names are already created by the browser's parser so they are simply compared with {@link String#equals(Object)}.
+     * </p>
+     */
+    @Override
+    public int nextNameIndex( String[] names, int expected ) {
+        String name = nextName();
+        int n = names.length;
+        for ( int i = 0; i < n; i++ ) {
+            int index = (expected + i) % n;
+            if ( names[index].equals( name ) ) {
+                return index;
+            }
+        }
+        unmatchedName = name;
+        return -1;
+    }
+
+    @Override
+    public String getUnmatchedName() {
+        return unmatchedName;
+    }
+
+    @Override
+    public String nextString() {
+        int type = peekType();
+        String result;
+        if ( type == TYPE_STRING ) {
+            result = getString( container(), currentNames(), position() );
+        } else if ( type == TYPE_NUMBER ) {
+            result = getNumberAsString( container(), currentNames(), position() );
+        } else {
+            throw unexpected( "a string" );
+        }
+        advance();
+        return result;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        if ( peekType() != TYPE_BOOLEAN ) {
+            throw unexpected( "a boolean" );
+        }
+        boolean result = getBoolean( container(), currentNames(), position() );
+        advance();
+        return result;
+    }
+
+    @Override
+    public void nextNull() {
+        if ( peekType() != TYPE_NULL ) {
+            throw unexpected( "null" );
+        }
+        advance();
+    }
+
+    @Override
+    public double nextDouble() {
+        int type = peekType();
+        double result;
+        if ( type == TYPE_NUMBER ) {
+            result = getNumber( container(), currentNames(), position() );
+        } else if ( type == TYPE_STRING ) {
+            result = Double.parseDouble( getString( container(), currentNames(), position() ) ); // don't catch this NumberFormatException.
+            if ( !lenient && (Double.isNaN( result ) || Double.isInfinite( result )) ) {
+                throw new MalformedJsonException( "JSON forbids NaN and infinities: " + result );
+            }
+        } else {
+            throw unexpected( "a double" );
+        }
+        advance();
+        return result;
+    }
+
+    @Override
+    public long nextLong() {
+        int type = peekType();
+        long result;
+        if ( type == TYPE_NUMBER ) {
+            double asDouble = getNumber( container(), currentNames(), position() );
+            result = (long) asDouble;
+            if ( result != asDouble ) { // Make sure no precision was lost casting to 'long'.
+                throw new NumberFormatException( "Expected a long but was " + asDouble );
+            }
+        } else if ( type == TYPE_STRING ) {
+            String value = getString( container(), currentNames(), position() );
+            try {
+                result = NumberUtils.parseLong( value );
+            } catch ( NumberFormatException ignored ) {
+                double asDouble = Double.parseDouble( value ); // don't catch this NumberFormatException.
+                result = (long) asDouble;
+                if ( result != asDouble ) { // Make sure no precision was lost casting to 'long'.
+                    throw new NumberFormatException( "Expected a long but was " + value );
+                }
+            }
+        } else {
+            throw unexpected( "a long" );
+        }
+        advance();
+        return result;
+    }
+
+    @Override
+    public int nextInt() {
+        int type = peekType();
+        int result;
+        if ( type == TYPE_NUMBER ) {
+            double asDouble = getNumber( container(), currentNames(), position() );
+            result = (int) asDouble;
+            if ( result != asDouble ) { // Make sure no precision was lost casting to 'int'.
+                throw new NumberFormatException( "Expected an int but was " + asDouble );
+            }
+        } else if ( type == TYPE_STRING ) {
+            String value = getString( container(), currentNames(), position() );
+            try {
+                result = Integer.parseInt( value );
+            } catch ( NumberFormatException ignored ) {
+                double asDouble = Double.parseDouble( value ); // don't catch this NumberFormatException.
+                result = (int) asDouble;
+                if ( result != asDouble ) { // Make sure no precision was lost casting to 'int'.
+                    throw new NumberFormatException( "Expected an int but was " + value );
+                }
+            }
+        } else {
+            throw unexpected( "an int" );
+        }
+        advance();
+        return result;
+    }
+
+    @Override
+    public void close() {
+        stackSize = 1;
+        positions.set( 0, 1 );
+    }
+
+    @Override
+    public void skipValue() {
+        if ( !isEndNext() ) {
+            advance();
+        }
+    }
+
+    @Override
+    public void skipRawValue() {
+        // the values are already parsed, there is nothing to gain from a raw skip
+        skipValue();
+    }
+
+    @Override
+    public JsonReader bufferValue() {
+        if ( peekType() < 0 ) {
+            throw unexpected( "a value" );
+        }
+        JsonReader reader = new NativeJsonReader( in, wrap( container(), currentNames(), position() ) );
+        reader.setLenient( lenient );
+        advance();
+        return reader;
+    }
+
+    @Override
+    public String nextValue() {
+        if ( peekType() < 0 ) {
+            throw unexpected( "a value" );
+        }
+        String result = stringify( container(), currentNames(), position() );
+        advance();
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The original text is not kept after parsing so the value is serialized again like {@link #nextValue()}.
+     * </p>
+     */
+    @Override
+    public String nextRawValue() {
+        return nextValue();
+    }
+
+    @Override
+    public int getLineNumber() {
+        return 0;
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return 0;
+    }
+
+    @Override
+    public String getInput() {
+        return in;
+    }
+
+    @Override
+    public Number nextNumber() {
+        int type = peekType();
+        Number result;
+        if ( type == TYPE_NUMBER ) {
+            double value = getNumber( container(), currentNames(), position() );
+            if ( value != Math.floor( value ) || Math.abs( value ) > MAX_SAFE_LONG ) {
+                result = value;
+            } else if ( value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ) {
+                result = (int) value;
+            } else {
+                result = (long) value;
+            }
+        } else if ( type == TYPE_STRING ) {
+            result = parseNumber( getString( container(), currentNames(), position() ) );
+        } else {
+            throw unexpected( "a number" );
+        }
+        advance();
+        return result;
+    }
+
+    private Number parseNumber( String value ) {
+        if ( value.contains( "." ) ) {
+            // decimal
+            double resultDouble = Double.parseDouble( value ); // don't catch this NumberFormatException.
+            if ( !lenient && (Double.isNaN( resultDouble ) || Double.isInfinite( resultDouble )) ) {
+                throw new MalformedJsonException( "JSON forbids NaN and infinities: " + resultDouble );
+            }
+            return resultDouble;
+        }
+
+        int length = value.length();
+        if ( length <= 9 ) { // fits in int
+            return Integer.parseInt( value );
+        }
+
+        if ( length <= 18 ) { // fits in long and potentially int
+            long longResult = Long.parseLong( value );
+            if ( length == 10 && longResult >= Integer.MIN_VALUE && longResult <= Integer.MAX_VALUE ) {
+                return (int) longResult;
+            }
+            return longResult;
+        }
+
+        BigInteger bigIntegerResult = new BigInteger( value );
+        if ( bigIntegerResult.compareTo( MIN_LONG_BIGINTEGER ) >= 0 && bigIntegerResult.compareTo( MAX_LONG_BIGINTEGER ) <= 0 ) {
+            return bigIntegerResult.longValue();
+        }
+        return bigIntegerResult;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The input has already been parsed so the object is returned directly without any evaluation.
+     * </p>
+     */
+    @Override
+    public JavaScriptObject nextJavaScriptObject( boolean useSafeEval ) {
+        int type = peekType();
+        if ( type != TYPE_OBJECT && type != TYPE_ARRAY ) {
+            throw unexpected( "an array or object to evaluate a JavaScriptObject" );
+        }
+        JavaScriptObject result = getObject( container(), currentNames(), position() );
+        advance();
+        return result;
+    }
+
+    private IllegalStateException unexpected( String expected ) {
+        return new IllegalStateException( "Expected " + expected + " but was " + peek() );
+    }
+
+    @Override
+    public String toString() {
+        return "NativeJsonReader";
+    }
+
+    /*
+     * The value at a position is c[names[position >> 1]] for an object and c[position] for an array.
+     */
+
+    private static native int typeOf( JavaScriptObject c, JsArrayString names, int position ) /*-{
+        var v = names ? c[names[position >> 1]] : c[position];
+        if (v === null) {
+            return @com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonReader::TYPE_NULL;
+        }
+        switch (typeof v) {
+            case 'boolean':
+                return @com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonReader::TYPE_BOOLEAN;
+            case 'number':
+                return @com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonReader::TYPE_NUMBER;
+            case 'string':
+                return @com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonReader::TYPE_STRING;
+            default:
+                return Array.isArray(v) ? @com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonReader::TYPE_ARRAY
+                    : @com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonReader::TYPE_OBJECT;
+        }
+    }-*/;
+
+    private static native String getString( JavaScriptObject c, JsArrayString names, int position ) /*-{
+        return names ? c[names[position >> 1]] : c[position];
+    }-*/;
+
+    private static native String getNumberAsString( JavaScriptObject c, JsArrayString names, int position ) /*-{
+        return String(names ? c[names[position >> 1]] : c[position]);
+    }-*/;
+
+    private static native double getNumber( JavaScriptObject c, JsArrayString names, int position ) /*-{
+        return names ? c[names[position >> 1]] : c[position];
+    }-*/;
+
+    private static native boolean getBoolean( JavaScriptObject c, JsArrayString names, int position ) /*-{
+        return names ? c[names[position >> 1]] : c[position];
+    }-*/;
+
+    private static native JavaScriptObject getObject( JavaScriptObject c, JsArrayString names, int position ) /*-{
+        return names ? c[names[position >> 1]] : c[position];
+    }-*/;
+
+    private static native JavaScriptObject wrap( JavaScriptObject c, JsArrayString names, int position ) /*-{
+        return [names ? c[names[position >> 1]] : c[position]];
+    }-*/;
+
+    private static native String stringify( JavaScriptObject c, JsArrayString names, int position ) /*-{
+        return JSON.stringify(names ? c[names[position >> 1]] : c[position]);
+    }-*/;
+
+    private static native JsArrayString keys( JavaScriptObject object ) /*-{
+        return Object.keys(object);
+    }-*/;
+
+    private static native int length( JavaScriptObject array ) /*-{
+        return array.length;
+    }-*/;
+}
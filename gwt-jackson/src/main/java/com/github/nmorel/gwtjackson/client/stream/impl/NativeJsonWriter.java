@@ -0,0 +1,422 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonSerializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+
+/**
+ * {@link JsonWriter} building native JavaScript objects and arrays instead of a String. The output is produced with a single call to the
+ * browser's native {@code JSON.stringify} when {@link #getOutput()} is called. The objects themselves are available with
+ * {@link #getOutputAsJavaScriptObject()}, for example to send them with {@code postMessage} or store them in IndexedDB without any
+ * serialization.
+ * <p>
+ * Numbers are JavaScript numbers so they are written like {@code JSON.stringify} does : integers outside of [-2^53, 2^53] lose precision
+ * and decimals with no fractional part are written without it. Raw values must be valid JSON.
+ * </p>
+ *
+ * @author Nicolas Morel
+ */
+public class NativeJsonWriter implements JsonWriter {
+
+    private static final Logger logger = Logger.getLogger( "JsonWriter" );
+
+    /**
+     * Array containing the top-level values.
+     */
+    private final JavaScriptObject document = JavaScriptObject.createArray();
+
+    /**
+     * The objects and arrays currently written. The first one is {@link #document}.
+     */
+    private final JsArray<JavaScriptObject> containers = JavaScriptObject.createArray().cast();
+
+    private int stackSize = 0;
+
+    {
+        push( document );
+    }
+
+    private String indent;
+
+    private boolean lenient;
+
+    private String deferredName;
+
+    private boolean serializeNulls = true;
+
+    @Override
+    public void setIndent( String indent ) {
+        this.indent = indent.length() == 0 ? null : indent;
+    }
+
+    @Override
+    public void setLenient( boolean lenient ) {
+        this.lenient = lenient;
+    }
+
+    /**
+     * Returns true if this writer has relaxed syntax rules.
+     */
+    public boolean isLenient() {
+        return lenient;
+    }
+
+    @Override
+    public void setSerializeNulls( boolean serializeNulls ) {
+        this.serializeNulls = serializeNulls;
+    }
+
+    @Override
+    public boolean getSerializeNulls() {
+        return serializeNulls;
+    }
+
+    @Override
+    public NativeJsonWriter beginArray() {
+        JavaScriptObject array = JavaScriptObject.createArray();
+        addObject( container(), beforeValue( true ), array );
+        push( array );
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter endArray() {
+        return close( true );
+    }
+
+    @Override
+    public NativeJsonWriter beginObject() {
+        JavaScriptObject object = JavaScriptObject.createObject();
+        addObject( container(), beforeValue( true ), object );
+        push( object );
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter endObject() {
+        return close( false );
+    }
+
+    private void push( JavaScriptObject container ) {
+        containers.set( stackSize++, container );
+    }
+
+    private JavaScriptObject container() {
+        if ( stackSize == 0 ) {
+            throw new IllegalStateException( "JsonWriter is closed." );
+        }
+        return containers.get( stackSize - 1 );
+    }
+
+    private NativeJsonWriter close( boolean array ) {
+        if ( stackSize <= 1 || isArray( container() ) != array ) {
+            throw new IllegalStateException( "Nesting problem." );
+        }
+        if ( deferredName != null ) {
+            throw new IllegalStateException( "Dangling name: " + deferredName );
+        }
+        stackSize--;
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter name( String name ) {
+        if ( name == null ) {
+            throw new NullPointerException( "name == null" );
+        }
+        if ( deferredName != null ) {
+            throw new IllegalStateException();
+        }
+        if ( stackSize == 0 ) {
+            throw new IllegalStateException( "JsonWriter is closed." );
+        }
+        deferredName = name;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * There is no escaping done by this writer so it is the same as {@link #name(String)}.
+     * </p>
+     */
+    @Override
+    public NativeJsonWriter unescapeName( String name ) {
+        return name( name );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The objects are built by this writer so the token is not used.
+     * </p>
+     */
+    @Override
+    public NativeJsonWriter prerenderedName( String name, String token ) {
+        return name( name );
+    }
+
+    /**
+     * Checks the value can be written in the current context and returns the name it should be written with.
+     *
+     * @return the name of the value or null if the value is not in an object
+     */
+    private String beforeValue( boolean root ) {
+        JavaScriptObject container = container();
+        if ( !isArray( container ) ) {
+            if ( deferredName == null ) {
+                throw new IllegalStateException( "Nesting problem." );
+            }
+            String name = deferredName;
+            deferredName = null;
+            return name;
+        }
+
+        if ( deferredName != null ) {
+            throw new IllegalStateException( "Nesting problem." );
+        }
+        if ( stackSize == 1 && !lenient ) {
+            if ( length( document ) > 0 ) {
+                throw new IllegalStateException( "JSON must have only one top-level value." );
+            }
+            if ( !root ) {
+                throw new IllegalStateException( "JSON must start with an array or an object." );
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public NativeJsonWriter value( String value ) {
+        if ( value == null ) {
+            return nullValue();
+        }
+        addString( container(), beforeValue( false ), value );
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * There is no escaping done by this writer so it is the same as {@link #value(String)}.
+     * </p>
+     */
+    @Override
+    public NativeJsonWriter unescapeValue( String value ) {
+        return value( value );
+    }
+
+    @Override
+    public NativeJsonWriter nullValue() {
+        if ( deferredName != null && !serializeNulls ) {
+            deferredName = null;
+            return this; // skip the name and the value
+        }
+        addNull( container(), beforeValue( false ) );
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter cancelName() {
+        deferredName = null;
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter value( boolean value ) {
+        addBoolean( container(), beforeValue( false ), value );
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter value( double value ) {
+        if ( Double.isNaN( value ) || Double.isInfinite( value ) ) {
+            throw new IllegalArgumentException( "Numeric values must be finite, but was " + value );
+        }
+        addNumber( container(), beforeValue( false ), value );
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter value( int value ) {
+        addNumber( container(), beforeValue( false ), value );
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter value( long value ) {
+        addNumber( container(), beforeValue( false ), (double) value );
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter value( Number value ) {
+        if ( value == null ) {
+            return nullValue();
+        }
+        double number = value.doubleValue();
+        if ( !lenient && (Double.isNaN( number ) || Double.isInfinite( number )) ) {
+            throw new IllegalArgumentException( "Numeric values must be finite, but was " + value );
+        }
+        addNumber( container(), beforeValue( false ), number );
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter value( JavaScriptObject value ) {
+        if ( value == null ) {
+            return nullValue();
+        }
+        addObject( container(), beforeValue( false ), value );
+        return this;
+    }
+
+    @Override
+    public NativeJsonWriter rawValue( Object value ) {
+        if ( value == null ) {
+            return nullValue();
+        }
+        addRaw( container(), beforeValue( false ), value.toString() );
+        return this;
+    }
+
+    @Override
+    public void flush() {
+        if ( stackSize == 0 ) {
+            throw new IllegalStateException( "JsonWriter is closed." );
+        }
+    }
+
+    @Override
+    public void close() {
+        if ( stackSize > 1 || stackSize == 1 && length( document ) == 0 ) {
+            logger.log( Level.SEVERE, "Incomplete document" );
+            throw new JsonSerializationException( "Incomplete document" );
+        }
+        stackSize = 0;
+    }
+
+    @Override
+    public String getOutput() {
+        return stringify( document, indent );
+    }
+
+    /**
+     * Returns the top-level object or array written.
+     *
+     * @throws IllegalStateException if the top-level value is not an object or an array
+     */
+    public JavaScriptObject getOutputAsJavaScriptObject() {
+        if ( length( document ) == 0 || !isObject( document ) ) {
+            throw new IllegalStateException( "The top-level value is not an array or an object" );
+        }
+        return getFirst( document );
+    }
+
+    private static native void addString( JavaScriptObject c, String name, String value ) /*-{
+        if (name === null) {
+            c.push(value);
+        } else {
+            c[name] = value;
+        }
+    }-*/;
+
+    private static native void addBoolean( JavaScriptObject c, String name, boolean value ) /*-{
+        if (name === null) {
+            c.push(value);
+        } else {
+            c[name] = value;
+        }
+    }-*/;
+
+    private static native void addNumber( JavaScriptObject c, String name, double value ) /*-{
+        if (name === null) {
+            c.push(value);
+        } else {
+            c[name] = value;
+        }
+    }-*/;
+
+    private static native void addObject( JavaScriptObject c, String name, JavaScriptObject value ) /*-{
+        if (name === null) {
+            c.push(value);
+        } else {
+            c[name] = value;
+        }
+    }-*/;
+
+    private static native void addNull( JavaScriptObject c, String name ) /*-{
+        if (name === null) {
+            c.push(null);
+        } else {
+            c[name] = null;
+        }
+    }-*/;
+
+    private static native void addRaw( JavaScriptObject c, String name, String json ) /*-{
+        var value;
+        try {
+            value = JSON.parse(json);
+        } catch (e) {
+            throw @com.github.nmorel.gwtjackson.client.exception.JsonSerializationException::new(Ljava/lang/String;)("Raw value is not valid JSON: " + json);
+        }
+        if (name === null) {
+            c.push(value);
+        } else {
+            c[name] = value;
+        }
+    }-*/;
+
+    private static native boolean isArray( JavaScriptObject c ) /*-{
+        return Array.isArray(c);
+    }-*/;
+
+    /**
+     * @return true if the first element of the document is an object or an array
+     */
+    private static native boolean isObject( JavaScriptObject document ) /*-{
+        return typeof document[0] === 'object' && document[0] !== null;
+    }-*/;
+
+    private static native JavaScriptObject getFirst( JavaScriptObject document ) /*-{
+        return document[0];
+    }-*/;
+
+    private static native int length( JavaScriptObject array ) /*-{
+        return array.length;
+    }-*/;
+
+    /**
+     * Stringifies each top-level value and concatenates them.
+     */
+    private static native String stringify( JavaScriptObject document, String indent ) /*-{
+        var output = '';
+        for (var i = 0; i < document.length; i++) {
+            if (i > 0) {
+                output += '\n';
+            }
+            output += indent === null ? JSON.stringify(document[i]) : JSON.stringify(document[i], null, indent);
+        }
+        return output;
+    }-*/;
+}
@@ -24,8 +24,8 @@ import java.util.logging.Logger;
 import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
 import com.github.nmorel.gwtjackson.client.stream.JsonToken;
 import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.utils.NumberUtils;
 import com.google.gwt.core.client.JavaScriptObject;
-import com.google.gwt.core.client.JsArrayInteger;
 import com.google.gwt.core.client.JsonUtils;
 
 /**
@@ -222,10 +222,12 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
   private static final int PEEKED_SINGLE_QUOTED_NAME = 12;
   private static final int PEEKED_DOUBLE_QUOTED_NAME = 13;
   private static final int PEEKED_UNQUOTED_NAME = 14;
+  /** When this is returned, the integer value is stored in peekedInt. */
+  private static final int PEEKED_INT = 15;
   /** When this is returned, the integer value is stored in peekedLong. */
-  private static final int PEEKED_LONG = 15;
-  private static final int PEEKED_NUMBER = 16;
-  private static final int PEEKED_EOF = 17;
+  private static final int PEEKED_LONG = 16;
+  private static final int PEEKED_NUMBER = 17;
+  private static final int PEEKED_EOF = 18;
 
   /* State machine when parsing numbers */
   private static final int NUMBER_CHAR_NONE = 0;
@@ -237,12 +239,21 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
   private static final int NUMBER_CHAR_EXP_SIGN = 6;
   private static final int NUMBER_CHAR_EXP_DIGIT = 7;
 
+  /**
+   * Number of quoted strings and names read by all the instances that contained
+   * an escape sequence and could not be returned directly from the input.
+   */
+  private static int escapedStringCount = 0;
+
   /** The input JSON. */
   private final String in;
 
   /** True to accept non-spec compliant JSON */
   private boolean lenient = false;
 
+  /** True once a non-spec compliant syntax has been accepted */
+  private boolean lenientSyntax = false;
+
   private int pos = 0;
   private final int limit;
 
@@ -251,6 +262,13 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
 
   private int peeked = PEEKED_NONE;
 
+  /**
+   * A peeked value that was composed entirely of digits with an optional
+   * leading dash and had at most 9 digits, so it was accumulated without
+   * the emulated long arithmetic. Positive values may not have a leading 0.
+   */
+  private int peekedInt;
+
   /**
    * A peeked value that was composed entirely of digits with an optional
    * leading dash. Positive values may not have a leading 0.
@@ -259,7 +277,8 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
 
   /**
    * The number of characters in a peeked number literal. Increment 'pos' by
-   * this after reading a number.
+   * this after reading a number. For a PEEKED_INT or a PEEKED_LONG, 'pos' has
+   * already been incremented.
    */
   private int peekedNumberLength;
 
@@ -270,10 +289,16 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
    */
   private String peekedString;
 
+  /**
+   * The name consumed by the last call to {@link #nextNameIndex(String[], int)}
+   * that did not find it.
+   */
+  private String unmatchedName;
+
   /*
    * The nesting stack. Using a manual array rather than an ArrayList saves 20%.
    */
-  private JsArrayInteger stack = JsArrayInteger.createArray().cast();
+  private final IntArray stack = IntArray.create(32);
   private int stackSize = 0;
   {
     stack.set(stackSize++, JsonScope.EMPTY_DOCUMENT);
@@ -294,6 +319,23 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     }
   }
 
+  /**
+   * Returns the number of quoted strings and names read by all the instances
+   * since the last {@link #resetEscapedStringCount()} that contained an escape
+   * sequence. They are unescaped into a {@link StringBuilder} instead of being
+   * returned directly as a substring of the input.
+   */
+  public static int getEscapedStringCount() {
+    return escapedStringCount;
+  }
+
+  /**
+   * Resets the count returned by {@link #getEscapedStringCount()}.
+   */
+  public static void resetEscapedStringCount() {
+    escapedStringCount = 0;
+  }
+
   /**
    * Configure this parser to be  be liberal in what it accepts. By default,
    * this parser is strict and only accepts JSON as specified by <a
@@ -439,6 +481,7 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     case PEEKED_UNQUOTED:
     case PEEKED_BUFFERED:
       return JsonToken.STRING;
+    case PEEKED_INT:
     case PEEKED_LONG:
     case PEEKED_NUMBER:
       return JsonToken.NUMBER;
@@ -639,6 +682,11 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
 
   private int peekNumber()
   {
+    // The first digits are accumulated in an int, cheaper than the emulated long in compiled code.
+    int intValue = 0; // Negative to accommodate Integer.MIN_VALUE more easily.
+    // Then in a double as long as it is exact, which covers millisecond timestamps.
+    double doubleValue = 0;
+    int digits = 0;
     long value = 0; // Negative to accommodate Long.MIN_VALUE more easily.
     boolean negative = false;
     boolean fitsInLong = true;
@@ -695,16 +743,30 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
           return PEEKED_NONE;
         }
         if (last == NUMBER_CHAR_SIGN || last == NUMBER_CHAR_NONE) {
-          value = -(c - '0');
+          intValue = -(c - '0');
+          digits = 1;
           last = NUMBER_CHAR_DIGIT;
         } else if (last == NUMBER_CHAR_DIGIT) {
-          if (value == 0) {
-            return PEEKED_NONE; // Leading '0' prefix is not allowed (since it could be octal).
+          if (digits < NumberUtils.MAX_INT_DIGITS) {
+            if (intValue == 0) {
+              return PEEKED_NONE; // Leading '0' prefix is not allowed (since it could be octal).
+            }
+            intValue = intValue * 10 - (c - '0');
+          } else if (digits < NumberUtils.MAX_SAFE_INTEGER_DIGITS) {
+            if (digits == NumberUtils.MAX_INT_DIGITS) {
+              doubleValue = intValue;
+            }
+            doubleValue = doubleValue * 10 - (c - '0');
+          } else {
+            if (digits == NumberUtils.MAX_SAFE_INTEGER_DIGITS) {
+              value = (long) doubleValue;
+            }
+            long newValue = value * 10 - (c - '0');
+            fitsInLong &= value > MIN_INCOMPLETE_INTEGER
+                || (value == MIN_INCOMPLETE_INTEGER && newValue < value);
+            value = newValue;
           }
-          long newValue = value * 10 - (c - '0');
-          fitsInLong &= value > MIN_INCOMPLETE_INTEGER
-              || (value == MIN_INCOMPLETE_INTEGER && newValue < value);
-          value = newValue;
+          digits++;
         } else if (last == NUMBER_CHAR_DECIMAL) {
           last = NUMBER_CHAR_FRACTION_DIGIT;
         } else if (last == NUMBER_CHAR_EXP_E || last == NUMBER_CHAR_EXP_SIGN) {
@@ -713,9 +775,20 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
       }
     }
 
-    // We've read a complete number. Decide if it's a PEEKED_LONG or a PEEKED_NUMBER.
-    if (last == NUMBER_CHAR_DIGIT && fitsInLong && (value != Long.MIN_VALUE || negative)) {
+    // We've read a complete number. Decide if it's a PEEKED_INT, a PEEKED_LONG or a PEEKED_NUMBER.
+    if (last == NUMBER_CHAR_DIGIT && digits <= NumberUtils.MAX_INT_DIGITS) {
+      peekedInt = negative ? intValue : -intValue;
+      peekedNumberLength = i;
+      pos += i;
+      return peeked = PEEKED_INT;
+    } else if (last == NUMBER_CHAR_DIGIT && digits <= NumberUtils.MAX_SAFE_INTEGER_DIGITS) {
+      peekedLong = (long) (negative ? doubleValue : -doubleValue);
+      peekedNumberLength = i;
+      pos += i;
+      return peeked = PEEKED_LONG;
+    } else if (last == NUMBER_CHAR_DIGIT && fitsInLong && (value != Long.MIN_VALUE || negative)) {
       peekedLong = negative ? value : -value;
+      peekedNumberLength = i;
       pos += i;
       return peeked = PEEKED_LONG;
     } else if (last == NUMBER_CHAR_DIGIT || last == NUMBER_CHAR_FRACTION_DIGIT
@@ -775,6 +848,77 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     return result;
   }
 
+  @Override
+  public int nextNameIndex(String[] names, int expected)
+  {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+    if (p == PEEKED_DOUBLE_QUOTED_NAME) {
+      // the name is compared in place if it has no escape sequence
+      int end = pos;
+      while (end < limit) {
+        char c = in.charAt(end);
+        if (c == '"' || c == '\\' || c == '\n') {
+          break;
+        }
+        end++;
+      }
+      if (end < limit && in.charAt(end) == '"') {
+        int index = indexOfName(names, expected, end - pos);
+        if (index < 0) {
+          unmatchedName = nextName();
+        } else {
+          pos = end + 1;
+          peeked = PEEKED_NONE;
+        }
+        return index;
+      }
+    }
+
+    String name = nextName();
+    int n = names.length;
+    for (int i = 0; i < n; i++) {
+      int index = (expected + i) % n;
+      if (names[index].equals(name)) {
+        return index;
+      }
+    }
+    unmatchedName = name;
+    return -1;
+  }
+
+  /**
+   * Returns the index of the name equals to the {@code length} characters at
+   * {@code pos} or -1 if there is none.
+   */
+  private int indexOfName(String[] names, int expected, int length)
+  {
+    int n = names.length;
+    nextName:
+    for (int i = 0; i < n; i++) {
+      int index = (expected + i) % n;
+      String name = names[index];
+      if (name.length() != length) {
+        continue;
+      }
+      for (int j = 0; j < length; j++) {
+        if (in.charAt(pos + j) != name.charAt(j)) {
+          continue nextName;
+        }
+      }
+      return index;
+    }
+    return -1;
+  }
+
+  @Override
+  public String getUnmatchedName()
+  {
+    return unmatchedName;
+  }
+
   @Override
   public String nextString()
   {
@@ -792,8 +936,9 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     } else if (p == PEEKED_BUFFERED) {
       result = peekedString;
       peekedString = null;
-    } else if (p == PEEKED_LONG) {
-      result = Long.toString( peekedLong );
+    } else if (p == PEEKED_INT || p == PEEKED_LONG) {
+      // the literal is returned as is instead of formatting the parsed value
+      result = in.substring( pos - peekedNumberLength, pos );
     } else if (p == PEEKED_NUMBER) {
       result = in.substring( pos, pos + peekedNumberLength);
       pos += peekedNumberLength;
@@ -846,15 +991,28 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
       p = doPeek();
     }
 
+    if (p == PEEKED_INT) {
+      peeked = PEEKED_NONE;
+      return peekedInt;
+    }
+
     if (p == PEEKED_LONG) {
       peeked = PEEKED_NONE;
       return (double) peekedLong;
     }
 
     if (p == PEEKED_NUMBER) {
-      peekedString = in.substring(pos, pos + peekedNumberLength);
+      // the literal has already been validated, no need to go through Double.parseDouble
+      double result = NumberUtils.parseDouble( in, pos, pos + peekedNumberLength );
+      if (!lenient && Double.isInfinite( result )) {
+        throw syntaxError( "JSON forbids NaN and infinities: " + result);
+      }
       pos += peekedNumberLength;
-    } else if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
+      peeked = PEEKED_NONE;
+      return result;
+    }
+
+    if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
       peekedString = nextQuotedValue(p == PEEKED_SINGLE_QUOTED ? '\'' : '"');
     } else if (p == PEEKED_UNQUOTED) {
       peekedString = nextUnquotedValue();
@@ -864,7 +1022,7 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     }
 
     peeked = PEEKED_BUFFERED;
-    double result = Double.parseDouble( peekedString ); // don't catch this NumberFormatException.
+    double result = NumberUtils.parseDouble( peekedString ); // don't catch this NumberFormatException.
     if (!lenient && (Double.isNaN( result ) || Double.isInfinite( result ))) {
       throw syntaxError( "JSON forbids NaN and infinities: " + result);
     }
@@ -881,6 +1039,11 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
       p = doPeek();
     }
 
+    if (p == PEEKED_INT) {
+      peeked = PEEKED_NONE;
+      return peekedInt;
+    }
+
     if (p == PEEKED_LONG) {
       peeked = PEEKED_NONE;
       return peekedLong;
@@ -892,7 +1055,7 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     } else if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
       peekedString = nextQuotedValue(p == PEEKED_SINGLE_QUOTED ? '\'' : '"');
       try {
-        long result = Long.parseLong( peekedString );
+        long result = NumberUtils.parseLong( peekedString );
         peeked = PEEKED_NONE;
         return result;
       } catch (NumberFormatException ignored) {
@@ -904,7 +1067,7 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     }
 
     peeked = PEEKED_BUFFERED;
-    double asDouble = Double.parseDouble( peekedString ); // don't catch this NumberFormatException.
+    double asDouble = NumberUtils.parseDouble( peekedString ); // don't catch this NumberFormatException.
     long result = (long) asDouble;
     if (result != asDouble) { // Make sure no precision was lost casting to 'long'.
       throw new NumberFormatException("Expected a long but was " + peekedString
@@ -927,8 +1090,42 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
    */
   private String nextQuotedValue(char quote)
   {
-    // Like nextNonWhitespace, this uses locals 'p' and 'l' to save inner-loop field access.
-    StringBuilder builder = new StringBuilder();
+    // Most strings have no escape sequence so they are returned directly as a
+    // substring of the input. A builder is only created for the others.
+    int p = pos;
+    int start = p;
+    while (p < limit) {
+      int c = in.charAt(p++);
+
+      if (c == quote) {
+        pos = p;
+        return in.substring(start, p - 1);
+      } else if (c == '\\') {
+        escapedStringCount++;
+        pos = p;
+        StringBuilder builder = new StringBuilder();
+        builder.append(in, start, p - 1);
+        builder.append(readEscapeCharacter());
+        return nextEscapedQuotedValue(quote, builder);
+      } else if (c < ' ') {
+        // control characters must be escaped in JSON
+        lenientSyntax = true;
+        if (c == '\n') {
+          lineNumber++;
+          lineStart = p;
+        }
+      }
+    }
+
+    throw syntaxError("Unterminated string");
+  }
+
+  /**
+   * Continues {@link #nextQuotedValue(char)} once an escape sequence has been
+   * found, appending the rest of the string to {@code builder}.
+   */
+  private String nextEscapedQuotedValue(char quote, StringBuilder builder)
+  {
     int p = pos;
     /* the index of the first character not yet appended to the builder. */
     int start = p;
@@ -937,17 +1134,21 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
 
       if (c == quote) {
         pos = p;
-        builder.append(in.substring(start, p - 1));
+        builder.append(in, start, p - 1);
         return builder.toString();
       } else if (c == '\\') {
         pos = p;
-        builder.append(in.substring(start, p - 1));
+        builder.append(in, start, p - 1);
         builder.append(readEscapeCharacter());
         p = pos;
         start = p;
-      } else if (c == '\n') {
-        lineNumber++;
-        lineStart = p;
+      } else if (c < ' ') {
+        // control characters must be escaped in JSON
+        lenientSyntax = true;
+        if (c == '\n') {
+          lineNumber++;
+          lineStart = p;
+        }
       }
     }
 
@@ -991,24 +1192,36 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     return result;
   }
 
-  private void skipQuotedValue(char quote)
+  /**
+   * Skips the string up to and including {@code quote}. The opening quote
+   * should have already been read.
+   *
+   * @return true if the string contains at least one escape sequence
+   */
+  private boolean skipQuotedValue(char quote)
   {
     // Like nextNonWhitespace, this uses locals 'p' and 'l' to save inner-loop field access.
     int p = pos;
     int l = limit;
+    boolean escaped = false;
     /* the index of the first character not yet appended to the builder. */
     while (p < l) {
       int c = in.charAt(p++);
       if (c == quote) {
         pos = p;
-        return;
+        return escaped;
       } else if (c == '\\') {
+        escaped = true;
         pos = p;
         readEscapeCharacter();
         p = pos;
-      } else if (c == '\n') {
-        lineNumber++;
-        lineStart = p;
+      } else if (c < ' ') {
+        // control characters must be escaped in JSON
+        lenientSyntax = true;
+        if (c == '\n') {
+          lineNumber++;
+          lineStart = p;
+        }
       }
     }
     throw syntaxError("Unterminated string");
@@ -1051,6 +1264,11 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
       p = doPeek();
     }
 
+    if (p == PEEKED_INT) {
+      peeked = PEEKED_NONE;
+      return peekedInt;
+    }
+
     int result;
     if (p == PEEKED_LONG) {
       result = (int) peekedLong;
@@ -1080,7 +1298,7 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     }
 
     peeked = PEEKED_BUFFERED;
-    double asDouble = Double.parseDouble( peekedString ); // don't catch this NumberFormatException.
+    double asDouble = NumberUtils.parseDouble( peekedString ); // don't catch this NumberFormatException.
     result = (int) asDouble;
     if (result != asDouble) { // Make sure no precision was lost casting to 'int'.
       throw new NumberFormatException("Expected an int but was " + peekedString
@@ -1134,6 +1352,88 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     } while (count != 0);
   }
 
+  @Override
+  public void skipRawValue()
+  {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+    if (p != PEEKED_BEGIN_ARRAY && p != PEEKED_BEGIN_OBJECT) {
+      skipValue();
+      return;
+    }
+    peeked = PEEKED_NONE;
+
+    // the opening bracket has already been consumed by doPeek
+    int depth = 1;
+    while (pos < limit) {
+      char c = in.charAt(pos++);
+      switch (c) {
+      case '{':
+      case '[':
+        depth++;
+        break;
+      case '}':
+      case ']':
+        if (--depth == 0) {
+          return;
+        }
+        break;
+      case '"':
+      case '\'':
+        skipRawQuotedValue(c);
+        break;
+      case '/':
+        if (pos < limit) {
+          char next = in.charAt(pos);
+          if (next == '*') {
+            pos++;
+            if (!skipTo("*/")) {
+              throw syntaxError("Unterminated comment");
+            }
+            pos += 2;
+          } else if (next == '/') {
+            pos++;
+            skipToEndOfLine();
+          }
+        }
+        break;
+      case '#':
+        skipToEndOfLine();
+        break;
+      case '\n':
+        lineNumber++;
+        lineStart = pos;
+        break;
+      }
+    }
+    throw syntaxError(p == PEEKED_BEGIN_ARRAY ? "Unterminated array" : "Unterminated object");
+  }
+
+  /**
+   * Jumps over a quoted string without decoding its escape sequences.
+   */
+  private void skipRawQuotedValue(char quote)
+  {
+    int p = pos;
+    int l = limit;
+    while (p < l) {
+      char c = in.charAt(p++);
+      if (c == quote) {
+        pos = p;
+        return;
+      } else if (c == '\\') {
+        p++;
+      } else if (c == '\n') {
+        lineNumber++;
+        lineStart = p;
+      }
+    }
+    pos = l;
+    throw syntaxError("Unterminated string");
+  }
+
   private void push(int newTop) {
     stack.set(stackSize++, newTop);
   }
@@ -1237,6 +1537,7 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     if (!lenient) {
       throw syntaxError("Use JsonReader.setLenient(true) to accept malformed JSON");
     }
+    lenientSyntax = true;
   }
 
   /**
@@ -1339,15 +1640,20 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     case 'f':
       return '\f';
 
+    case '"':
+    case '\\':
+    case '/':
+      return escaped;
+
     case '\n':
       lineNumber++;
       lineStart = pos;
       // fall-through
 
     case '\'':
-    case '"':
-    case '\\':
     default:
+      // not a JSON escape sequence, a strict parser would reject the raw input
+      lenientSyntax = true;
       return escaped;
     }
   }
@@ -1391,6 +1697,72 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     return in;
   }
 
+  @Override
+  public com.github.nmorel.gwtjackson.client.stream.JsonReader bufferValue()
+  {
+    // each value has its own buffer so its tokens are released with the replaying reader
+    TokenBuffer tokens = new TokenBuffer(getInput());
+    lenientSyntax = false;
+
+    int count = 0;
+    do {
+      int p = peeked;
+      if (p == PEEKED_NONE) {
+        p = doPeek();
+      }
+
+      if (p == PEEKED_BEGIN_ARRAY) {
+        push(JsonScope.EMPTY_ARRAY);
+        count++;
+        tokens.add(TokenBuffer.BEGIN_ARRAY, pos - 1, pos);
+      } else if (p == PEEKED_BEGIN_OBJECT) {
+        push(JsonScope.EMPTY_OBJECT);
+        count++;
+        tokens.add(TokenBuffer.BEGIN_OBJECT, pos - 1, pos);
+      } else if (p == PEEKED_END_ARRAY) {
+        stackSize--;
+        count--;
+        tokens.add(TokenBuffer.END_ARRAY, pos - 1, pos);
+      } else if (p == PEEKED_END_OBJECT) {
+        stackSize--;
+        count--;
+        tokens.add(TokenBuffer.END_OBJECT, pos - 1, pos);
+      } else if (p == PEEKED_UNQUOTED_NAME || p == PEEKED_UNQUOTED) {
+        int start = pos;
+        skipUnquotedValue();
+        tokens.add(p == PEEKED_UNQUOTED_NAME ? TokenBuffer.NAME : TokenBuffer.STRING, start, pos);
+      } else if (p == PEEKED_SINGLE_QUOTED_NAME || p == PEEKED_DOUBLE_QUOTED_NAME) {
+        int start = pos - 1;
+        boolean escaped = skipQuotedValue(p == PEEKED_SINGLE_QUOTED_NAME ? '\'' : '"');
+        tokens.add(TokenBuffer.NAME | TokenBuffer.QUOTED | (escaped ? TokenBuffer.ESCAPED : 0), start, pos);
+      } else if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
+        int start = pos - 1;
+        boolean escaped = skipQuotedValue(p == PEEKED_SINGLE_QUOTED ? '\'' : '"');
+        tokens.add(TokenBuffer.STRING | TokenBuffer.QUOTED | (escaped ? TokenBuffer.ESCAPED : 0), start, pos);
+      } else if (p == PEEKED_NUMBER) {
+        tokens.add(TokenBuffer.NUMBER, pos, pos + peekedNumberLength);
+        pos += peekedNumberLength;
+      } else if (p == PEEKED_INT || p == PEEKED_LONG) {
+        tokens.add(TokenBuffer.NUMBER, pos - peekedNumberLength, pos);
+      } else if (p == PEEKED_TRUE) {
+        tokens.add(TokenBuffer.TRUE, pos, pos);
+      } else if (p == PEEKED_FALSE) {
+        tokens.add(TokenBuffer.FALSE, pos, pos);
+      } else if (p == PEEKED_NULL) {
+        tokens.add(TokenBuffer.NULL, pos, pos);
+      } else if (p == PEEKED_BUFFERED) {
+        tokens.addLiteral(TokenBuffer.STRING, peekedString);
+        peekedString = null;
+      }
+      peeked = PEEKED_NONE;
+    } while (count != 0);
+
+    if (lenientSyntax) {
+      tokens.setLenientSyntax();
+    }
+    return new TokenBufferJsonReader(tokens, 0, tokens.size());
+  }
+
   @Override
   public String nextValue()
   {
@@ -1399,13 +1771,83 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
       p = doPeek();
     }
 
+    if (p == PEEKED_BUFFERED) {
+      // the value has already been decoded, we have to write it again
+      return writeValue();
+    }
+
+    lenientSyntax = p == PEEKED_SINGLE_QUOTED || p == PEEKED_UNQUOTED;
+    String value = nextRawValue();
+    if (!lenientSyntax) {
+      return value;
+    }
+
+    // the value contains syntax only accepted by a lenient reader, we write it again as valid JSON
+    NonBufferedJsonReader reader = new NonBufferedJsonReader(value);
+    reader.setLenient(true);
+    return reader.writeValue();
+  }
+
+  @Override
+  public String nextRawValue()
+  {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+
+    int start;
+    switch (p) {
+    case PEEKED_NULL:
+      peeked = PEEKED_NONE;
+      return "null";
+    case PEEKED_TRUE:
+      peeked = PEEKED_NONE;
+      return "true";
+    case PEEKED_FALSE:
+      peeked = PEEKED_NONE;
+      return "false";
+    case PEEKED_BUFFERED:
+      return writeValue();
+    case PEEKED_BEGIN_OBJECT:
+    case PEEKED_BEGIN_ARRAY:
+    case PEEKED_SINGLE_QUOTED:
+    case PEEKED_DOUBLE_QUOTED:
+      start = pos - 1;
+      break;
+    case PEEKED_INT:
+    case PEEKED_LONG:
+      start = pos - peekedNumberLength;
+      break;
+    case PEEKED_UNQUOTED:
+    case PEEKED_NUMBER:
+      start = pos;
+      break;
+    default:
+      throw new IllegalStateException("Expected a value but was " + peek()
+          + " at line " + getLineNumber() + " column " + getColumnNumber());
+    }
+
+    skipValue();
+    return getInput().substring(start, pos);
+  }
+
+  /**
+   * Reads the next value recursively and writes it as a String with a
+   * {@link JsonWriter}.
+   */
+  private String writeValue()
+  {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+
     if(p == PEEKED_NULL) {
       peeked = PEEKED_NONE;
       return "null";
     }
 
-    // TODO rewrite to avoid using a JsonWriter
-    // we should be able to write the tree without escaping/unescaping
     JsonWriter writer = new FastJsonWriter( new StringBuilder() );
     writer.setLenient( true );
 
@@ -1451,6 +1893,8 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
         writer.value( true );
       } else if (p == PEEKED_FALSE) {
         writer.value( false );
+      } else if (p == PEEKED_INT) {
+        writer.value( peekedInt );
       } else if (p == PEEKED_LONG) {
         writer.value( peekedLong );
       } else if (p == PEEKED_BUFFERED) {
@@ -1474,6 +1918,11 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
       p = doPeek();
     }
 
+    if (p == PEEKED_INT) {
+      peeked = PEEKED_NONE;
+      return peekedInt;
+    }
+
     Number result;
     if (p == PEEKED_LONG) {
       if (peekedLong < 0l) {
@@ -1494,13 +1943,10 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     }
 
     if (p == PEEKED_NUMBER) {
-      peekedString = in.substring(pos, pos + peekedNumberLength);
+      int start = pos;
       pos += peekedNumberLength;
-      peeked = PEEKED_BUFFERED;
-      result = Double.parseDouble( peekedString );
-      peekedString = null;
       peeked = PEEKED_NONE;
-      return result;
+      return NumberUtils.parseDouble( in, start, pos );
     }
 
     if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
@@ -1515,7 +1961,7 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
     peeked = PEEKED_BUFFERED;
     if (peekedString.contains( "." )) {
       // decimal
-      double resultDouble = Double.parseDouble( peekedString ); // don't catch this NumberFormatException.
+      double resultDouble = NumberUtils.parseDouble( peekedString ); // don't catch this NumberFormatException.
       if (!lenient && (Double.isNaN( resultDouble ) || Double.isInfinite( resultDouble ))) {
         throw syntaxError( "JSON forbids NaN and infinities: " + resultDouble);
       }
@@ -1585,8 +2031,18 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
         pos = toEval.length();
         peeked = PEEKED_NONE;
       } else {
-        String toEval = nextValue();
-        result = useSafeEval ? JsonUtils.safeEval( toEval ) : JsonUtils.unsafeEval( toEval );
+        lenientSyntax = false;
+        String toEval = nextRawValue();
+        if (lenientSyntax) {
+          // the value contains syntax only accepted by a lenient reader, we write it again as valid JSON
+          NonBufferedJsonReader reader = new NonBufferedJsonReader(toEval);
+          reader.setLenient(true);
+          toEval = reader.writeValue();
+          result = useSafeEval ? JsonUtils.safeEval( toEval ) : JsonUtils.unsafeEval( toEval );
+        } else {
+          // the value has already been validated by this reader, we give it directly to the native parser
+          result = parse( toEval );
+        }
       }
       return result;
     default:
@@ -1594,5 +2050,9 @@ public class NonBufferedJsonReader implements com.github.nmorel.gwtjackson.clien
           + " at line " + getLineNumber() + " column " + getColumnNumber());
     }
   }
+
+  private static native JavaScriptObject parse( String json ) /*-{
+    return JSON.parse(json);
+  }-*/;
 }
 //@formatter:on
\ No newline at end of file
@@ -0,0 +1,1273 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import java.math.BigInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.utils.NumberUtils;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsonUtils;
+
+/**
+ * {@link JsonReader} only accepting JSON as specified by <a href="https://tools.ietf.org/html/rfc8259">RFC 8259</a>.
+ * <p>
+ * It reads the input the same way as {@link NonBufferedJsonReader} but its state machine only knows the standard syntax : there is no
+ * comment, non-execute prefix, single quoted or unquoted string, alternative separator or multiple top-level values to look for on each
+ * token. In return :
+ * <ul>
+ * <li>{@link #setLenient(boolean) lenient parsing} is not supported</li>
+ * <li>strings cannot contain unescaped control characters and only the escape sequences defined by the RFC are accepted</li>
+ * <li>numbers must follow the JSON grammar, without leading zeros, missing digits or leading '+'</li>
+ * <li>the literals must be in lower case</li>
+ * </ul>
+ * Like the RFC, the top-level value can be of any type and a leading byte order mark is ignored.
+ * </p>
+ *
+ * @author Nicolas Morel
+ */
+public class StrictJsonReader implements JsonReader {
+
+    private static final Logger logger = Logger.getLogger( "JsonReader" );
+
+    private static final long MIN_INCOMPLETE_INTEGER = Long.MIN_VALUE / 10;
+
+    private static final long MIN_INT_L = (long) Integer.MIN_VALUE;
+
+    private static final long MAX_INT_L = (long) Integer.MAX_VALUE;
+
+    private static final BigInteger MIN_LONG_BIGINTEGER = new BigInteger( "" + Long.MIN_VALUE );
+
+    private static final BigInteger MAX_LONG_BIGINTEGER = new BigInteger( "" + Long.MAX_VALUE );
+
+    private static final int PEEKED_NONE = 0;
+
+    private static final int PEEKED_BEGIN_OBJECT = 1;
+
+    private static final int PEEKED_END_OBJECT = 2;
+
+    private static final int PEEKED_BEGIN_ARRAY = 3;
+
+    private static final int PEEKED_END_ARRAY = 4;
+
+    private static final int PEEKED_TRUE = 5;
+
+    private static final int PEEKED_FALSE = 6;
+
+    private static final int PEEKED_NULL = 7;
+
+    private static final int PEEKED_QUOTED = 8;
+
+    /**
+     * When this is returned, the string value is stored in {@link #peekedString}.
+     */
+    private static final int PEEKED_BUFFERED = 9;
+
+    private static final int PEEKED_QUOTED_NAME = 10;
+
+    /**
+     * When this is returned, the integer value is stored in {@link #peekedInt}.
+     */
+    private static final int PEEKED_INT = 11;
+
+    /**
+     * When this is returned, the integer value is stored in {@link #peekedLong}.
+     */
+    private static final int PEEKED_LONG = 12;
+
+    private static final int PEEKED_NUMBER = 13;
+
+    private static final int PEEKED_EOF = 14;
+
+    private final String in;
+
+    private final int limit;
+
+    private int pos = 0;
+
+    private int lineNumber = 0;
+
+    private int lineStart = 0;
+
+    private int peeked = PEEKED_NONE;
+
+    /**
+     * A peeked integer of at most {@link NumberUtils#MAX_INT_DIGITS} digits, accumulated without the emulated long arithmetic.
+     */
+    private int peekedInt;
+
+    /**
+     * A peeked integer that fits in a long.
+     */
+    private long peekedLong;
+
+    /**
+     * The number of characters in a peeked number. For a {@link #PEEKED_NUMBER}, {@link #pos} is still at its first character. For a
+     * {@link #PEEKED_INT} or a {@link #PEEKED_LONG}, it has already been moved after the last one.
+     */
+    private int peekedNumberLength;
+
+    /**
+     * A peeked string that should be parsed on the next double, long or string. This is populated before a numeric value is parsed and
+     * used if that parsing fails.
+     */
+    private String peekedString;
+
+    /**
+     * The name consumed by the last call to {@link #nextNameIndex(String[], int)} that did not find it.
+     */
+    private String unmatchedName;
+
+    private final IntArray stack = IntArray.create( 32 );
+
+    private int stackSize = 0;
+
+    public StrictJsonReader( String in ) {
+        if ( in == null ) {
+            throw new NullPointerException( "in == null" );
+        }
+        this.in = in;
+        this.limit = in.length();
+        if ( limit > 0 && in.charAt( 0 ) == '\ufeff' ) {
+            pos++;
+            lineStart++;
+        }
+        stack.set( stackSize++, JsonScope.EMPTY_DOCUMENT );
+    }
+
+    /**
+     * This reader is always strict.
+     *
+     * @throws IllegalArgumentException if {@code lenient} is true
+     */
+    @Override
+    public void setLenient( boolean lenient ) {
+        if ( lenient ) {
+            throw new IllegalArgumentException( "StrictJsonReader does not support lenient parsing" );
+        }
+    }
+
+    @Override
+    public void beginArray() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        if ( p != PEEKED_BEGIN_ARRAY ) {
+            throw unexpected( "BEGIN_ARRAY" );
+        }
+        push( JsonScope.EMPTY_ARRAY );
+        peeked = PEEKED_NONE;
+    }
+
+    @Override
+    public void endArray() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        if ( p != PEEKED_END_ARRAY ) {
+            throw unexpected( "END_ARRAY" );
+        }
+        stackSize--;
+        peeked = PEEKED_NONE;
+    }
+
+    @Override
+    public void beginObject() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        if ( p != PEEKED_BEGIN_OBJECT ) {
+            throw unexpected( "BEGIN_OBJECT" );
+        }
+        push( JsonScope.EMPTY_OBJECT );
+        peeked = PEEKED_NONE;
+    }
+
+    @Override
+    public void endObject() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        if ( p != PEEKED_END_OBJECT ) {
+            throw unexpected( "END_OBJECT" );
+        }
+        stackSize--;
+        peeked = PEEKED_NONE;
+    }
+
+    @Override
+    public boolean hasNext() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        return p != PEEKED_END_OBJECT && p != PEEKED_END_ARRAY;
+    }
+
+    @Override
+    public JsonToken peek() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+
+        switch ( p ) {
+            case PEEKED_BEGIN_OBJECT:
+                return JsonToken.BEGIN_OBJECT;
+            case PEEKED_END_OBJECT:
+                return JsonToken.END_OBJECT;
+            case PEEKED_BEGIN_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case PEEKED_END_ARRAY:
+                return JsonToken.END_ARRAY;
+            case PEEKED_QUOTED_NAME:
+                return JsonToken.NAME;
+            case PEEKED_TRUE:
+            case PEEKED_FALSE:
+                return JsonToken.BOOLEAN;
+            case PEEKED_NULL:
+                return JsonToken.NULL;
+            case PEEKED_QUOTED:
+            case PEEKED_BUFFERED:
+                return JsonToken.STRING;
+            case PEEKED_INT:
+            case PEEKED_LONG:
+            case PEEKED_NUMBER:
+                return JsonToken.NUMBER;
+            case PEEKED_EOF:
+                return JsonToken.END_DOCUMENT;
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    private int doPeek() {
+        int peekStack = stack.get( stackSize - 1 );
+        int c;
+        switch ( peekStack ) {
+            case JsonScope.EMPTY_ARRAY:
+                stack.set( stackSize - 1, JsonScope.NONEMPTY_ARRAY );
+                c = nextNonWhitespace( true );
+                if ( c == ']' ) {
+                    return peeked = PEEKED_END_ARRAY;
+                }
+                break;
+
+            case JsonScope.NONEMPTY_ARRAY:
+                c = nextNonWhitespace( true );
+                if ( c == ']' ) {
+                    return peeked = PEEKED_END_ARRAY;
+                }
+                if ( c != ',' ) {
+                    throw syntaxError( "Unterminated array" );
+                }
+                c = nextNonWhitespace( true );
+                break;
+
+            case JsonScope.EMPTY_OBJECT:
+            case JsonScope.NONEMPTY_OBJECT:
+                stack.set( stackSize - 1, JsonScope.DANGLING_NAME );
+                c = nextNonWhitespace( true );
+                if ( c == '}' ) {
+                    return peeked = PEEKED_END_OBJECT;
+                }
+                if ( peekStack == JsonScope.NONEMPTY_OBJECT ) {
+                    if ( c != ',' ) {
+                        throw syntaxError( "Unterminated object" );
+                    }
+                    c = nextNonWhitespace( true );
+                }
+                if ( c != '"' ) {
+                    throw syntaxError( "Expected name" );
+                }
+                return peeked = PEEKED_QUOTED_NAME;
+
+            case JsonScope.DANGLING_NAME:
+                stack.set( stackSize - 1, JsonScope.NONEMPTY_OBJECT );
+                if ( nextNonWhitespace( true ) != ':' ) {
+                    throw syntaxError( "Expected ':'" );
+                }
+                c = nextNonWhitespace( true );
+                break;
+
+            case JsonScope.EMPTY_DOCUMENT:
+                stack.set( stackSize - 1, JsonScope.NONEMPTY_DOCUMENT );
+                c = nextNonWhitespace( true );
+                break;
+
+            case JsonScope.NONEMPTY_DOCUMENT:
+                if ( nextNonWhitespace( false ) == -1 ) {
+                    return peeked = PEEKED_EOF;
+                }
+                throw syntaxError( "Expected end of input" );
+
+            case JsonScope.CLOSED:
+                throw new IllegalStateException( "JsonReader is closed" );
+
+            default:
+                throw new AssertionError();
+        }
+
+        switch ( c ) {
+            case '"':
+                return peeked = PEEKED_QUOTED;
+            case '[':
+                return peeked = PEEKED_BEGIN_ARRAY;
+            case '{':
+                return peeked = PEEKED_BEGIN_OBJECT;
+            case 't':
+                return peekKeyword( "true", PEEKED_TRUE );
+            case 'f':
+                return peekKeyword( "false", PEEKED_FALSE );
+            case 'n':
+                return peekKeyword( "null", PEEKED_NULL );
+            default:
+                pos--; // the first character is part of the number
+                return peekNumber();
+        }
+    }
+
+    /**
+     * Matches the rest of the keyword, its first character has already been consumed. The character following it is checked by the next
+     * call to {@link #doPeek()}.
+     */
+    private int peekKeyword( String keyword, int peeking ) {
+        if ( !in.startsWith( keyword, pos - 1 ) ) {
+            pos--;
+            throw syntaxError( "Expected value" );
+        }
+        pos += keyword.length() - 1;
+        return peeked = peeking;
+    }
+
+    /**
+     * Matches a number following the JSON grammar. The character following it is checked by the next call to {@link #doPeek()}, a number
+     * directly followed by a digit or a letter is rejected there.
+     */
+    private int peekNumber() {
+        int p = pos;
+        int l = limit;
+        // The first digits are accumulated in an int, cheaper than the emulated long in compiled code. Then in a double as long as it is
+        // exact, which covers millisecond timestamps, and only the longer integers go through the long arithmetic.
+        int intValue = 0; // Negative to accommodate Integer.MIN_VALUE more easily.
+        double doubleValue = 0;
+        long value = 0; // Negative to accommodate Long.MIN_VALUE more easily.
+        int digits = 1;
+        boolean negative = false;
+        boolean fitsInLong = true;
+
+        if ( p < l && in.charAt( p ) == '-' ) {
+            negative = true;
+            p++;
+        }
+        if ( p == l ) {
+            throw syntaxError( "Expected value" );
+        }
+
+        char c = in.charAt( p );
+        if ( c == '0' ) {
+            p++;
+        } else if ( c >= '1' && c <= '9' ) {
+            intValue = -(c - '0');
+            p++;
+            while ( p < l && (c = in.charAt( p )) >= '0' && c <= '9' ) {
+                if ( digits < NumberUtils.MAX_INT_DIGITS ) {
+                    intValue = intValue * 10 - (c - '0');
+                } else if ( digits < NumberUtils.MAX_SAFE_INTEGER_DIGITS ) {
+                    if ( digits == NumberUtils.MAX_INT_DIGITS ) {
+                        doubleValue = intValue;
+                    }
+                    doubleValue = doubleValue * 10 - (c - '0');
+                } else {
+                    if ( digits == NumberUtils.MAX_SAFE_INTEGER_DIGITS ) {
+                        value = (long) doubleValue;
+                    }
+                    long newValue = value * 10 - (c - '0');
+                    fitsInLong &= value > MIN_INCOMPLETE_INTEGER || (value == MIN_INCOMPLETE_INTEGER && newValue < value);
+                    value = newValue;
+                }
+                digits++;
+                p++;
+            }
+        } else {
+            throw syntaxError( "Expected value" );
+        }
+
+        boolean integer = true;
+        if ( p < l && in.charAt( p ) == '.' ) {
+            integer = false;
+            p = skipDigits( p + 1 );
+        }
+        if ( p < l && ((c = in.charAt( p )) == 'e' || c == 'E') ) {
+            integer = false;
+            p++;
+            if ( p < l && ((c = in.charAt( p )) == '+' || c == '-') ) {
+                p++;
+            }
+            p = skipDigits( p );
+        }
+
+        peekedNumberLength = p - pos;
+        if ( integer && digits <= NumberUtils.MAX_INT_DIGITS ) {
+            peekedInt = negative ? intValue : -intValue;
+            pos = p;
+            return peeked = PEEKED_INT;
+        } else if ( integer && digits <= NumberUtils.MAX_SAFE_INTEGER_DIGITS ) {
+            peekedLong = (long) (negative ? doubleValue : -doubleValue);
+            pos = p;
+            return peeked = PEEKED_LONG;
+        } else if ( integer && fitsInLong && (value != Long.MIN_VALUE || negative) ) {
+            peekedLong = negative ? value : -value;
+            pos = p;
+            return peeked = PEEKED_LONG;
+        } else {
+            return peeked = PEEKED_NUMBER;
+        }
+    }
+
+    /**
+     * Skips at least one digit starting at the given index and returns the index of the first character that is not a digit.
+     */
+    private int skipDigits( int p ) {
+        int start = p;
+        char c;
+        while ( p < limit && (c = in.charAt( p )) >= '0' && c <= '9' ) {
+            p++;
+        }
+        if ( p == start ) {
+            pos = p;
+            throw syntaxError( "Expected digit" );
+        }
+        return p;
+    }
+
+    @Override
+    public String nextName() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        if ( p != PEEKED_QUOTED_NAME ) {
+            throw unexpected( "a name" );
+        }
+        String result = nextQuotedValue();
+        peeked = PEEKED_NONE;
+        return result;
+    }
+
+    @Override
+    public int nextNameIndex( String[] names, int expected ) {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        if ( p == PEEKED_QUOTED_NAME ) {
+            // the name is compared in place if it has no escape sequence
+            int end = pos;
+            while ( end < limit ) {
+                char c = in.charAt( end );
+                if ( c == '"' || c == '\\' || c < 0x20 ) {
+                    break;
+                }
+                end++;
+            }
+            if ( end < limit && in.charAt( end ) == '"' ) {
+                int index = indexOfName( names, expected, end - pos );
+                if ( index < 0 ) {
+                    unmatchedName = in.substring( pos, end );
+                }
+                pos = end + 1;
+                peeked = PEEKED_NONE;
+                return index;
+            }
+        }
+
+        String name = nextName();
+        int n = names.length;
+        for ( int i = 0; i < n; i++ ) {
+            int index = (expected + i) % n;
+            if ( names[index].equals( name ) ) {
+                return index;
+            }
+        }
+        unmatchedName = name;
+        return -1;
+    }
+
+    /**
+     * Returns the index of the name equals to the {@code length} characters at {@link #pos} or -1 if there is none.
+     */
+    private int indexOfName( String[] names, int expected, int length ) {
+        int n = names.length;
+        nextName:
+        for ( int i = 0; i < n; i++ ) {
+            int index = (expected + i) % n;
+            String name = names[index];
+            if ( name.length() != length ) {
+                continue;
+            }
+            for ( int j = 0; j < length; j++ ) {
+                if ( in.charAt( pos + j ) != name.charAt( j ) ) {
+                    continue nextName;
+                }
+            }
+            return index;
+        }
+        return -1;
+    }
+
+    @Override
+    public String getUnmatchedName() {
+        return unmatchedName;
+    }
+
+    @Override
+    public String nextString() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        String result;
+        if ( p == PEEKED_QUOTED ) {
+            result = nextQuotedValue();
+        } else if ( p == PEEKED_BUFFERED ) {
+            result = peekedString;
+            peekedString = null;
+        } else if ( p == PEEKED_INT || p == PEEKED_LONG ) {
+            // the literal is returned as is instead of formatting the parsed value
+            result = in.substring( pos - peekedNumberLength, pos );
+        } else if ( p == PEEKED_NUMBER ) {
+            result = nextNumberString();
+        } else {
+            throw unexpected( "a string" );
+        }
+        peeked = PEEKED_NONE;
+        return result;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        if ( p == PEEKED_TRUE ) {
+            peeked = PEEKED_NONE;
+            return true;
+        } else if ( p == PEEKED_FALSE ) {
+            peeked = PEEKED_NONE;
+            return false;
+        }
+        throw unexpected( "a boolean" );
+    }
+
+    @Override
+    public void nextNull() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        if ( p != PEEKED_NULL ) {
+            throw unexpected( "null" );
+        }
+        peeked = PEEKED_NONE;
+    }
+
+    @Override
+    public double nextDouble() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+
+        if ( p == PEEKED_INT ) {
+            peeked = PEEKED_NONE;
+            return peekedInt;
+        }
+
+        if ( p == PEEKED_LONG ) {
+            peeked = PEEKED_NONE;
+            return (double) peekedLong;
+        }
+
+        if ( p == PEEKED_NUMBER ) {
+            // the literal has already been validated, it is parsed directly from the input
+            double result = NumberUtils.parseDouble( in, pos, pos + peekedNumberLength );
+            pos += peekedNumberLength;
+            peeked = PEEKED_NONE;
+            return result;
+        }
+
+        if ( p == PEEKED_QUOTED ) {
+            peekedString = nextQuotedValue();
+        } else if ( p != PEEKED_BUFFERED ) {
+            throw unexpected( "a double" );
+        }
+
+        peeked = PEEKED_BUFFERED;
+        double result = NumberUtils.parseDouble( peekedString ); // don't catch this NumberFormatException.
+        peekedString = null;
+        peeked = PEEKED_NONE;
+        return result;
+    }
+
+    @Override
+    public long nextLong() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+
+        if ( p == PEEKED_INT ) {
+            peeked = PEEKED_NONE;
+            return peekedInt;
+        }
+
+        if ( p == PEEKED_LONG ) {
+            peeked = PEEKED_NONE;
+            return peekedLong;
+        }
+
+        if ( p == PEEKED_NUMBER ) {
+            int start = pos;
+            pos += peekedNumberLength;
+            double asDouble = NumberUtils.parseDouble( in, start, pos );
+            long result = (long) asDouble;
+            if ( result == asDouble ) {
+                peeked = PEEKED_NONE;
+                return result;
+            }
+            // buffered so the literal can still be read as a string
+            peekedString = in.substring( start, pos );
+            peeked = PEEKED_BUFFERED;
+            throw new NumberFormatException( "Expected a long but was " + peekedString + " at line " + getLineNumber() + " column " +
+                    getColumnNumber() );
+        }
+
+        if ( p == PEEKED_QUOTED ) {
+            peekedString = nextQuotedValue();
+            try {
+                long result = NumberUtils.parseLong( peekedString );
+                peekedString = null;
+                peeked = PEEKED_NONE;
+                return result;
+            } catch ( NumberFormatException ignored ) {
+                // Fall back to parse as a double below.
+            }
+        } else if ( p != PEEKED_BUFFERED ) {
+            throw unexpected( "a long" );
+        }
+
+        peeked = PEEKED_BUFFERED;
+        double asDouble = NumberUtils.parseDouble( peekedString ); // don't catch this NumberFormatException.
+        long result = (long) asDouble;
+        if ( result != asDouble ) { // Make sure no precision was lost casting to 'long'.
+            throw new NumberFormatException( "Expected a long but was " + peekedString + " at line " + getLineNumber() + " column " +
+                    getColumnNumber() );
+        }
+        peekedString = null;
+        peeked = PEEKED_NONE;
+        return result;
+    }
+
+    @Override
+    public int nextInt() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+
+        if ( p == PEEKED_INT ) {
+            peeked = PEEKED_NONE;
+            return peekedInt;
+        }
+
+        int result;
+        if ( p == PEEKED_LONG ) {
+            result = (int) peekedLong;
+            if ( peekedLong != result ) { // Make sure no precision was lost casting to 'int'.
+                throw new NumberFormatException( "Expected an int but was " + peekedLong + " at line " + getLineNumber() + " column " +
+                        getColumnNumber() );
+            }
+            peeked = PEEKED_NONE;
+            return result;
+        }
+
+        if ( p == PEEKED_NUMBER ) {
+            int start = pos;
+            pos += peekedNumberLength;
+            double asDouble = NumberUtils.parseDouble( in, start, pos );
+            result = (int) asDouble;
+            if ( result == asDouble ) {
+                peeked = PEEKED_NONE;
+                return result;
+            }
+            // buffered so the literal can still be read as a string
+            peekedString = in.substring( start, pos );
+            peeked = PEEKED_BUFFERED;
+            throw new NumberFormatException( "Expected an int but was " + peekedString + " at line " + getLineNumber() + " column " +
+                    getColumnNumber() );
+        }
+
+        if ( p == PEEKED_QUOTED ) {
+            peekedString = nextQuotedValue();
+            try {
+                result = Integer.parseInt( peekedString );
+                peekedString = null;
+                peeked = PEEKED_NONE;
+                return result;
+            } catch ( NumberFormatException ignored ) {
+                // Fall back to parse as a double below.
+            }
+        } else if ( p != PEEKED_BUFFERED ) {
+            throw unexpected( "an int" );
+        }
+
+        peeked = PEEKED_BUFFERED;
+        double asDouble = NumberUtils.parseDouble( peekedString ); // don't catch this NumberFormatException.
+        result = (int) asDouble;
+        if ( result != asDouble ) { // Make sure no precision was lost casting to 'int'.
+            throw new NumberFormatException( "Expected an int but was " + peekedString + " at line " + getLineNumber() + " column " +
+                    getColumnNumber() );
+        }
+        peekedString = null;
+        peeked = PEEKED_NONE;
+        return result;
+    }
+
+    /**
+     * Returns the peeked {@link #PEEKED_NUMBER} and moves after it.
+     */
+    private String nextNumberString() {
+        String result = in.substring( pos, pos + peekedNumberLength );
+        pos += peekedNumberLength;
+        return result;
+    }
+
+    /**
+     * Returns the string up to but not including the closing quote, unescaping any escape sequence encountered along the way. The opening
+     * quote should have already been read. This consumes the closing quote.
+     */
+    private String nextQuotedValue() {
+        // Most strings have no escape sequence so they are returned directly as a substring of the input. A builder is only created
+        // for the others.
+        int p = pos;
+        int l = limit;
+        int start = p;
+        while ( p < l ) {
+            char c = in.charAt( p++ );
+            if ( c == '"' ) {
+                pos = p;
+                return in.substring( start, p - 1 );
+            } else if ( c == '\\' ) {
+                pos = p;
+                StringBuilder builder = new StringBuilder();
+                builder.append( in, start, p - 1 );
+                builder.append( readEscapeCharacter() );
+                return nextEscapedQuotedValue( builder );
+            } else if ( c < 0x20 ) {
+                pos = p - 1;
+                throw syntaxError( "Unescaped control character" );
+            }
+        }
+        pos = p;
+        throw syntaxError( "Unterminated string" );
+    }
+
+    /**
+     * Continues {@link #nextQuotedValue()} once an escape sequence has been found, appending the rest of the string to {@code builder}.
+     */
+    private String nextEscapedQuotedValue( StringBuilder builder ) {
+        int p = pos;
+        int l = limit;
+        // the index of the first character not yet appended to the builder
+        int start = p;
+        while ( p < l ) {
+            char c = in.charAt( p++ );
+            if ( c == '"' ) {
+                pos = p;
+                builder.append( in, start, p - 1 );
+                return builder.toString();
+            } else if ( c == '\\' ) {
+                pos = p;
+                builder.append( in, start, p - 1 );
+                builder.append( readEscapeCharacter() );
+                p = pos;
+                start = p;
+            } else if ( c < 0x20 ) {
+                pos = p - 1;
+                throw syntaxError( "Unescaped control character" );
+            }
+        }
+        pos = p;
+        throw syntaxError( "Unterminated string" );
+    }
+
+    /**
+     * Skips the string up to and including the closing quote. The opening quote should have already been read.
+     *
+     * @return true if the string contains at least one escape sequence
+     */
+    private boolean skipQuotedValue() {
+        int p = pos;
+        int l = limit;
+        boolean escaped = false;
+        while ( p < l ) {
+            char c = in.charAt( p++ );
+            if ( c == '"' ) {
+                pos = p;
+                return escaped;
+            } else if ( c == '\\' ) {
+                escaped = true;
+                pos = p;
+                readEscapeCharacter();
+                p = pos;
+            } else if ( c < 0x20 ) {
+                pos = p - 1;
+                throw syntaxError( "Unescaped control character" );
+            }
+        }
+        pos = p;
+        throw syntaxError( "Unterminated string" );
+    }
+
+    /**
+     * Unescapes the character identified by the character or characters that immediately follow a backslash. The backslash should have
+     * already been read.
+     */
+    private char readEscapeCharacter() {
+        if ( pos == limit ) {
+            throw syntaxError( "Unterminated escape sequence" );
+        }
+
+        char escaped = in.charAt( pos++ );
+        switch ( escaped ) {
+            case 'u':
+                if ( pos + 4 > limit ) {
+                    throw syntaxError( "Unterminated escape sequence" );
+                }
+                char result = 0;
+                for ( int i = pos, end = i + 4; i < end; i++ ) {
+                    char c = in.charAt( i );
+                    result <<= 4;
+                    if ( c >= '0' && c <= '9' ) {
+                        result += (c - '0');
+                    } else if ( c >= 'a' && c <= 'f' ) {
+                        result += (c - 'a' + 10);
+                    } else if ( c >= 'A' && c <= 'F' ) {
+                        result += (c - 'A' + 10);
+                    } else {
+                        throw syntaxError( "Invalid escape sequence \\u" + in.substring( pos, pos + 4 ) );
+                    }
+                }
+                pos += 4;
+                return result;
+            case 't':
+                return '\t';
+            case 'b':
+                return '\b';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case '"':
+            case '\\':
+            case '/':
+                return escaped;
+            default:
+                pos--;
+                throw syntaxError( "Invalid escape sequence" );
+        }
+    }
+
+    @Override
+    public void close() {
+        peeked = PEEKED_NONE;
+        stack.set( 0, JsonScope.CLOSED );
+        stackSize = 1;
+    }
+
+    @Override
+    public void skipValue() {
+        int count = 0;
+        do {
+            int p = peeked;
+            if ( p == PEEKED_NONE ) {
+                p = doPeek();
+            }
+
+            if ( p == PEEKED_BEGIN_ARRAY ) {
+                push( JsonScope.EMPTY_ARRAY );
+                count++;
+            } else if ( p == PEEKED_BEGIN_OBJECT ) {
+                push( JsonScope.EMPTY_OBJECT );
+                count++;
+            } else if ( p == PEEKED_END_ARRAY || p == PEEKED_END_OBJECT ) {
+                stackSize--;
+                count--;
+            } else if ( p == PEEKED_QUOTED || p == PEEKED_QUOTED_NAME ) {
+                skipQuotedValue();
+            } else if ( p == PEEKED_NUMBER ) {
+                pos += peekedNumberLength;
+            } else if ( p == PEEKED_BUFFERED ) {
+                peekedString = null;
+            }
+            peeked = PEEKED_NONE;
+        } while ( count != 0 );
+    }
+
+    @Override
+    public void skipRawValue() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+        if ( p != PEEKED_BEGIN_ARRAY && p != PEEKED_BEGIN_OBJECT ) {
+            skipValue();
+            return;
+        }
+        peeked = PEEKED_NONE;
+
+        // the opening bracket has already been consumed by doPeek
+        int depth = 1;
+        int l = limit;
+        while ( pos < l ) {
+            char c = in.charAt( pos++ );
+            switch ( c ) {
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if ( --depth == 0 ) {
+                        return;
+                    }
+                    break;
+                case '"':
+                    skipRawQuotedValue();
+                    break;
+                case '\n':
+                    lineNumber++;
+                    lineStart = pos;
+                    break;
+                default:
+            }
+        }
+        throw syntaxError( p == PEEKED_BEGIN_ARRAY ? "Unterminated array" : "Unterminated object" );
+    }
+
+    /**
+     * Jumps over a quoted string without decoding its escape sequences.
+     */
+    private void skipRawQuotedValue() {
+        int p = pos;
+        int l = limit;
+        while ( p < l ) {
+            char c = in.charAt( p++ );
+            if ( c == '"' ) {
+                pos = p;
+                return;
+            } else if ( c == '\\' ) {
+                p++;
+            }
+        }
+        pos = l;
+        throw syntaxError( "Unterminated string" );
+    }
+
+    private void push( int newTop ) {
+        stack.set( stackSize++, newTop );
+    }
+
+    @Override
+    public int getLineNumber() {
+        return lineNumber + 1;
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return pos - lineStart + 1;
+    }
+
+    @Override
+    public String getInput() {
+        return in;
+    }
+
+    /**
+     * Returns the next character that is not whitespace and moves after it. Only the four whitespace characters of the RFC are skipped.
+     *
+     * @return the character or -1 if the end of the input is reached and {@code throwOnEof} is false
+     */
+    private int nextNonWhitespace( boolean throwOnEof ) {
+        int p = pos;
+        int l = limit;
+        while ( p < l ) {
+            char c = in.charAt( p++ );
+            if ( c == '\n' ) {
+                lineNumber++;
+                lineStart = p;
+            } else if ( c != ' ' && c != '\r' && c != '\t' ) {
+                pos = p;
+                return c;
+            }
+        }
+        pos = p;
+        if ( throwOnEof ) {
+            String mess = "End of input at line " + getLineNumber() + " column " + getColumnNumber();
+            logger.log( Level.SEVERE, mess );
+            throw new JsonDeserializationException( mess );
+        } else {
+            return -1;
+        }
+    }
+
+    private IllegalStateException unexpected( String expected ) {
+        return new IllegalStateException( "Expected " + expected + " but was " + peek() + " at line " + getLineNumber() + " column " +
+                getColumnNumber() );
+    }
+
+    private MalformedJsonException syntaxError( String message ) {
+        String mess = message + " at line " + getLineNumber() + " column " + getColumnNumber();
+        logger.log( Level.SEVERE, mess );
+        throw new MalformedJsonException( mess );
+    }
+
+    @Override
+    public JsonReader bufferValue() {
+        // each value has its own buffer so its tokens are released with the replaying reader
+        TokenBuffer tokens = new TokenBuffer( in );
+
+        int count = 0;
+        do {
+            int p = peeked;
+            if ( p == PEEKED_NONE ) {
+                p = doPeek();
+            }
+
+            if ( p == PEEKED_BEGIN_ARRAY ) {
+                push( JsonScope.EMPTY_ARRAY );
+                count++;
+                tokens.add( TokenBuffer.BEGIN_ARRAY, pos - 1, pos );
+            } else if ( p == PEEKED_BEGIN_OBJECT ) {
+                push( JsonScope.EMPTY_OBJECT );
+                count++;
+                tokens.add( TokenBuffer.BEGIN_OBJECT, pos - 1, pos );
+            } else if ( p == PEEKED_END_ARRAY ) {
+                stackSize--;
+                count--;
+                tokens.add( TokenBuffer.END_ARRAY, pos - 1, pos );
+            } else if ( p == PEEKED_END_OBJECT ) {
+                stackSize--;
+                count--;
+                tokens.add( TokenBuffer.END_OBJECT, pos - 1, pos );
+            } else if ( p == PEEKED_QUOTED_NAME || p == PEEKED_QUOTED ) {
+                int start = pos - 1;
+                boolean escaped = skipQuotedValue();
+                tokens.add( (p == PEEKED_QUOTED_NAME ? TokenBuffer.NAME : TokenBuffer.STRING) | TokenBuffer.QUOTED | (escaped ?
+                        TokenBuffer.ESCAPED : 0), start, pos );
+            } else if ( p == PEEKED_NUMBER ) {
+                tokens.add( TokenBuffer.NUMBER, pos, pos + peekedNumberLength );
+                pos += peekedNumberLength;
+            } else if ( p == PEEKED_INT || p == PEEKED_LONG ) {
+                tokens.add( TokenBuffer.NUMBER, pos - peekedNumberLength, pos );
+            } else if ( p == PEEKED_TRUE ) {
+                tokens.add( TokenBuffer.TRUE, pos, pos );
+            } else if ( p == PEEKED_FALSE ) {
+                tokens.add( TokenBuffer.FALSE, pos, pos );
+            } else if ( p == PEEKED_NULL ) {
+                tokens.add( TokenBuffer.NULL, pos, pos );
+            } else if ( p == PEEKED_BUFFERED ) {
+                tokens.addLiteral( TokenBuffer.STRING, peekedString );
+                peekedString = null;
+            }
+            peeked = PEEKED_NONE;
+        } while ( count != 0 );
+
+        return new TokenBufferJsonReader( tokens, 0, tokens.size() );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The input is strict JSON so the value is returned directly from it, like {@link #nextRawValue()}.
+     * </p>
+     */
+    @Override
+    public String nextValue() {
+        return nextRawValue();
+    }
+
+    @Override
+    public String nextRawValue() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+
+        int start;
+        switch ( p ) {
+            case PEEKED_NULL:
+                peeked = PEEKED_NONE;
+                return "null";
+            case PEEKED_TRUE:
+                peeked = PEEKED_NONE;
+                return "true";
+            case PEEKED_FALSE:
+                peeked = PEEKED_NONE;
+                return "false";
+            case PEEKED_BUFFERED:
+                // the value has already been decoded, we have to write it again
+                JsonWriter writer = new FastJsonWriter( new StringBuilder() );
+                writer.setLenient( true );
+                writer.value( peekedString );
+                peekedString = null;
+                peeked = PEEKED_NONE;
+                return writer.getOutput();
+            case PEEKED_BEGIN_OBJECT:
+            case PEEKED_BEGIN_ARRAY:
+            case PEEKED_QUOTED:
+                start = pos - 1;
+                break;
+            case PEEKED_INT:
+            case PEEKED_LONG:
+                start = pos - peekedNumberLength;
+                break;
+            case PEEKED_NUMBER:
+                start = pos;
+                break;
+            default:
+                throw unexpected( "a value" );
+        }
+
+        skipValue();
+        return in.substring( start, pos );
+    }
+
+    @Override
+    public Number nextNumber() {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+
+        if ( p == PEEKED_INT ) {
+            peeked = PEEKED_NONE;
+            return peekedInt;
+        }
+
+        Number result;
+        if ( p == PEEKED_LONG ) {
+            if ( peekedLong >= MIN_INT_L && peekedLong <= MAX_INT_L ) {
+                result = (int) peekedLong;
+            } else {
+                result = peekedLong;
+            }
+            peeked = PEEKED_NONE;
+            return result;
+        }
+
+        if ( p == PEEKED_NUMBER ) {
+            // an integer too large for a long is also returned as a Double, like the other readers do
+            result = NumberUtils.parseDouble( in, pos, pos + peekedNumberLength );
+            pos += peekedNumberLength;
+            peeked = PEEKED_NONE;
+            return result;
+        }
+
+        if ( p == PEEKED_QUOTED ) {
+            peekedString = nextQuotedValue();
+        } else if ( p != PEEKED_BUFFERED ) {
+            throw unexpected( "a double" );
+        }
+
+        peeked = PEEKED_BUFFERED;
+        if ( peekedString.contains( "." ) ) {
+            result = NumberUtils.parseDouble( peekedString ); // don't catch this NumberFormatException.
+        } else {
+            int length = peekedString.length();
+            if ( length <= 9 ) { // fits in int
+                result = Integer.parseInt( peekedString );
+            } else if ( length <= 18 ) { // fits in long and potentially int
+                long longResult = Long.parseLong( peekedString );
+                if ( longResult >= MIN_INT_L && longResult <= MAX_INT_L ) {
+                    result = (int) longResult;
+                } else {
+                    result = longResult;
+                }
+            } else {
+                BigInteger bigIntegerResult = new BigInteger( peekedString );
+                if ( bigIntegerResult.compareTo( MIN_LONG_BIGINTEGER ) >= 0 && bigIntegerResult.compareTo( MAX_LONG_BIGINTEGER ) <= 0 ) {
+                    result = bigIntegerResult.longValue();
+                } else {
+                    result = bigIntegerResult;
+                }
+            }
+        }
+        peekedString = null;
+        peeked = PEEKED_NONE;
+        return result;
+    }
+
+    @Override
+    public JavaScriptObject nextJavaScriptObject( boolean useSafeEval ) {
+        int p = peeked;
+        if ( p == PEEKED_NONE ) {
+            p = doPeek();
+        }
+
+        switch ( p ) {
+            case PEEKED_BEGIN_OBJECT:
+            case PEEKED_BEGIN_ARRAY:
+                JavaScriptObject result;
+                if ( stackSize == 1 ) {
+                    // start of the document
+                    result = useSafeEval ? JsonUtils.safeEval( in ) : JsonUtils.unsafeEval( in );
+                    // we read everything, we move the pointer to the end of the document
+                    pos = limit;
+                    peeked = PEEKED_NONE;
+                } else {
+                    // the value has already been validated by this reader, we give it directly to the native parser
+                    result = parse( nextRawValue() );
+                }
+                return result;
+            default:
+                throw unexpected( "an array or object to evaluate a JavaScriptObject" );
+        }
+    }
+
+    private static native JavaScriptObject parse( String json ) /*-{
+        return JSON.parse(json);
+    }-*/;
+
+    @Override
+    public String toString() {
+        return "JsonReader at line " + getLineNumber() + " column " + getColumnNumber();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the tokens of a JSON input already validated by a reader. Each token is stored as its type and the offsets of its first and
+ * past-the-end characters into the original input, so it can be replayed by a {@link TokenBufferJsonReader} without tokenizing the
+ * input again.
+ *
+ * @author Nicolas Morel
+ */
+final class TokenBuffer {
+
+    static final int BEGIN_OBJECT = 1;
+
+    static final int END_OBJECT = 2;
+
+    static final int BEGIN_ARRAY = 3;
+
+    static final int END_ARRAY = 4;
+
+    static final int NAME = 5;
+
+    static final int STRING = 6;
+
+    static final int NUMBER = 7;
+
+    static final int TRUE = 8;
+
+    static final int FALSE = 9;
+
+    static final int NULL = 10;
+
+    static final int TYPE_MASK = 0xF;
+
+    /**
+     * The token is surrounded by quotes in the input. The offsets include them.
+     */
+    static final int QUOTED = 0x10;
+
+    /**
+     * The quoted token contains at least one escape sequence.
+     */
+    static final int ESCAPED = 0x20;
+
+    /**
+     * The value of the token has already been decoded by the reader and is stored in {@link #literals}. The start offset is the index
+     * of the value.
+     */
+    static final int LITERAL = 0x40;
+
+    private static final int TOKEN_SIZE = 3;
+
+    private String input;
+
+    private final IntArray tokens = IntArray.create( 16 * TOKEN_SIZE );
+
+    private int size = 0;
+
+    private List<String> literals;
+
+    private boolean lenientSyntax;
+
+    TokenBuffer( String input ) {
+        this.input = input;
+    }
+
+    /**
+     * Creates a buffer whose input is only known once all the tokens have been recorded. It must be set with {@link #setInput(String)}
+     * before replaying the tokens.
+     */
+    TokenBuffer() {
+    }
+
+    String getInput() {
+        return input;
+    }
+
+    void setInput( String input ) {
+        this.input = input;
+    }
+
+    /**
+     * Marks that a recorded value contains syntax only accepted by a lenient reader, like comments or single quoted strings.
+     */
+    void setLenientSyntax() {
+        this.lenientSyntax = true;
+    }
+
+    boolean hasLenientSyntax() {
+        return lenientSyntax;
+    }
+
+    /**
+     * @return the number of tokens recorded
+     */
+    int size() {
+        return size;
+    }
+
+    void add( int type, int start, int end ) {
+        int offset = size * TOKEN_SIZE;
+        // the last slot first so the array grows at most once
+        tokens.set( offset + 2, end );
+        tokens.set( offset + 1, start );
+        tokens.set( offset, type );
+        size++;
+    }
+
+    void addLiteral( int type, String value ) {
+        if ( null == literals ) {
+            literals = new ArrayList<String>();
+        }
+        add( type | LITERAL, literals.size(), -1 );
+        literals.add( value );
+    }
+
+    int type( int index ) {
+        return tokens.get( index * TOKEN_SIZE );
+    }
+
+    int start( int index ) {
+        return tokens.get( index * TOKEN_SIZE + 1 );
+    }
+
+    int end( int index ) {
+        return tokens.get( index * TOKEN_SIZE + 2 );
+    }
+
+    String literal( int index ) {
+        return literals.get( start( index ) );
+    }
+
+    /**
+     * Returns the index of the token following the value starting at the given index. If the value is an object or an array, all the
+     * nested tokens are skipped.
+     */
+    int skip( int index ) {
+        int depth = 0;
+        do {
+            switch ( tokens.get( index * TOKEN_SIZE ) & TYPE_MASK ) {
+                case BEGIN_OBJECT:
+                case BEGIN_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                default:
+            }
+            index++;
+        } while ( depth > 0 );
+        return index;
+    }
+}
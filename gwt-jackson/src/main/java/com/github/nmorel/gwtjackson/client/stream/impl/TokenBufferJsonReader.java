@@ -0,0 +1,537 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import java.math.BigInteger;
+
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.utils.NumberUtils;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsonUtils;
+
+/**
+ * {@link JsonReader} replaying a range of tokens recorded in a {@link TokenBuffer} by {@link JsonReader#bufferValue()}.
+ * <p>
+ * The tokens have already been validated by the reader that recorded them so there is no lexing involved. Names and strings are only
+ * decoded from the original input when they are consumed.
+ * </p>
+ *
+ * @author Nicolas Morel
+ */
+public class TokenBufferJsonReader implements JsonReader {
+
+    private static final long MIN_INT_L = (long) Integer.MIN_VALUE;
+
+    private static final long MAX_INT_L = (long) Integer.MAX_VALUE;
+
+    private static final BigInteger MIN_LONG_BIGINTEGER = new BigInteger( "" + Long.MIN_VALUE );
+
+    private static final BigInteger MAX_LONG_BIGINTEGER = new BigInteger( "" + Long.MAX_VALUE );
+
+    private final TokenBuffer buffer;
+
+    private final String in;
+
+    /**
+     * Index of the next token to read.
+     */
+    private int index;
+
+    /**
+     * Index after the last token to read.
+     */
+    private final int end;
+
+    private boolean lenient = true;
+
+    private String unmatchedName;
+
+    TokenBufferJsonReader( TokenBuffer buffer, int start, int end ) {
+        this.buffer = buffer;
+        this.in = buffer.getInput();
+        this.index = start;
+        this.end = end;
+    }
+
+    @Override
+    public void setLenient( boolean lenient ) {
+        this.lenient = lenient;
+    }
+
+    @Override
+    public void beginArray() {
+        consume( TokenBuffer.BEGIN_ARRAY, "BEGIN_ARRAY" );
+    }
+
+    @Override
+    public void endArray() {
+        consume( TokenBuffer.END_ARRAY, "END_ARRAY" );
+    }
+
+    @Override
+    public void beginObject() {
+        consume( TokenBuffer.BEGIN_OBJECT, "BEGIN_OBJECT" );
+    }
+
+    @Override
+    public void endObject() {
+        consume( TokenBuffer.END_OBJECT, "END_OBJECT" );
+    }
+
+    private void consume( int expected, String expectedName ) {
+        if ( peekType() != expected ) {
+            throw unexpected( expectedName );
+        }
+        index++;
+    }
+
+    /**
+     * @return the type of the next token or 0 if there is no more token
+     */
+    private int peekType() {
+        return index < end ? buffer.type( index ) & TokenBuffer.TYPE_MASK : 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        int type = peekType();
+        return type != TokenBuffer.END_OBJECT && type != TokenBuffer.END_ARRAY && type != 0;
+    }
+
+    @Override
+    public JsonToken peek() {
+        switch ( peekType() ) {
+            case TokenBuffer.BEGIN_OBJECT:
+                return JsonToken.BEGIN_OBJECT;
+            case TokenBuffer.END_OBJECT:
+                return JsonToken.END_OBJECT;
+            case TokenBuffer.BEGIN_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case TokenBuffer.END_ARRAY:
+                return JsonToken.END_ARRAY;
+            case TokenBuffer.NAME:
+                return JsonToken.NAME;
+            case TokenBuffer.STRING:
+                return JsonToken.STRING;
+            case TokenBuffer.NUMBER:
+                return JsonToken.NUMBER;
+            case TokenBuffer.TRUE:
+            case TokenBuffer.FALSE:
+                return JsonToken.BOOLEAN;
+            case TokenBuffer.NULL:
+                return JsonToken.NULL;
+            default:
+                return JsonToken.END_DOCUMENT;
+        }
+    }
+
+    @Override
+    public String nextName() {
+        if ( peekType() != TokenBuffer.NAME ) {
+            throw unexpected( "a name" );
+        }
+        return decode( index++ );
+    }
+
+    @Override
+    public int nextNameIndex( String[] names, int expected ) {
+        if ( peekType() != TokenBuffer.NAME ) {
+            throw unexpected( "a name" );
+        }
+        int type = buffer.type( index );
+        if ( (type & (TokenBuffer.LITERAL | TokenBuffer.ESCAPED)) == 0 ) {
+            // the name is compared in place
+            int start = buffer.start( index );
+            int end = buffer.end( index );
+            if ( (type & TokenBuffer.QUOTED) != 0 ) {
+                start++;
+                end--;
+            }
+            int result = indexOfName( names, expected, start, end - start );
+            if ( result < 0 ) {
+                unmatchedName = in.substring( start, end );
+            }
+            index++;
+            return result;
+        }
+
+        String name = decode( index++ );
+        int n = names.length;
+        for ( int i = 0; i < n; i++ ) {
+            int result = (expected + i) % n;
+            if ( names[result].equals( name ) ) {
+                return result;
+            }
+        }
+        unmatchedName = name;
+        return -1;
+    }
+
+    /**
+     * Returns the index of the name equals to the {@code length} characters of the input at {@code start} or -1 if there is none.
+     */
+    private int indexOfName( String[] names, int expected, int start, int length ) {
+        int n = names.length;
+        nextName:
+        for ( int i = 0; i < n; i++ ) {
+            int result = (expected + i) % n;
+            String name = names[result];
+            if ( name.length() != length ) {
+                continue;
+            }
+            for ( int j = 0; j < length; j++ ) {
+                if ( in.charAt( start + j ) != name.charAt( j ) ) {
+                    continue nextName;
+                }
+            }
+            return result;
+        }
+        return -1;
+    }
+
+    @Override
+    public String getUnmatchedName() {
+        return unmatchedName;
+    }
+
+    @Override
+    public String nextString() {
+        int type = peekType();
+        if ( type != TokenBuffer.STRING && type != TokenBuffer.NUMBER ) {
+            throw unexpected( "a string" );
+        }
+        return decode( index++ );
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        int type = peekType();
+        if ( type == TokenBuffer.TRUE ) {
+            index++;
+            return true;
+        } else if ( type == TokenBuffer.FALSE ) {
+            index++;
+            return false;
+        }
+        throw unexpected( "a boolean" );
+    }
+
+    @Override
+    public void nextNull() {
+        consume( TokenBuffer.NULL, "null" );
+    }
+
+    @Override
+    public double nextDouble() {
+        String value = peekNumberString( "a double" );
+        double result = Double.parseDouble( value ); // don't catch this NumberFormatException.
+        if ( !lenient && (Double.isNaN( result ) || Double.isInfinite( result )) ) {
+            throw new MalformedJsonException( "JSON forbids NaN and infinities: " + result + " at line " + getLineNumber() + " column " +
+                    getColumnNumber() );
+        }
+        index++;
+        return result;
+    }
+
+    @Override
+    public long nextLong() {
+        String value = peekNumberString( "a long" );
+        try {
+            long result = NumberUtils.parseLong( value );
+            index++;
+            return result;
+        } catch ( NumberFormatException ignored ) {
+            // Fall back to parse as a double below.
+        }
+        double asDouble = Double.parseDouble( value ); // don't catch this NumberFormatException.
+        long result = (long) asDouble;
+        if ( result != asDouble ) { // Make sure no precision was lost casting to 'long'.
+            throw new NumberFormatException( "Expected a long but was " + value + " at line " + getLineNumber() + " column " +
+                    getColumnNumber() );
+        }
+        index++;
+        return result;
+    }
+
+    @Override
+    public int nextInt() {
+        String value = peekNumberString( "an int" );
+        try {
+            int result = Integer.parseInt( value );
+            index++;
+            return result;
+        } catch ( NumberFormatException ignored ) {
+            // Fall back to parse as a double below.
+        }
+        double asDouble = Double.parseDouble( value ); // don't catch this NumberFormatException.
+        int result = (int) asDouble;
+        if ( result != asDouble ) { // Make sure no precision was lost casting to 'int'.
+            throw new NumberFormatException( "Expected an int but was " + value + " at line " + getLineNumber() + " column " +
+                    getColumnNumber() );
+        }
+        index++;
+        return result;
+    }
+
+    /**
+     * Returns the value of the next number or string token without consuming it, so it can still be read as a string if the parsing
+     * fails.
+     */
+    private String peekNumberString( String expected ) {
+        int type = peekType();
+        if ( type != TokenBuffer.NUMBER && type != TokenBuffer.STRING ) {
+            throw unexpected( expected );
+        }
+        return decode( index );
+    }
+
+    @Override
+    public void close() {
+        index = end;
+    }
+
+    @Override
+    public void skipValue() {
+        if ( index < end ) {
+            index = buffer.skip( index );
+        }
+    }
+
+    @Override
+    public void skipRawValue() {
+        // the tokens are already delimited, there is nothing to gain from a raw skip
+        skipValue();
+    }
+
+    @Override
+    public JsonReader bufferValue() {
+        int start = index;
+        skipValue();
+        return new TokenBufferJsonReader( buffer, start, index );
+    }
+
+    @Override
+    public String nextValue() {
+        int type = peekType();
+        if ( type == TokenBuffer.STRING && (!isDoubleQuoted( index ) || buffer.hasLenientSyntax()) ) {
+            // unquoted or single quoted string, or a string with escape sequences or control characters only accepted by a lenient reader
+            return JsonUtils.escapeValue( decode( index++ ) );
+        }
+
+        String value = nextRawValue();
+        if ( (type == TokenBuffer.BEGIN_OBJECT || type == TokenBuffer.BEGIN_ARRAY) && buffer.hasLenientSyntax() ) {
+            // the value may contain syntax only accepted by a lenient reader, we write it again as valid JSON
+            JsonReader reader = new NonBufferedJsonReader( value );
+            reader.setLenient( true );
+            return reader.nextValue();
+        }
+        return value;
+    }
+
+    @Override
+    public String nextRawValue() {
+        int start = index;
+        switch ( peekType() ) {
+            case TokenBuffer.NULL:
+                index++;
+                return "null";
+            case TokenBuffer.TRUE:
+                index++;
+                return "true";
+            case TokenBuffer.FALSE:
+                index++;
+                return "false";
+            case TokenBuffer.STRING:
+            case TokenBuffer.NUMBER:
+                index++;
+                if ( (buffer.type( start ) & TokenBuffer.LITERAL) != 0 ) {
+                    return JsonUtils.escapeValue( buffer.literal( start ) );
+                }
+                return in.substring( buffer.start( start ), buffer.end( start ) );
+            case TokenBuffer.BEGIN_OBJECT:
+            case TokenBuffer.BEGIN_ARRAY:
+                skipValue();
+                return in.substring( buffer.start( start ), buffer.end( index - 1 ) );
+            default:
+                throw unexpected( "a value" );
+        }
+    }
+
+    private boolean isDoubleQuoted( int tokenIndex ) {
+        int type = buffer.type( tokenIndex );
+        return (type & TokenBuffer.LITERAL) != 0 || ((type & TokenBuffer.QUOTED) != 0 && in.charAt( buffer.start( tokenIndex ) ) == '"');
+    }
+
+    @Override
+    public int getLineNumber() {
+        int offset = currentOffset();
+        int lineNumber = 1;
+        for ( int i = 0; i < offset; i++ ) {
+            if ( in.charAt( i ) == '\n' ) {
+                lineNumber++;
+            }
+        }
+        return lineNumber;
+    }
+
+    @Override
+    public int getColumnNumber() {
+        int offset = currentOffset();
+        int lineStart = in.lastIndexOf( '\n', offset - 1 ) + 1;
+        return offset - lineStart + 1;
+    }
+
+    /**
+     * @return the offset in the input of the next token
+     */
+    private int currentOffset() {
+        for ( int i = Math.min( index, end - 1 ); i >= 0; i-- ) {
+            if ( (buffer.type( i ) & TokenBuffer.LITERAL) == 0 ) {
+                return i < index ? buffer.end( i ) : buffer.start( i );
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String getInput() {
+        return in;
+    }
+
+    @Override
+    public Number nextNumber() {
+        Number result = parseNumber( peekNumberString( "a number" ) );
+        index++;
+        return result;
+    }
+
+    private Number parseNumber( String value ) {
+        if ( value.contains( "." ) ) {
+            // decimal
+            double resultDouble = Double.parseDouble( value ); // don't catch this NumberFormatException.
+            if ( !lenient && (Double.isNaN( resultDouble ) || Double.isInfinite( resultDouble )) ) {
+                throw new MalformedJsonException( "JSON forbids NaN and infinities: " + resultDouble + " at line " + getLineNumber() +
+                        " column " + getColumnNumber() );
+            }
+            return resultDouble;
+        }
+
+        int length = value.length();
+        if ( length <= 9 ) { // fits in int
+            return Integer.parseInt( value );
+        }
+
+        if ( length <= 18 ) { // fits in long and potentially int
+            long longResult = Long.parseLong( value );
+            if ( length == 10 && longResult >= MIN_INT_L && longResult <= MAX_INT_L ) {
+                return (int) longResult;
+            }
+            return longResult;
+        }
+
+        BigInteger bigIntegerResult = new BigInteger( value );
+        if ( bigIntegerResult.compareTo( MIN_LONG_BIGINTEGER ) >= 0 && bigIntegerResult.compareTo( MAX_LONG_BIGINTEGER ) <= 0 ) {
+            return bigIntegerResult.longValue();
+        }
+        return bigIntegerResult;
+    }
+
+    @Override
+    public JavaScriptObject nextJavaScriptObject( boolean useSafeEval ) {
+        int type = peekType();
+        if ( type != TokenBuffer.BEGIN_OBJECT && type != TokenBuffer.BEGIN_ARRAY ) {
+            throw unexpected( "an array or object to evaluate a JavaScriptObject" );
+        }
+        if ( buffer.hasLenientSyntax() ) {
+            String toEval = nextValue();
+            return useSafeEval ? JsonUtils.safeEval( toEval ) : JsonUtils.unsafeEval( toEval );
+        }
+        // the value has already been validated by the reader that recorded it, we give it directly to the native parser
+        return parse( nextRawValue() );
+    }
+
+    private static native JavaScriptObject parse( String json ) /*-{
+        return JSON.parse(json);
+    }-*/;
+
+    /**
+     * Returns the decoded value of the name, string or number token at the given index.
+     */
+    private String decode( int tokenIndex ) {
+        int type = buffer.type( tokenIndex );
+        if ( (type & TokenBuffer.LITERAL) != 0 ) {
+            return buffer.literal( tokenIndex );
+        }
+        int start = buffer.start( tokenIndex );
+        int end = buffer.end( tokenIndex );
+        if ( (type & TokenBuffer.QUOTED) == 0 ) {
+            return in.substring( start, end );
+        }
+        if ( (type & TokenBuffer.ESCAPED) == 0 ) {
+            return in.substring( start + 1, end - 1 );
+        }
+        return unescape( start + 1, end - 1 );
+    }
+
+    private String unescape( int start, int end ) {
+        StringBuilder builder = new StringBuilder( end - start );
+        int p = start;
+        while ( p < end ) {
+            char c = in.charAt( p++ );
+            if ( c != '\\' ) {
+                builder.append( c );
+                continue;
+            }
+            char escaped = in.charAt( p++ );
+            switch ( escaped ) {
+                case 'u':
+                    builder.append( (char) Integer.parseInt( in.substring( p, p + 4 ), 16 ) );
+                    p += 4;
+                    break;
+                case 't':
+                    builder.append( '\t' );
+                    break;
+                case 'b':
+                    builder.append( '\b' );
+                    break;
+                case 'n':
+                    builder.append( '\n' );
+                    break;
+                case 'r':
+                    builder.append( '\r' );
+                    break;
+                case 'f':
+                    builder.append( '\f' );
+                    break;
+                default:
+                    builder.append( escaped );
+            }
+        }
+        return builder.toString();
+    }
+
+    private IllegalStateException unexpected( String expected ) {
+        return new IllegalStateException( "Expected " + expected + " but was " + peek() + " at line " + getLineNumber() + " column " +
+                getColumnNumber() );
+    }
+
+    @Override
+    public String toString() {
+        return "JsonReader at line " + getLineNumber() + " column " + getColumnNumber();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.utils;
+
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Utility methods to parse numbers without the emulated {@code long} arithmetic and the validation done by
+ * {@link Double#parseDouble(String)} in compiled code when the input is already known to be a valid number.
+ *
+ * @author Nicolas Morel
+ */
+public final class NumberUtils {
+
+    /**
+     * Maximum number of digits of an integer that always fits in an {@code int}.
+     */
+    public static final int MAX_INT_DIGITS = 9;
+
+    /**
+     * Maximum number of digits of an integer that is always exactly represented by a {@code double}.
+     */
+    public static final int MAX_SAFE_INTEGER_DIGITS = 15;
+
+    /**
+     * Largest integer n such that n and n + 1 are exactly represented by a {@code double}, {@code Number.MAX_SAFE_INTEGER} in
+     * JavaScript.
+     */
+    public static final double MAX_SAFE_INTEGER = 9007199254740991d;
+
+    /**
+     * Parses the number contained in a range of the given String. The range is not validated and must contain a number as defined by
+     * the JSON grammar.
+     *
+     * @param in the String containing the number
+     * @param start index of the first character of the number
+     * @param end index after the last character of the number
+     *
+     * @return the parsed number
+     */
+    public static double parseDouble( String in, int start, int end ) {
+        if ( GWT.isScript() ) {
+            return parseFloat( in, start, end );
+        }
+        return Double.parseDouble( in.substring( start, end ) );
+    }
+
+    private static native double parseFloat( String value, int start, int end ) /*-{
+        return parseFloat(value.substring(start, end));
+    }-*/;
+
+    /**
+     * Parses the given String as a double, using {@link #parseDouble(String, int, int)} if it is a number as defined by the JSON
+     * grammar.
+     *
+     * @param value the String to parse
+     *
+     * @return the parsed number
+     * @throws NumberFormatException if the String is not a valid number
+     */
+    public static double parseDouble( String value ) throws NumberFormatException {
+        if ( isNumber( value ) ) {
+            return parseDouble( value, 0, value.length() );
+        }
+        return Double.parseDouble( value );
+    }
+
+    /**
+     * Parses the given String as a long. In compiled code, an integer with at most {@link #MAX_SAFE_INTEGER_DIGITS} digits is parsed as a
+     * native double and converted once, instead of being accumulated with the emulated {@code long} arithmetic.
+     *
+     * @param value the String to parse
+     *
+     * @return the parsed number
+     * @throws NumberFormatException if the String is not a valid long
+     */
+    public static long parseLong( String value ) throws NumberFormatException {
+        if ( GWT.isScript() && isInteger( value, MAX_SAFE_INTEGER_DIGITS ) ) {
+            return (long) parseFloat( value, 0, value.length() );
+        }
+        return Long.parseLong( value );
+    }
+
+    /**
+     * Formats the given long. In compiled code, a value within [-{@link #MAX_SAFE_INTEGER}, {@link #MAX_SAFE_INTEGER}] is converted once
+     * and formatted as a native double, instead of going through the emulated {@code long} divisions of {@link Long#toString(long)}.
+     *
+     * @param value the long to format
+     *
+     * @return the formatted long
+     */
+    public static String formatLong( long value ) {
+        if ( GWT.isScript() ) {
+            double asDouble = value;
+            if ( asDouble >= -MAX_SAFE_INTEGER && asDouble <= MAX_SAFE_INTEGER ) {
+                return formatSafeInteger( asDouble );
+            }
+        }
+        return Long.toString( value );
+    }
+
+    private static native String formatSafeInteger( double value ) /*-{
+        return String(value);
+    }-*/;
+
+    /**
+     * @param value the String to test
+     * @param maxDigits maximum number of digits
+     *
+     * @return true if the String is made of an optional minus sign followed by 1 to maxDigits digits
+     */
+    private static boolean isInteger( String value, int maxDigits ) {
+        int length = value.length();
+        int i = length > 0 && value.charAt( 0 ) == '-' ? 1 : 0;
+        if ( i == length || length - i > maxDigits ) {
+            return false;
+        }
+        for ( ; i < length; i++ ) {
+            char c = value.charAt( i );
+            if ( c < '0' || c > '9' ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param value the String to test
+     *
+     * @return true if the String is a number as defined by the JSON grammar, leading zeros aside
+     */
+    public static boolean isNumber( String value ) {
+        int length = value.length();
+        int i = length > 0 && value.charAt( 0 ) == '-' ? 1 : 0;
+        int digits = skipDigits( value, i );
+        if ( digits == i ) {
+            return false;
+        }
+        i = digits;
+        if ( i < length && value.charAt( i ) == '.' ) {
+            digits = skipDigits( value, ++i );
+            if ( digits == i ) {
+                return false;
+            }
+            i = digits;
+        }
+        if ( i < length && (value.charAt( i ) == 'e' || value.charAt( i ) == 'E') ) {
+            i++;
+            if ( i < length && (value.charAt( i ) == '-' || value.charAt( i ) == '+') ) {
+                i++;
+            }
+            digits = skipDigits( value, i );
+            if ( digits == i ) {
+                return false;
+            }
+            i = digits;
+        }
+        return i == length;
+    }
+
+    private static int skipDigits( String value, int i ) {
+        int length = value.length();
+        while ( i < length && value.charAt( i ) >= '0' && value.charAt( i ) <= '9' ) {
+            i++;
+        }
+        return i;
+    }
+
+    private NumberUtils() { }
+}
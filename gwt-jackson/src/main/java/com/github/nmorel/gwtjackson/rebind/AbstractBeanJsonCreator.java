@@ -34,6 +34,7 @@ import com.github.nmorel.gwtjackson.client.deser.bean.TypeDeserializationInfo;
 import com.github.nmorel.gwtjackson.client.ser.bean.AbstractBeanJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.AbstractValueBeanJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.TypeSerializationInfo;
+import com.github.nmorel.gwtjackson.rebind.RebindConfiguration.MapperInstance;
 import com.github.nmorel.gwtjackson.rebind.bean.BeanInfo;
 import com.github.nmorel.gwtjackson.rebind.bean.BeanTypeInfo;
 import com.github.nmorel.gwtjackson.rebind.exception.UnsupportedTypeException;
@@ -43,6 +44,7 @@ import com.google.gwt.core.ext.TreeLogger;
 import com.google.gwt.core.ext.TreeLogger.Type;
 import com.google.gwt.core.ext.UnableToCompleteException;
 import com.google.gwt.core.ext.typeinfo.JClassType;
+import com.google.gwt.core.ext.typeinfo.JType;
 import com.google.gwt.core.ext.typeinfo.JTypeParameter;
 import com.google.gwt.thirdparty.guava.common.base.Optional;
 import com.google.gwt.thirdparty.guava.common.base.Strings;
@@ -256,6 +258,17 @@ public abstract class AbstractBeanJsonCreator extends AbstractCreator {
         return builder.unindent().unindent().build();
     }
 
+    /**
+     * @param type the type
+     * @param defaultMapper the mapper registered for the type by default
+     *
+     * @return true if the mapper configured for the type is still the default one
+     */
+    protected final boolean isDefaultMapper( JType type, Class defaultMapper ) {
+        Optional<MapperInstance> mapper = isSerializer() ? configuration.getSerializer( type ) : configuration.getDeserializer( type );
+        return mapper.isPresent() && mapper.get().getMapperType().getQualifiedSourceName().equals( defaultMapper.getCanonicalName() );
+    }
+
     /**
      * Add the common property parameters to the code builder.
      *
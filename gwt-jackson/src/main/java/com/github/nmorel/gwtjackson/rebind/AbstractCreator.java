@@ -277,7 +277,8 @@ public abstract class AbstractCreator extends AbstractSourceCreator {
 
             } else {
                 // The serializer has no parameters.
-                builder.instance( methodCallCode( configuredSerializer.get() ) );
+                builder.instance( methodCallCode( configuredSerializer.get() ) )
+                        .sharedInstance( isSharedInstance( configuredSerializer.get() ) );
             }
             return builder.build();
         }
@@ -526,7 +527,8 @@ public abstract class AbstractCreator extends AbstractSourceCreator {
 
             } else {
                 // The deserializer has no parameters.
-                builder.instance( methodCallCode( configuredDeserializer.get() ) );
+                builder.instance( methodCallCode( configuredDeserializer.get() ) )
+                        .sharedInstance( isSharedInstance( configuredDeserializer.get() ) );
             }
             return builder.build();
         }
@@ -785,6 +787,18 @@ public abstract class AbstractCreator extends AbstractSourceCreator {
         return methodCallCodeWithJParameterizedMapperParameters( builder, parameters );
     }
 
+    /**
+     * @param instance the mapper instance
+     *
+     * @return true if the mapper is returned by a static and non-generic method, so it is a shared instance that can be retrieved each
+     * time it is needed
+     */
+    private boolean isSharedInstance( MapperInstance instance ) {
+        return null == instance.getInstanceCreationMethod().isConstructor()
+                && instance.getInstanceCreationMethod().getTypeParameters().length == 0
+                && instance.getInstanceCreationMethod().getParameters().length == 0;
+    }
+
     /**
      * Initialize the code builder to create a mapper.
      *
@@ -19,7 +19,6 @@ package com.github.nmorel.gwtjackson.rebind;
 import javax.annotation.Nullable;
 import javax.lang.model.element.Modifier;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -28,19 +27,28 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 
 import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonDeserializerParameters;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.DoubleJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.IntegerJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BaseNumberJsonDeserializer.LongJsonDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.BooleanJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.bean.AbstractBeanJsonDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.bean.AbstractIdentityDeserializationInfo;
 import com.github.nmorel.gwtjackson.client.deser.bean.AnySetterDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.bean.BackReferenceProperty;
 import com.github.nmorel.gwtjackson.client.deser.bean.BeanPropertyDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.bean.BooleanBeanPropertyDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.bean.DoubleBeanPropertyDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.bean.HasDeserializerAndParameters;
 import com.github.nmorel.gwtjackson.client.deser.bean.IdentityDeserializationInfo;
 import com.github.nmorel.gwtjackson.client.deser.bean.Instance;
 import com.github.nmorel.gwtjackson.client.deser.bean.InstanceBuilder;
+import com.github.nmorel.gwtjackson.client.deser.bean.IntBeanPropertyDeserializer;
+import com.github.nmorel.gwtjackson.client.deser.bean.LongBeanPropertyDeserializer;
 import com.github.nmorel.gwtjackson.client.deser.bean.PropertyIdentityDeserializationInfo;
 import com.github.nmorel.gwtjackson.client.deser.bean.SimpleStringMap;
 import com.github.nmorel.gwtjackson.client.deser.bean.SubtypeDeserializer;
@@ -65,6 +73,7 @@ import com.google.gwt.core.ext.UnableToCompleteException;
 import com.google.gwt.core.ext.typeinfo.JAbstractMethod;
 import com.google.gwt.core.ext.typeinfo.JClassType;
 import com.google.gwt.core.ext.typeinfo.JParameter;
+import com.google.gwt.core.ext.typeinfo.JPrimitiveType;
 import com.google.gwt.core.ext.typeinfo.JType;
 import com.google.gwt.thirdparty.guava.common.base.Function;
 import com.google.gwt.thirdparty.guava.common.base.Joiner;
@@ -211,7 +220,7 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 .addParameter( JsonReader.class, "reader" )
                 .addParameter( JsonDeserializationContext.class, "ctx" )
                 .addParameter( JsonDeserializerParameters.class, "params" )
-                .addParameter( ParameterizedTypeName.get( Map.class, String.class, String.class ), "bufferedProperties" )
+                .addParameter( ParameterizedTypeName.get( Map.class, String.class, JsonReader.class ), "bufferedProperties" )
                 .addParameter( ParameterizedTypeName.get( Map.class, String.class, Object.class ), "bufferedPropertiesValues" );
 
         if ( beanInfo.getBuilder().isPresent() ) {
@@ -301,20 +310,13 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
 
         newInstanceMethodBuilder.addStatement( "int nbParamToFind = $L", beanInfo.getCreatorParameters().size() );
 
-        if ( !requiredProperties.isEmpty() ) {
-            CodeBlock code = CodeBlock.builder()
-                    .add( Joiner.on( ", " ).join( Collections2.transform( requiredProperties, new Function<String, Object>() {
-                        @Nullable
-                        @Override
-                        public Object apply( String s ) {
-                            return "$S";
-                        }
-                    } ) ), requiredProperties.toArray() ).build();
-
-            newInstanceMethodBuilder.addStatement( "$T requiredProperties = new $T($T.asList($L))",
-                    ParameterizedTypeName.get( Set.class, String.class ),
-                    ParameterizedTypeName.get( HashSet.class, String.class ),
-                    Arrays.class, code );
+        // each required property gets a bit in a mask of 32 properties, cleared when the property is read
+        List<String> requiredPropertyMasks = new ArrayList<String>();
+        for ( int i = 0; i < requiredProperties.size(); i += 32 ) {
+            int nbProperties = Math.min( 32, requiredProperties.size() - i );
+            String maskName = "requiredProperties" + requiredPropertyMasks.size();
+            requiredPropertyMasks.add( maskName );
+            newInstanceMethodBuilder.addStatement( "int $L = $L", maskName, nbProperties == 32 ? "-1" : "(1 << " + nbProperties + ") - 1" );
         }
 
         newInstanceMethodBuilder.addCode( "\n" );
@@ -331,7 +333,7 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             newInstanceMethodBuilder.addStatement( "$L = ($T) value", variableName, typeName( true, propertyInfo.getType() ) );
             newInstanceMethodBuilder.addStatement( "nbParamToFind--" );
             if ( propertyInfo.isRequired() ) {
-                newInstanceMethodBuilder.addStatement( "requiredProperties.remove($S)", name );
+                addRequiredPropertyRead( newInstanceMethodBuilder, requiredProperties.indexOf( name ) );
             }
             newInstanceMethodBuilder.endControlFlow();
         }
@@ -340,7 +342,7 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
         newInstanceMethodBuilder.addCode( "\n" );
 
         newInstanceMethodBuilder.beginControlFlow( "if (null != bufferedProperties)" );
-        newInstanceMethodBuilder.addStatement( "String value" );
+        newInstanceMethodBuilder.addStatement( "$T value", JsonReader.class );
         for ( String name : beanInfo.getCreatorParameters().keySet() ) {
             String variableName = propertyNameToVariable.get( name );
             PropertyInfo propertyInfo = properties.get( name );
@@ -349,15 +351,15 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             newInstanceMethodBuilder.addStatement( "value = bufferedProperties.remove($S)", name );
             newInstanceMethodBuilder.beginControlFlow( "if (null != value)" );
             if ( null != propertyInfo.getType().isPrimitive() ) {
-                newInstanceMethodBuilder.addStatement( "$L = ($T) $L.deserialize(ctx.newJsonReader(value), ctx)",
+                newInstanceMethodBuilder.addStatement( "$L = ($T) $L.deserialize(value, ctx)",
                         variableName, typeName( true, propertyInfo.getType() ), INSTANCE_BUILDER_DESERIALIZER_PREFIX + variableName );
             } else {
-                newInstanceMethodBuilder.addStatement( "$L = $L.deserialize(ctx.newJsonReader(value), ctx)",
+                newInstanceMethodBuilder.addStatement( "$L = $L.deserialize(value, ctx)",
                         variableName, INSTANCE_BUILDER_DESERIALIZER_PREFIX + variableName );
             }
             newInstanceMethodBuilder.addStatement( "nbParamToFind--" );
             if ( propertyInfo.isRequired() ) {
-                newInstanceMethodBuilder.addStatement( "requiredProperties.remove($S)", name );
+                addRequiredPropertyRead( newInstanceMethodBuilder, requiredProperties.indexOf( name ) );
             }
             newInstanceMethodBuilder.endControlFlow();
         }
@@ -380,7 +382,7 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                     variableName, INSTANCE_BUILDER_DESERIALIZER_PREFIX + variableName );
             newInstanceMethodBuilder.addStatement( "nbParamToFind--" );
             if ( propertyInfo.isRequired() ) {
-                newInstanceMethodBuilder.addStatement( "requiredProperties.remove($S)", name );
+                addRequiredPropertyRead( newInstanceMethodBuilder, requiredProperties.indexOf( name ) );
             }
             newInstanceMethodBuilder.addStatement( "continue" );
             newInstanceMethodBuilder.endControlFlow();
@@ -390,18 +392,28 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
 
         newInstanceMethodBuilder.beginControlFlow( "if (null == bufferedProperties)" );
         newInstanceMethodBuilder.addStatement( "bufferedProperties = new $T()",
-                ParameterizedTypeName.get( HashMap.class, String.class, String.class ) );
+                ParameterizedTypeName.get( HashMap.class, String.class, JsonReader.class ) );
         newInstanceMethodBuilder.endControlFlow();
-        newInstanceMethodBuilder.addStatement( "bufferedProperties.put(name, reader.nextValue())" );
+        newInstanceMethodBuilder.addStatement( "bufferedProperties.put(name, reader.bufferValue())" );
 
         newInstanceMethodBuilder.endControlFlow();
 
         newInstanceMethodBuilder.addCode( "\n" );
 
         if ( !requiredProperties.isEmpty() ) {
-            newInstanceMethodBuilder.beginControlFlow( "if (!requiredProperties.isEmpty())" );
-            newInstanceMethodBuilder
-                    .addStatement( "throw ctx.traceError(\"Required properties are missing : \" + requiredProperties, reader)" );
+            CodeBlock names = CodeBlock.builder()
+                    .add( Joiner.on( ", " ).join( Collections2.transform( requiredProperties, new Function<String, Object>() {
+                        @Nullable
+                        @Override
+                        public Object apply( String s ) {
+                            return "$S";
+                        }
+                    } ) ), requiredProperties.toArray() ).build();
+
+            newInstanceMethodBuilder.beginControlFlow( "if (0 != $L)", Joiner.on( " || 0 != " ).join( requiredPropertyMasks ) );
+            newInstanceMethodBuilder.addStatement( "throw ctx.traceError(\"Required properties are missing : \" + "
+                    + "getMissingRequiredProperties(new $T[]{$L}, $L), reader)", String.class, names, Joiner.on( ", " )
+                    .join( requiredPropertyMasks ) );
             newInstanceMethodBuilder.endControlFlow();
             newInstanceMethodBuilder.addCode( "\n" );
         }
@@ -508,6 +520,12 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
 
         if ( !deserializerProperties.isEmpty() ) {
             typeBuilder.addMethod( buildInitDeserializersMethod( deserializerProperties ) );
+            List<String> propertyNames = new ArrayList<String>();
+            for ( PropertyInfo property : deserializerProperties.keySet() ) {
+                propertyNames.add( property.getPropertyName() );
+            }
+            typeBuilder.addMethod( buildGetIndexedPropertyNamesMethod( propertyNames ) );
+            typeBuilder.addMethod( buildGetPropertyIndexMethod( propertyNames ) );
         }
 
         if ( !backReferenceProperties.isEmpty() ) {
@@ -578,6 +596,62 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
         return builder.build();
     }
 
+    private MethodSpec buildGetIndexedPropertyNamesMethod( List<String> propertyNames ) {
+        CodeBlock names = CodeBlock.builder()
+                .add( Joiner.on( ", " ).join( Collections2.transform( propertyNames, new Function<String, Object>() {
+                    @Nullable
+                    @Override
+                    public Object apply( String s ) {
+                        return "$S";
+                    }
+                } ) ), propertyNames.toArray() ).build();
+
+        return MethodSpec.methodBuilder( "getIndexedPropertyNames" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( String[].class )
+                .addStatement( "return new $T[]{$L}", String.class, names )
+                .build();
+    }
+
+    /**
+     * Generates a dispatch on the length of the name then on its value. It does not rely on a switch on strings to stay compatible
+     * with all the source levels.
+     */
+    private MethodSpec buildGetPropertyIndexMethod( List<String> propertyNames ) {
+        Map<Integer, List<Integer>> indexesByLength = new TreeMap<Integer, List<Integer>>();
+        for ( int i = 0; i < propertyNames.size(); i++ ) {
+            int length = propertyNames.get( i ).length();
+            List<Integer> indexes = indexesByLength.get( length );
+            if ( null == indexes ) {
+                indexes = new ArrayList<Integer>();
+                indexesByLength.put( length, indexes );
+            }
+            indexes.add( i );
+        }
+
+        MethodSpec.Builder builder = MethodSpec.methodBuilder( "getPropertyIndex" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .returns( int.class )
+                .addParameter( String.class, "propertyName" )
+                .beginControlFlow( "switch (propertyName.length())" );
+
+        for ( Entry<Integer, List<Integer>> entry : indexesByLength.entrySet() ) {
+            builder.addCode( "case $L:\n", entry.getKey() ).addCode( "$>" );
+            for ( Integer index : entry.getValue() ) {
+                builder.beginControlFlow( "if ($S.equals(propertyName))", propertyNames.get( index ) )
+                        .addStatement( "return $L", index )
+                        .endControlFlow();
+            }
+            builder.addStatement( "break" ).addCode( "$<" );
+        }
+
+        return builder.endControlFlow()
+                .addStatement( "return -1" )
+                .build();
+    }
+
     private TypeSpec buildDeserializer( PropertyInfo property, JType propertyType, JDeserializerType deserializerType )
             throws UnableToCompleteException {
         final String paramValue = "value";
@@ -594,6 +668,26 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
             superclass = BeanPropertyDeserializer.class;
         }
 
+        Optional<Class> primitivePropertyDeserializer = getPrimitivePropertyDeserializer( property, propertyType );
+        if ( !property.isAnySetter() && primitivePropertyDeserializer.isPresent() ) {
+            TypeSpec.Builder builder = TypeSpec.anonymousClassBuilder( "" )
+                    .superclass( ParameterizedTypeName
+                            .get( ClassName.get( primitivePropertyDeserializer.get() ), typeName( true, beanInfo.getType() ) ) )
+                    .addMethod( MethodSpec.methodBuilder( "setPrimitiveValue" )
+                            .addModifiers( Modifier.PUBLIC )
+                            .addAnnotation( Override.class )
+                            .addParameter( typeName( beanInfo.getType() ), paramBean )
+                            .addParameter( typeName( propertyType ), paramValue )
+                            .addParameter( JsonDeserializationContext.class, "ctx" )
+                            .addStatement( "$L", accessor.getAccessor() )
+                            .build() );
+
+            if ( accessor.getAdditionalMethod().isPresent() ) {
+                builder.addMethod( accessor.getAdditionalMethod().get() );
+            }
+            return builder.build();
+        }
+
         TypeSpec.Builder builder = TypeSpec.anonymousClassBuilder( "" )
                 .superclass( ParameterizedTypeName
                         .get( ClassName.get( superclass ), typeName( true, beanInfo.getType() ), rawName( true, propertyType ) ) );
@@ -628,6 +722,43 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
         return builder.build();
     }
 
+    /**
+     * Clears the bit of a required property in its mask.
+     *
+     * @param builder builder of the method
+     * @param requiredPropertyIndex index of the property in the list of the required properties
+     */
+    private void addRequiredPropertyRead( MethodSpec.Builder builder, int requiredPropertyIndex ) {
+        builder.addStatement( "requiredProperties$L &= ~(1 << $L)", requiredPropertyIndex / 32, requiredPropertyIndex % 32 );
+    }
+
+    /**
+     * @param property the property
+     * @param propertyType the type of the property
+     *
+     * @return the property deserializer specialized for the type of the property if it is a primitive deserialized by its default
+     * deserializer and without parameters
+     */
+    private Optional<Class> getPrimitivePropertyDeserializer( PropertyInfo property, JType propertyType ) {
+        JPrimitiveType type = propertyType.isPrimitive();
+        if ( null == type || property.getManagedReference().isPresent() || hasPropertyDeserializerParameters( property ) ) {
+            return Optional.absent();
+        }
+        if ( JPrimitiveType.INT == type && isDefaultMapper( type, IntegerJsonDeserializer.class ) ) {
+            return Optional.<Class>of( IntBeanPropertyDeserializer.class );
+        }
+        if ( JPrimitiveType.LONG == type && isDefaultMapper( type, LongJsonDeserializer.class ) ) {
+            return Optional.<Class>of( LongBeanPropertyDeserializer.class );
+        }
+        if ( JPrimitiveType.DOUBLE == type && isDefaultMapper( type, DoubleJsonDeserializer.class ) ) {
+            return Optional.<Class>of( DoubleBeanPropertyDeserializer.class );
+        }
+        if ( JPrimitiveType.BOOLEAN == type && isDefaultMapper( type, BooleanJsonDeserializer.class ) ) {
+            return Optional.<Class>of( BooleanBeanPropertyDeserializer.class );
+        }
+        return Optional.absent();
+    }
+
     private List<MethodSpec> buildCommonPropertyDeserializerMethods( PropertyInfo property )
             throws UnableToCompleteException, UnsupportedTypeException {
         return buildCommonPropertyDeserializerMethods( property, getJsonDeserializerFromType( property.getType() ) );
@@ -655,11 +786,7 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
     private Optional<MethodSpec> buildPropertyDeserializerParameters( PropertyInfo property, JDeserializerType deserializerType )
             throws UnableToCompleteException {
 
-        if ( !property.getFormat().isPresent()
-                && !property.getIgnoredProperties().isPresent()
-                && !property.getIgnoreUnknown().isPresent()
-                && !property.getIdentityInfo().isPresent()
-                && !property.getTypeInfo().isPresent() ) {
+        if ( !hasPropertyDeserializerParameters( property ) ) {
             // none of the parameter are set so we don't generate the method
             return Optional.absent();
         }
@@ -891,4 +1018,12 @@ public class BeanJsonDeserializerCreator extends AbstractBeanJsonCreator {
                 .build();
     }
 
+
+    private boolean hasPropertyDeserializerParameters( PropertyInfo property ) {
+        return property.getFormat().isPresent()
+                || property.getIgnoredProperties().isPresent()
+                || property.getIgnoreUnknown().isPresent()
+                || property.getIdentityInfo().isPresent()
+                || property.getTypeInfo().isPresent();
+    }
 }
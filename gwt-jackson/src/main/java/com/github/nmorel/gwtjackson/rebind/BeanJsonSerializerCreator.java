@@ -23,17 +23,28 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.ObjectIdGenerator;
 import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
 import com.github.nmorel.gwtjackson.client.JsonSerializer;
 import com.github.nmorel.gwtjackson.client.JsonSerializerParameters;
+import com.github.nmorel.gwtjackson.client.ser.BaseDateJsonSerializer.DateJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseDateJsonSerializer.SqlTimestampJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.DoubleJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.IntegerJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BaseNumberJsonSerializer.LongJsonSerializer;
+import com.github.nmorel.gwtjackson.client.ser.BooleanJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.RawValueJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.AbstractBeanJsonSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.AbstractIdentitySerializationInfo;
 import com.github.nmorel.gwtjackson.client.ser.bean.AnyGetterPropertySerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.BeanPropertySerializer;
+import com.github.nmorel.gwtjackson.client.ser.bean.BooleanBeanPropertySerializer;
+import com.github.nmorel.gwtjackson.client.ser.bean.DoubleBeanPropertySerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.IdentitySerializationInfo;
+import com.github.nmorel.gwtjackson.client.ser.bean.IntBeanPropertySerializer;
+import com.github.nmorel.gwtjackson.client.ser.bean.LongBeanPropertySerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.ObjectIdSerializer;
 import com.github.nmorel.gwtjackson.client.ser.bean.PropertyIdentitySerializationInfo;
 import com.github.nmorel.gwtjackson.client.ser.bean.SubtypeSerializer;
@@ -42,6 +53,7 @@ import com.github.nmorel.gwtjackson.client.ser.bean.SubtypeSerializer.DefaultSub
 import com.github.nmorel.gwtjackson.client.ser.bean.TypeSerializationInfo;
 import com.github.nmorel.gwtjackson.client.ser.map.MapJsonSerializer;
 import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.utils.DateFormat;
 import com.github.nmorel.gwtjackson.rebind.bean.BeanIdentityInfo;
 import com.github.nmorel.gwtjackson.rebind.exception.UnsupportedTypeException;
 import com.github.nmorel.gwtjackson.rebind.property.FieldAccessor.Accessor;
@@ -52,7 +64,9 @@ import com.google.gwt.core.ext.TreeLogger;
 import com.google.gwt.core.ext.TreeLogger.Type;
 import com.google.gwt.core.ext.UnableToCompleteException;
 import com.google.gwt.core.ext.typeinfo.JClassType;
+import com.google.gwt.core.ext.typeinfo.JPrimitiveType;
 import com.google.gwt.core.ext.typeinfo.JType;
+import com.google.gwt.i18n.client.DateTimeFormat;
 import com.google.gwt.i18n.client.TimeZone;
 import com.google.gwt.thirdparty.guava.common.base.Optional;
 import com.google.gwt.thirdparty.guava.common.base.Strings;
@@ -60,6 +74,7 @@ import com.google.gwt.thirdparty.guava.common.collect.ImmutableList;
 import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
@@ -103,6 +118,7 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
                 }
                 if ( !propertiesMap.isEmpty() ) {
                     typeBuilder.addMethod( buildInitSerializersMethod( propertiesMap ) );
+                    typeBuilder.addMethod( buildSerializePropertiesMethod( propertiesMap ) );
                 }
             }
         }
@@ -175,6 +191,72 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
         return builder.build();
     }
 
+    private MethodSpec buildSerializePropertiesMethod( Map<PropertyInfo, JSerializerType> properties ) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder( "serializeProperties" )
+                .addModifiers( Modifier.PROTECTED )
+                .addAnnotation( Override.class )
+                .addParameter( JsonWriter.class, "writer" )
+                .addParameter( typeName( beanInfo.getType() ), "bean" )
+                .addParameter( JsonSerializationContext.class, "ctx" );
+
+        int i = 0;
+        for ( Entry<PropertyInfo, JSerializerType> entry : properties.entrySet() ) {
+            PropertyInfo property = entry.getKey();
+            JSerializerType serializerType = entry.getValue();
+            Accessor getterAccessor = property.getGetterAccessor().get().getAccessor( "bean" );
+
+            boolean directAccess = !getterAccessor.getAdditionalMethod().isPresent();
+
+            if ( directAccess && getPrimitivePropertySerializer( property ).isPresent() ) {
+                // the primitive is written directly without boxing it
+                addPrerenderedName( builder, property );
+                builder.addStatement( "writer.value($L)", getterAccessor.getAccessor() );
+            } else if ( directAccess && serializerType.isSharedInstance() && !property.isRawValue()
+                    && !hasPropertySerializerParameters( property ) ) {
+                // the serializer is stateless and the property has no parameter so we can serialize it inline
+                addPrerenderedName( builder, property );
+                builder.addStatement( "$L.serialize(writer, $L, ctx)", serializerType.getInstance(), getterAccessor.getAccessor() );
+            } else {
+                builder.addStatement( "serializers[$L].serializePropertyName(writer, bean, ctx)", i );
+                builder.addStatement( "serializers[$L].serialize(writer, bean, ctx)", i );
+            }
+            i++;
+        }
+
+        return builder.build();
+    }
+
+    private void addPrerenderedName( MethodSpec.Builder builder, PropertyInfo property ) {
+        String escapedPropertyName = escapeString( property.getPropertyName() );
+        builder.addStatement( "writer.prerenderedName(\"$L\", $S)", escapedPropertyName, ",\"" + escapedPropertyName + "\":" );
+    }
+
+    /**
+     * @param property the property
+     *
+     * @return the property serializer specialized for the type of the property if it is a primitive serialized by its default
+     * serializer and without parameters
+     */
+    private Optional<Class> getPrimitivePropertySerializer( PropertyInfo property ) {
+        JPrimitiveType type = property.getType().isPrimitive();
+        if ( null == type || property.isRawValue() || hasPropertySerializerParameters( property ) ) {
+            return Optional.absent();
+        }
+        if ( JPrimitiveType.INT == type && isDefaultMapper( type, IntegerJsonSerializer.class ) ) {
+            return Optional.<Class>of( IntBeanPropertySerializer.class );
+        }
+        if ( JPrimitiveType.LONG == type && isDefaultMapper( type, LongJsonSerializer.class ) ) {
+            return Optional.<Class>of( LongBeanPropertySerializer.class );
+        }
+        if ( JPrimitiveType.DOUBLE == type && isDefaultMapper( type, DoubleJsonSerializer.class ) ) {
+            return Optional.<Class>of( DoubleBeanPropertySerializer.class );
+        }
+        if ( JPrimitiveType.BOOLEAN == type && isDefaultMapper( type, BooleanJsonSerializer.class ) ) {
+            return Optional.<Class>of( BooleanBeanPropertySerializer.class );
+        }
+        return Optional.absent();
+    }
+
     private MethodSpec buildInitAnyGetterPropertySerializerMethod( PropertyInfo anyGetterPropertyInfo )
             throws UnableToCompleteException {
         return MethodSpec.methodBuilder( "initAnyGetterPropertySerializer" )
@@ -192,27 +274,45 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
 
         String escapedPropertyName = escapeString( property.getPropertyName() );
 
+        Optional<Class> primitivePropertySerializer = getPrimitivePropertySerializer( property );
+        if ( !property.isAnyGetter() && primitivePropertySerializer.isPresent() ) {
+            Accessor getterAccessor = property.getGetterAccessor().get().getAccessor( "bean" );
+
+            builder = TypeSpec.anonymousClassBuilder( "\"$L\", $S", escapedPropertyName, ",\"" + escapedPropertyName + "\":" )
+                    .superclass( parameterizedName( primitivePropertySerializer.get(), beanInfo.getType() ) )
+                    .addMethod( MethodSpec.methodBuilder( "getPrimitiveValue" )
+                            .addModifiers( Modifier.PUBLIC )
+                            .addAnnotation( Override.class )
+                            .returns( typeName( property.getType() ) )
+                            .addParameter( typeName( beanInfo.getType() ), "bean" )
+                            .addParameter( JsonSerializationContext.class, "ctx" )
+                            .addStatement( "return $L", getterAccessor.getAccessor() )
+                            .build() );
+
+            if ( getterAccessor.getAdditionalMethod().isPresent() ) {
+                builder.addMethod( getterAccessor.getAdditionalMethod().get() );
+            }
+            return builder.build();
+        }
+
         if ( property.isAnyGetter() ) {
             builder = TypeSpec.anonymousClassBuilder( "" )
                     .superclass( parameterizedName( AnyGetterPropertySerializer.class, beanInfo.getType() ) );
         } else {
-            builder = TypeSpec.anonymousClassBuilder( "\"$L\"", escapedPropertyName )
+            // the token is written as-is so the name is escaped at compile time
+            builder = TypeSpec.anonymousClassBuilder( "\"$L\", $S", escapedPropertyName, ",\"" + escapedPropertyName + "\":" )
                     .superclass( parameterizedName( BeanPropertySerializer.class, beanInfo.getType(), property.getType() ) );
         }
 
         buildBeanPropertySerializerBody( builder, beanInfo.getType(), property, serializerType );
 
-        boolean requireEscaping = !property.getPropertyName().equals( escapedPropertyName );
-        if ( property.isUnwrapped() || requireEscaping ) {
+        if ( property.isUnwrapped() ) {
             MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder( "serializePropertyName" )
                     .addModifiers( Modifier.PUBLIC )
                     .addAnnotation( Override.class )
                     .addParameter( JsonWriter.class, "writer" )
                     .addParameter( typeName( beanInfo.getType() ), "bean" )
                     .addParameter( JsonSerializationContext.class, "ctx" );
-            if ( !property.isUnwrapped() ) {
-                methodBuilder.addStatement( "writer.name(propertyName)" );
-            }
             builder.addMethod( methodBuilder.build() );
         }
 
@@ -368,9 +468,13 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
         }
         builder.addMethod( newSerializerMethodBuilder.build() );
 
-        Optional<MethodSpec> paramMethod = generatePropertySerializerParameters( property, serializerType );
-        if ( paramMethod.isPresent() ) {
-            builder.addMethod( paramMethod.get() );
+        if ( isResolvedAtCompileTime( property, serializerType ) ) {
+            buildResolvedSerializeMethod( builder, property );
+        } else {
+            Optional<MethodSpec> paramMethod = generatePropertySerializerParameters( property, serializerType );
+            if ( paramMethod.isPresent() ) {
+                builder.addMethod( paramMethod.get() );
+            }
         }
 
         builder.addMethod( MethodSpec.methodBuilder( "getValue" )
@@ -391,13 +495,7 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
     private Optional<MethodSpec> generatePropertySerializerParameters( PropertyInfo property, JSerializerType serializerType )
             throws UnableToCompleteException {
 
-        if ( !property.getFormat().isPresent()
-                && !property.getIgnoredProperties().isPresent()
-                && !property.getIgnoreUnknown().isPresent()
-                && !property.getIdentityInfo().isPresent()
-                && !property.getTypeInfo().isPresent()
-                && !property.getInclude().isPresent()
-                && !property.isUnwrapped() ) {
+        if ( !hasPropertySerializerParameters( property ) ) {
             // none of the parameter are set so we don't generate the method
             return Optional.absent();
         }
@@ -412,14 +510,9 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
         buildCommonPropertyParameters( paramBuilder, property );
 
         if ( property.getFormat().isPresent() ) {
-            JsonFormat format = property.getFormat().get();
-            if ( !Strings.isNullOrEmpty( format.timezone() ) && !JsonFormat.DEFAULT_TIMEZONE.equals( format.timezone() ) ) {
-                java.util.TimeZone timeZoneJdk = java.util.TimeZone.getTimeZone( format.timezone() );
-                // in java the offset is in milliseconds from timezone to GMT
-                // in gwt the offset is in minutes from GMT to timezone
-                // so we convert the milliseconds in minutes and invert the sign
-                int timeZoneOffsetGwt = (timeZoneJdk.getRawOffset() / 1000 / 60) * -1;
-                paramBuilder.add( "\n.setTimezone($T.createTimeZone($L))", TimeZone.class, timeZoneOffsetGwt );
+            Optional<Integer> timeZoneOffset = getTimeZoneOffset( property.getFormat().get() );
+            if ( timeZoneOffset.isPresent() ) {
+                paramBuilder.add( "\n.setTimezone($T.createTimeZone($L))", TimeZone.class, timeZoneOffset.get() );
             }
         }
 
@@ -456,4 +549,178 @@ public class BeanJsonSerializerCreator extends AbstractBeanJsonCreator {
                 .addCode( paramBuilder.build() )
                 .build() );
     }
+
+    /**
+     * @param format the format of the property
+     *
+     * @return the offset in minutes of the timezone defined by the format, as expected by {@link TimeZone#createTimeZone(int)}
+     */
+    private Optional<Integer> getTimeZoneOffset( JsonFormat format ) {
+        if ( Strings.isNullOrEmpty( format.timezone() ) || JsonFormat.DEFAULT_TIMEZONE.equals( format.timezone() ) ) {
+            return Optional.absent();
+        }
+        java.util.TimeZone timeZoneJdk = java.util.TimeZone.getTimeZone( format.timezone() );
+        // in java the offset is in milliseconds from timezone to GMT
+        // in gwt the offset is in minutes from GMT to timezone
+        // so we convert the milliseconds in minutes and invert the sign
+        return Optional.of( (timeZoneJdk.getRawOffset() / 1000 / 60) * -1 );
+    }
+
+    /**
+     * @param property the property
+     * @param serializerType the serializer of the property
+     *
+     * @return true if the only parameters of the property are its include rule and a format read by the default date serializers, so
+     * they can be applied by the generated code instead of being read from {@link JsonSerializerParameters} on each serialization
+     */
+    private boolean isResolvedAtCompileTime( PropertyInfo property, JSerializerType serializerType ) {
+        if ( !property.getInclude().isPresent() && !property.getFormat().isPresent() ) {
+            return false;
+        }
+        if ( property.isRawValue() || property.isAnyGetter() || property.isUnwrapped() || property.getIgnoredProperties().isPresent()
+                || property.getIgnoreUnknown().isPresent() || property.getIdentityInfo().isPresent() || property.getTypeInfo().isPresent() ) {
+            return false;
+        }
+        if ( !serializerType.isBeanMapper() && !serializerType.isSharedInstance() ) {
+            // the serializers of containers pass the parameters to the serializers of their elements
+            return false;
+        }
+        if ( property.getInclude().isPresent() ) {
+            switch ( property.getInclude().get() ) {
+                case ALWAYS:
+                case NON_DEFAULT:
+                case NON_EMPTY:
+                case NON_NULL:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        if ( property.getFormat().isPresent() ) {
+            String locale = property.getFormat().get().locale();
+            if ( !Strings.isNullOrEmpty( locale ) && !JsonFormat.DEFAULT_LOCALE.equals( locale ) ) {
+                // we keep the parameters so the locale is still given to the serializer
+                return false;
+            }
+            return isDefaultMapper( property.getType(), DateJsonSerializer.class )
+                    || isDefaultMapper( property.getType(), SqlTimestampJsonSerializer.class );
+        }
+        return true;
+    }
+
+    /**
+     * Generates the serialize method of a property whose parameters are resolved at compile time. Only the
+     * {@link JsonSerializationContext#isSerializeNulls()} and {@link JsonSerializationContext#isWriteDatesAsTimestamps()} options are
+     * still read at runtime.
+     *
+     * @param builder the builder of the property serializer
+     * @param property the property
+     */
+    private void buildResolvedSerializeMethod( TypeSpec.Builder builder, PropertyInfo property ) {
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder( "serialize" )
+                .addModifiers( Modifier.PUBLIC )
+                .addAnnotation( Override.class )
+                .addParameter( JsonWriter.class, "writer" )
+                .addParameter( typeName( beanInfo.getType() ), "bean" )
+                .addParameter( JsonSerializationContext.class, "ctx" )
+                .addStatement( "$T value = getValue(bean, ctx)", typeName( true, property.getType() ) );
+
+        if ( !property.getInclude().isPresent() ) {
+            methodBuilder.beginControlFlow( "if (null == value)" )
+                    .addStatement( "getSerializer().serialize(writer, null, ctx)" );
+        } else {
+            switch ( property.getInclude().get() ) {
+                case ALWAYS:
+                    methodBuilder.beginControlFlow( "if (null == value)" )
+                            .addStatement( "getSerializer().serializeNull(writer, ctx)" );
+                    break;
+                case NON_DEFAULT:
+                    methodBuilder.beginControlFlow( "if (getSerializer().isDefaultValue(value))" )
+                            .addStatement( "writer.cancelName()" );
+                    break;
+                case NON_EMPTY:
+                    methodBuilder.beginControlFlow( "if (getSerializer().isEmptyValue(value))" )
+                            .addStatement( "writer.cancelName()" );
+                    break;
+                default:
+                    methodBuilder.beginControlFlow( "if (null == value)" )
+                            .addStatement( "writer.cancelName()" );
+                    break;
+            }
+        }
+        methodBuilder.nextControlFlow( "else" );
+
+        if ( property.getFormat().isPresent() ) {
+            buildResolvedDateSerialization( builder, methodBuilder, property.getFormat().get(),
+                    isDefaultMapper( property.getType(), SqlTimestampJsonSerializer.class ) );
+        } else {
+            methodBuilder.addStatement( "getSerializer().serialize(writer, value, ctx)" );
+        }
+
+        builder.addMethod( methodBuilder.endControlFlow().build() );
+    }
+
+    /**
+     * Generates the serialization of a non-null date with the shape, pattern and timezone of its format. It reproduces what
+     * {@link DateJsonSerializer} and {@link SqlTimestampJsonSerializer} do with the same parameters.
+     *
+     * @param builder the builder of the property serializer
+     * @param methodBuilder the builder of the serialize method
+     * @param format the format of the property
+     * @param timestamp true if the property is a {@link java.sql.Timestamp}
+     */
+    private void buildResolvedDateSerialization( TypeSpec.Builder builder, MethodSpec.Builder methodBuilder, JsonFormat format,
+                                                 boolean timestamp ) {
+        if ( format.shape().isNumeric() ) {
+            methodBuilder.addStatement( "writer.value(value.getTime())" );
+            return;
+        }
+
+        // unlike the timestamp serializer, the date serializer writes a string when the shape is STRING whatever the context says
+        boolean timestampAllowed = timestamp || format.shape() != Shape.STRING;
+        if ( timestampAllowed ) {
+            methodBuilder.beginControlFlow( "if (ctx.isWriteDatesAsTimestamps())" )
+                    .addStatement( "writer.value(value.getTime())" )
+                    .nextControlFlow( "else" );
+        }
+
+        Optional<Integer> timeZoneOffset = getTimeZoneOffset( format );
+        if ( timeZoneOffset.isPresent() ) {
+            builder.addField( FieldSpec.builder( TimeZone.class, "timeZone", Modifier.PRIVATE, Modifier.FINAL )
+                    .initializer( "$T.createTimeZone($L)", TimeZone.class, timeZoneOffset.get() )
+                    .build() );
+        }
+
+        if ( Strings.isNullOrEmpty( format.pattern() ) ) {
+            // the ISO-8601 format does not produce any character to escape
+            if ( timeZoneOffset.isPresent() ) {
+                methodBuilder.addStatement( "writer.unescapeValue($T.format(timeZone, value))", DateFormat.class );
+            } else {
+                methodBuilder.addStatement( "writer.unescapeValue($T.format(value))", DateFormat.class );
+            }
+        } else {
+            builder.addField( FieldSpec.builder( DateTimeFormat.class, "format", Modifier.PRIVATE, Modifier.FINAL )
+                    .initializer( "$T.getFormat($S)", DateTimeFormat.class, format.pattern() )
+                    .build() );
+            if ( timeZoneOffset.isPresent() ) {
+                methodBuilder.addStatement( "writer.value($T.format(format, timeZone, value))", DateFormat.class );
+            } else {
+                methodBuilder.addStatement( "writer.value($T.format(format, value))", DateFormat.class );
+            }
+        }
+
+        if ( timestampAllowed ) {
+            methodBuilder.endControlFlow();
+        }
+    }
+
+    private boolean hasPropertySerializerParameters( PropertyInfo property ) {
+        return property.getFormat().isPresent()
+                || property.getIgnoredProperties().isPresent()
+                || property.getIgnoreUnknown().isPresent()
+                || property.getIdentityInfo().isPresent()
+                || property.getTypeInfo().isPresent()
+                || property.getInclude().isPresent()
+                || property.isUnwrapped();
+    }
 }
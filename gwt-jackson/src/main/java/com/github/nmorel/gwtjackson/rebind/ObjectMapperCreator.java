@@ -18,11 +18,14 @@ package com.github.nmorel.gwtjackson.rebind;
 
 import javax.lang.model.element.Modifier;
 import java.io.PrintWriter;
+import java.util.Iterator;
 
 import com.fasterxml.jackson.annotation.JsonRootName;
 import com.github.nmorel.gwtjackson.client.AbstractObjectMapper;
 import com.github.nmorel.gwtjackson.client.AbstractObjectReader;
 import com.github.nmorel.gwtjackson.client.AbstractObjectWriter;
+import com.github.nmorel.gwtjackson.client.ElementReader;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
 import com.github.nmorel.gwtjackson.client.JsonDeserializer;
 import com.github.nmorel.gwtjackson.client.JsonSerializer;
 import com.github.nmorel.gwtjackson.client.ObjectMapper;
@@ -33,14 +36,18 @@ import com.google.gwt.core.ext.GeneratorContext;
 import com.google.gwt.core.ext.TreeLogger;
 import com.google.gwt.core.ext.TreeLogger.Type;
 import com.google.gwt.core.ext.UnableToCompleteException;
+import com.google.gwt.core.ext.typeinfo.JArrayType;
 import com.google.gwt.core.ext.typeinfo.JClassType;
 import com.google.gwt.core.ext.typeinfo.JParameterizedType;
 import com.google.gwt.thirdparty.guava.common.base.Optional;
 import com.google.gwt.thirdparty.guava.common.base.Strings;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
 
 import static com.github.nmorel.gwtjackson.rebind.CreatorUtils.findFirstEncounteredAnnotationsOnAllHierarchy;
 import static com.github.nmorel.gwtjackson.rebind.writer.JTypeName.DEFAULT_WILDCARD;
@@ -58,6 +65,16 @@ public class ObjectMapperCreator extends AbstractCreator {
 
     private static final String OBJECT_WRITER_CLASS = "com.github.nmorel.gwtjackson.client.ObjectWriter";
 
+    private static final String STREAMING_OBJECT_MAPPER_CLASS = "com.github.nmorel.gwtjackson.client.StreamingObjectMapper";
+
+    private static final String STREAMING_OBJECT_READER_CLASS = "com.github.nmorel.gwtjackson.client.StreamingObjectReader";
+
+    private static final String STREAMING_OBJECT_WRITER_CLASS = "com.github.nmorel.gwtjackson.client.StreamingObjectWriter";
+
+    private static final String ELEMENT_READER_CLASS = "com.github.nmorel.gwtjackson.client.ElementReader";
+
+    private static final String ELEMENT_DESERIALIZER_FIELD_NAME = "elementDeserializer";
+
     public ObjectMapperCreator( TreeLogger logger, GeneratorContext context, RebindConfiguration configuration, JacksonTypeOracle
             typeOracle ) throws UnableToCompleteException {
         super( logger, context, configuration, typeOracle );
@@ -122,6 +139,12 @@ public class ObjectMapperCreator extends AbstractCreator {
                 mapperBuilder.addMethod( buildNewDeserializerMethod( mappedTypeClass ) );
             }
 
+            Optional<JClassType> readElementType = extractReadElementType( interfaceClass );
+            if ( readElementType.isPresent() ) {
+                JClassType elementType = extractElementType( mappedTypeClass, readElementType.get() );
+                buildReadElementsMethods( mapperBuilder, elementType, readElementType.get() );
+            }
+
             if ( writer ) {
                 mapperBuilder.addMethod( buildNewSerializerMethod( mappedTypeClass ) );
             }
@@ -152,38 +175,104 @@ public class ObjectMapperCreator extends AbstractCreator {
         JClassType[] intfs = intf.getImplementedInterfaces();
         for ( JClassType t : intfs ) {
             if ( t.getQualifiedSourceName().equals( OBJECT_MAPPER_CLASS ) ) {
-                return extractParameterizedType( OBJECT_MAPPER_CLASS, t.isParameterized() );
+                return extractParameterizedType( OBJECT_MAPPER_CLASS, t.isParameterized(), 1 )[0];
             } else if ( t.getQualifiedSourceName().equals( OBJECT_READER_CLASS ) ) {
-                return extractParameterizedType( OBJECT_READER_CLASS, t.isParameterized() );
+                return extractParameterizedType( OBJECT_READER_CLASS, t.isParameterized(), 1 )[0];
             } else if ( t.getQualifiedSourceName().equals( OBJECT_WRITER_CLASS ) ) {
-                return extractParameterizedType( OBJECT_WRITER_CLASS, t.isParameterized() );
+                return extractParameterizedType( OBJECT_WRITER_CLASS, t.isParameterized(), 1 )[0];
+            } else if ( t.getQualifiedSourceName().equals( STREAMING_OBJECT_MAPPER_CLASS ) ) {
+                return extractParameterizedType( STREAMING_OBJECT_MAPPER_CLASS, t.isParameterized(), 1 )[0];
+            } else if ( t.getQualifiedSourceName().equals( STREAMING_OBJECT_READER_CLASS ) ) {
+                return extractParameterizedType( STREAMING_OBJECT_READER_CLASS, t.isParameterized(), 1 )[0];
+            } else if ( t.getQualifiedSourceName().equals( STREAMING_OBJECT_WRITER_CLASS ) ) {
+                return extractParameterizedType( STREAMING_OBJECT_WRITER_CLASS, t.isParameterized(), 1 )[0];
+            } else if ( t.getQualifiedSourceName().equals( ELEMENT_READER_CLASS ) ) {
+                return extractParameterizedType( ELEMENT_READER_CLASS, t.isParameterized(), 2 )[0];
             }
         }
         logger.log( TreeLogger.Type.ERROR, "Expected  " + interfaceClass + " to extend one of the following interface : " +
-                OBJECT_MAPPER_CLASS + ", " + OBJECT_READER_CLASS + " or " + OBJECT_WRITER_CLASS );
+                OBJECT_MAPPER_CLASS + ", " + OBJECT_READER_CLASS + ", " + OBJECT_WRITER_CLASS + ", " + STREAMING_OBJECT_MAPPER_CLASS +
+                ", " + STREAMING_OBJECT_READER_CLASS + ", " + STREAMING_OBJECT_WRITER_CLASS + " or " + ELEMENT_READER_CLASS );
         throw new UnableToCompleteException();
     }
 
     /**
-     * Extract the parameter's type.
+     * Extract the type of the elements returned by {@link ElementReader#readElements(String)} from the interface.
+     *
+     * @param interfaceClass the interface
+     *
+     * @return the extracted type or absent if the interface does not extend {@link ElementReader}
+     * @throws UnableToCompleteException if the {@link ElementReader} declaration is not parameterized
+     */
+    private Optional<JClassType> extractReadElementType( JClassType interfaceClass ) throws UnableToCompleteException {
+        for ( JClassType t : interfaceClass.getImplementedInterfaces() ) {
+            if ( t.getQualifiedSourceName().equals( ELEMENT_READER_CLASS ) ) {
+                return Optional.of( extractParameterizedType( ELEMENT_READER_CLASS, t.isParameterized(), 2 )[1] );
+            }
+        }
+        return Optional.absent();
+    }
+
+    /**
+     * Extract the parameter's types.
      *
      * @param clazz the name of the interface
      * @param parameterizedType the parameterized type
+     * @param nbTypeParameters the expected number of parameters
      *
-     * @return the extracted type
-     * @throws UnableToCompleteException if the type contains zero or more than one parameter
+     * @return the extracted types
+     * @throws UnableToCompleteException if the type does not contain the expected number of parameters
      */
-    private JClassType extractParameterizedType( String clazz, JParameterizedType parameterizedType ) throws UnableToCompleteException {
+    private JClassType[] extractParameterizedType( String clazz, JParameterizedType parameterizedType, int nbTypeParameters ) throws
+            UnableToCompleteException {
         if ( parameterizedType == null ) {
             logger.log( TreeLogger.Type.ERROR, "Expected the " + clazz + " declaration to specify a parameterized type." );
             throw new UnableToCompleteException();
         }
         JClassType[] typeParameters = parameterizedType.getTypeArgs();
-        if ( typeParameters == null || typeParameters.length != 1 ) {
-            logger.log( TreeLogger.Type.ERROR, "Expected the " + clazz + " declaration to specify 1 parameterized type." );
+        if ( typeParameters == null || typeParameters.length != nbTypeParameters ) {
+            logger.log( TreeLogger.Type.ERROR, "Expected the " + clazz + " declaration to specify " + nbTypeParameters + " " +
+                    "parameterized type." );
             throw new UnableToCompleteException();
         }
-        return typeParameters[0];
+        return typeParameters;
+    }
+
+    /**
+     * Extract the type of the elements of the mapped type and check it can be assigned to the type of the elements read.
+     *
+     * @param mappedTypeClass the type to map
+     * @param readElementType the type of the elements returned by {@link ElementReader#readElements(String)}
+     *
+     * @return the extracted type
+     * @throws UnableToCompleteException if the mapped type is not a collection or an array of objects or if its elements cannot be
+     * assigned to the type of the elements read
+     */
+    private JClassType extractElementType( JClassType mappedTypeClass, JClassType readElementType ) throws UnableToCompleteException {
+        JClassType elementType = null;
+        JArrayType arrayType = mappedTypeClass.isArray();
+        if ( null != arrayType ) {
+            if ( null == arrayType.getComponentType().isPrimitive() ) {
+                elementType = (JClassType) arrayType.getComponentType();
+            }
+        } else if ( typeOracle.isIterable( mappedTypeClass ) && null != mappedTypeClass.isParameterized() && mappedTypeClass
+                .isParameterized().getTypeArgs().length == 1 ) {
+            elementType = mappedTypeClass.isParameterized().getTypeArgs()[0];
+        }
+
+        if ( null == elementType ) {
+            logger.log( TreeLogger.Type.ERROR, "Expected the type " + mappedTypeClass.getParameterizedQualifiedSourceName() + " read by "
+                    + ELEMENT_READER_CLASS + " to be a collection or an array of objects." );
+            throw new UnableToCompleteException();
+        }
+
+        JClassType assignedType = null == elementType.isWildcard() ? elementType : elementType.isWildcard().getUpperBound();
+        if ( !assignedType.isAssignableTo( readElementType ) ) {
+            logger.log( TreeLogger.Type.ERROR, "The elements of the type " + mappedTypeClass.getParameterizedQualifiedSourceName() + " " +
+                    "cannot be assigned to " + readElementType.getParameterizedQualifiedSourceName() + "." );
+            throw new UnableToCompleteException();
+        }
+        return elementType;
     }
 
     /**
@@ -233,6 +322,50 @@ public class ObjectMapperCreator extends AbstractCreator {
                 .build();
     }
 
+    /**
+     * Build the readElements methods of {@link ElementReader}.
+     *
+     * @param mapperBuilder the builder of the mapper
+     * @param elementType the type of the elements of the mapped type
+     * @param readElementType the type of the elements returned by {@link ElementReader#readElements(String)}
+     */
+    private void buildReadElementsMethods( TypeSpec.Builder mapperBuilder, JClassType elementType, JClassType readElementType ) throws
+            UnableToCompleteException {
+        JDeserializerType type;
+        try {
+            type = getJsonDeserializerFromType( elementType );
+        } catch ( UnsupportedTypeException e ) {
+            logger.log( Type.ERROR, "Cannot generate mapper due to previous errors : " + e.getMessage() );
+            throw new UnableToCompleteException();
+        }
+
+        TypeName readElementTypeName = typeName( readElementType );
+        TypeName iteratorName = ParameterizedTypeName.get( ClassName.get( Iterator.class ), readElementTypeName );
+
+        mapperBuilder.addField( FieldSpec.builder( ParameterizedTypeName.get( ClassName.get( JsonDeserializer.class ), WildcardTypeName
+                .subtypeOf( readElementTypeName ) ), ELEMENT_DESERIALIZER_FIELD_NAME, Modifier.PRIVATE ).build() );
+
+        mapperBuilder.addMethod( MethodSpec.methodBuilder( "readElements" )
+                .addModifiers( Modifier.PUBLIC )
+                .addAnnotation( Override.class )
+                .returns( iteratorName )
+                .addParameter( String.class, "in" )
+                .addStatement( "return readElements(in, $T.builder().build())", JsonDeserializationContext.class )
+                .build() );
+
+        mapperBuilder.addMethod( MethodSpec.methodBuilder( "readElements" )
+                .addModifiers( Modifier.PUBLIC )
+                .addAnnotation( Override.class )
+                .returns( iteratorName )
+                .addParameter( String.class, "in" )
+                .addParameter( JsonDeserializationContext.class, "ctx" )
+                .beginControlFlow( "if (null == $L)", ELEMENT_DESERIALIZER_FIELD_NAME )
+                .addStatement( "$L = $L", ELEMENT_DESERIALIZER_FIELD_NAME, type.getInstance() )
+                .endControlFlow()
+                .addStatement( "return this.<$T>readElements(in, ctx, $L)", readElementTypeName, ELEMENT_DESERIALIZER_FIELD_NAME )
+                .build() );
+    }
+
     /**
      * Build the new serializer method.
      *
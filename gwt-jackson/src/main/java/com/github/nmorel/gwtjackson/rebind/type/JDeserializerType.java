@@ -36,11 +36,12 @@ public final class JDeserializerType extends JMapperType {
             if ( null == parameters ) {
                 parameters = ImmutableList.of();
             }
-            return new JDeserializerType( beanMapper, type, instance, parameters );
+            return new JDeserializerType( beanMapper, sharedInstance, type, instance, parameters );
         }
     }
 
-    private JDeserializerType( boolean beanMapper, JType type, CodeBlock instance, ImmutableList<JDeserializerType> parameters ) {
-        super( beanMapper, type, instance, parameters );
+    private JDeserializerType( boolean beanMapper, boolean sharedInstance, JType type, CodeBlock instance, ImmutableList<JDeserializerType>
+            parameters ) {
+        super( beanMapper, sharedInstance, type, instance, parameters );
     }
 }
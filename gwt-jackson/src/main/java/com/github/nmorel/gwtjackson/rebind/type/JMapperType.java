@@ -31,6 +31,8 @@ public abstract class JMapperType {
 
         protected boolean beanMapper;
 
+        protected boolean sharedInstance;
+
         protected JType type;
 
         protected CodeBlock instance;
@@ -42,6 +44,11 @@ public abstract class JMapperType {
             return (B) this;
         }
 
+        public B sharedInstance( boolean sharedInstance ) {
+            this.sharedInstance = sharedInstance;
+            return (B) this;
+        }
+
         public B type( JType type ) {
             this.type = type;
             return (B) this;
@@ -60,14 +67,18 @@ public abstract class JMapperType {
 
     protected final boolean beanMapper;
 
+    protected final boolean sharedInstance;
+
     protected final JType type;
 
     protected final CodeBlock instance;
 
     protected final ImmutableList<? extends JMapperType> parameters;
 
-    protected JMapperType( boolean beanMapper, JType type, CodeBlock instance, ImmutableList<? extends JMapperType> parameters ) {
+    protected JMapperType( boolean beanMapper, boolean sharedInstance, JType type, CodeBlock instance, ImmutableList<? extends
+            JMapperType> parameters ) {
         this.beanMapper = beanMapper;
+        this.sharedInstance = sharedInstance;
         this.type = type;
         this.instance = instance;
         this.parameters = parameters;
@@ -77,6 +88,14 @@ public abstract class JMapperType {
         return beanMapper;
     }
 
+    /**
+     * @return true if the instance code returns a shared instance through a static method without parameter, so it can be called each
+     * time the mapper is needed instead of being kept in a field
+     */
+    public final boolean isSharedInstance() {
+        return sharedInstance;
+    }
+
     public final JType getType() {
         return type;
     }
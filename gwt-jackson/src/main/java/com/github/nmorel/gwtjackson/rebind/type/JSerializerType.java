@@ -36,11 +36,12 @@ public final class JSerializerType extends JMapperType {
             if ( null == parameters ) {
                 parameters = ImmutableList.of();
             }
-            return new JSerializerType( beanMapper, type, instance, parameters );
+            return new JSerializerType( beanMapper, sharedInstance, type, instance, parameters );
         }
     }
 
-    private JSerializerType( boolean beanMapper, JType type, CodeBlock instance, ImmutableList<JSerializerType> parameters ) {
-        super( beanMapper, type, instance, parameters );
+    private JSerializerType( boolean beanMapper, boolean sharedInstance, JType type, CodeBlock instance, ImmutableList<JSerializerType>
+            parameters ) {
+        super( beanMapper, sharedInstance, type, instance, parameters );
     }
 }
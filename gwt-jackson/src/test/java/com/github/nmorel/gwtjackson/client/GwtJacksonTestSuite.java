@@ -104,7 +104,12 @@ import com.github.nmorel.gwtjackson.client.mapper.CustomIterableGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.EnumMapperGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.ErrorGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.IgnoreStaticGwtTest;
+import com.github.nmorel.gwtjackson.client.mapper.PrimitivePropertiesGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.PropertyNamingGwtTest;
+import com.github.nmorel.gwtjackson.client.mapper.ReadAsyncGwtTest;
+import com.github.nmorel.gwtjackson.client.mapper.ReadElementsGwtTest;
+import com.github.nmorel.gwtjackson.client.mapper.ReadWriteValuesGwtTest;
+import com.github.nmorel.gwtjackson.client.mapper.RequiredPropertiesGwtTest;
 import com.github.nmorel.gwtjackson.client.mapper.SimpleBeanObjectReaderTest;
 import com.github.nmorel.gwtjackson.client.mapper.SimpleBeanObjectWriterTest;
 import com.github.nmorel.gwtjackson.client.mixins.MixinDeserForClassGwtTest;
@@ -115,6 +120,8 @@ import com.github.nmorel.gwtjackson.client.mixins.MixinSerForMethodsGwtTest;
 import com.github.nmorel.gwtjackson.client.options.CharArrayOptionGwtTest;
 import com.github.nmorel.gwtjackson.client.options.DateOptionsGwtTest;
 import com.github.nmorel.gwtjackson.client.options.IndentGwtTest;
+import com.github.nmorel.gwtjackson.client.options.NativeJsonParserOptionGwtTest;
+import com.github.nmorel.gwtjackson.client.options.NativeJsonWriterOptionGwtTest;
 import com.github.nmorel.gwtjackson.client.options.SingleArrayOptionGwtTest;
 import com.github.nmorel.gwtjackson.client.options.WriteEmptyJsonArraysOptionGwtTest;
 import com.github.nmorel.gwtjackson.client.options.WriteNullMapValuesOptionGwtTest;
@@ -163,7 +170,12 @@ import com.github.nmorel.gwtjackson.client.ser.number.ShortJsonSerializerTest;
 import com.github.nmorel.gwtjackson.client.stream.impl.DefaultJsonReaderTest;
 import com.github.nmorel.gwtjackson.client.stream.impl.DefaultJsonWriterTest;
 import com.github.nmorel.gwtjackson.client.stream.impl.FastJsonWriterTest;
+import com.github.nmorel.gwtjackson.client.stream.impl.IncrementalJsonReaderTest;
+import com.github.nmorel.gwtjackson.client.stream.impl.IntArrayTest;
+import com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonReaderTest;
+import com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonWriterTest;
 import com.github.nmorel.gwtjackson.client.stream.impl.NonBufferedJsonReaderTest;
+import com.github.nmorel.gwtjackson.client.stream.impl.StrictJsonReaderTest;
 import com.google.gwt.junit.tools.GWTTestSuite;
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -179,8 +191,13 @@ public class GwtJacksonTestSuite extends TestCase {
         // Stream - tests from gson
         suite.addTestSuite( DefaultJsonReaderTest.class );
         suite.addTestSuite( NonBufferedJsonReaderTest.class );
+        suite.addTestSuite( NativeJsonReaderTest.class );
+        suite.addTestSuite( StrictJsonReaderTest.class );
+        suite.addTestSuite( IncrementalJsonReaderTest.class );
+        suite.addTestSuite( IntArrayTest.class );
         suite.addTestSuite( DefaultJsonWriterTest.class );
         suite.addTestSuite( FastJsonWriterTest.class );
+        suite.addTestSuite( NativeJsonWriterTest.class );
 
         // Default json serializers
         suite.addTestSuite( ArrayJsonSerializerTest.class );
@@ -286,6 +303,11 @@ public class GwtJacksonTestSuite extends TestCase {
         suite.addTestSuite( ErrorGwtTest.class );
         suite.addTestSuite( AutoDetectionGwtTest.class );
         suite.addTestSuite( EnumMapperGwtTest.class );
+        suite.addTestSuite( ReadElementsGwtTest.class );
+        suite.addTestSuite( ReadAsyncGwtTest.class );
+        suite.addTestSuite( ReadWriteValuesGwtTest.class );
+        suite.addTestSuite( PrimitivePropertiesGwtTest.class );
+        suite.addTestSuite( RequiredPropertiesGwtTest.class );
 
         // Annotations test
         suite.addTestSuite( JsonAutoDetectGwtTest.class );
@@ -341,6 +363,8 @@ public class GwtJacksonTestSuite extends TestCase {
         suite.addTestSuite( WriteNullMapValuesOptionGwtTest.class );
         suite.addTestSuite( WriteEmptyJsonArraysOptionGwtTest.class );
         suite.addTestSuite( SingleArrayOptionGwtTest.class );
+        suite.addTestSuite( NativeJsonParserOptionGwtTest.class );
+        suite.addTestSuite( NativeJsonWriterOptionGwtTest.class );
 
         // Mix-in
         suite.addTestSuite( MixinDeserForClassGwtTest.class );
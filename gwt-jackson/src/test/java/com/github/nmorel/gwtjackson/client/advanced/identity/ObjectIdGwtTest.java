@@ -20,6 +20,7 @@ import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
 import com.github.nmorel.gwtjackson.client.ObjectMapper;
 import com.github.nmorel.gwtjackson.shared.ObjectMapperTester;
 import com.github.nmorel.gwtjackson.shared.advanced.identity.ObjectIdTester;
+import com.github.nmorel.gwtjackson.shared.advanced.identity.ObjectIdTester.ColumnMetadata;
 import com.github.nmorel.gwtjackson.shared.advanced.identity.ObjectIdTester.Company;
 import com.github.nmorel.gwtjackson.shared.advanced.identity.ObjectIdTester.Wrapper;
 import com.google.gwt.core.client.GWT;
@@ -48,4 +49,21 @@ public class ObjectIdGwtTest extends GwtJacksonTestCase {
     public void testMixedRefsIssue188() {
         tester.testMixedRefsIssue188( CompanyMapper.INSTANCE );
     }
+
+    public void testDefaultContextReused() {
+        ColumnMetadata col = new ColumnMetadata( "Billy", "employee", "comment" );
+        Wrapper w = new Wrapper();
+        w.a = col;
+        w.b = col;
+
+        // the ids and the generators are reset between two calls
+        String json = WrapperMapper.INSTANCE.write( w );
+        assertEquals( json, WrapperMapper.INSTANCE.write( w ) );
+
+        Wrapper first = WrapperMapper.INSTANCE.read( json );
+        Wrapper second = WrapperMapper.INSTANCE.read( json );
+        assertSame( first.a, first.b );
+        assertSame( second.a, second.b );
+        assertNotSame( first.a, second.a );
+    }
 }
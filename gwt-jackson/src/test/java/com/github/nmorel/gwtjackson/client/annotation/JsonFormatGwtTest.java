@@ -16,6 +16,8 @@
 
 package com.github.nmorel.gwtjackson.client.annotation;
 
+import java.util.Date;
+
 import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
 import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
 import com.github.nmorel.gwtjackson.client.ObjectMapper;
@@ -39,4 +41,25 @@ public class JsonFormatGwtTest extends GwtJacksonTestCase {
         tester.testFormatDate( createMapper( JsonFormatDateMapper.INSTANCE, newDefaultDeserializationContext(), JsonSerializationContext
                         .builder().writeDatesAsTimestamps( false ).build() ) );
     }
+
+    public void testFormatDateAsTimestamps() {
+        long millis = getUTCTime( 2013, 12, 25, 0, 0, 0, 0 );
+        Date date = new Date( millis );
+
+        FormatDateBean bean = new FormatDateBean( date );
+        bean.dateString = date;
+        bean.dateNumber = date;
+        bean.dateLosAngeles = date;
+        bean.date = date;
+
+        String result = JsonFormatDateMapper.INSTANCE.write( bean, JsonSerializationContext.builder().writeDatesAsTimestamps( true )
+                .build() );
+
+        // the shape of the format takes precedence over the context
+        assertTrue( result.contains( "\"dateString\":\"/2013/12/25/\"" ) );
+        assertTrue( result.contains( "\"dateNumber\":" + millis + "," ) );
+        assertTrue( result.contains( "\"dateLosAngeles\":\"2013-12-24 16:00:00.000 -0800\"" ) );
+        assertTrue( result.contains( "\"date\":" + millis + "," ) );
+        assertTrue( result.contains( "\"dateParis\":null" ) );
+    }
 }
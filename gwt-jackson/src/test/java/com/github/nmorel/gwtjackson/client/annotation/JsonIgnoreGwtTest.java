@@ -25,6 +25,8 @@ import com.github.nmorel.gwtjackson.shared.ObjectReaderTester;
 import com.github.nmorel.gwtjackson.shared.ObjectWriterTester;
 import com.github.nmorel.gwtjackson.shared.annotations.JsonIgnoreTester;
 import com.github.nmorel.gwtjackson.shared.annotations.JsonIgnoreTester.BeanWithIgnorePropertiesAsProperty;
+import com.github.nmorel.gwtjackson.shared.annotations.JsonIgnoreTester.BeanWithIgnorePropertiesAsSeveralProperties;
+import com.github.nmorel.gwtjackson.shared.annotations.JsonIgnoreTester.BeanWithIgnoredMapKeys;
 import com.github.nmorel.gwtjackson.shared.annotations.JsonIgnoreTester.BeanWithIgnoredProperties;
 import com.google.gwt.core.client.GWT;
 
@@ -57,6 +59,19 @@ public class JsonIgnoreGwtTest extends GwtJacksonTestCase {
         static BeanWithIgnorePropertiesAsPropertyReader INSTANCE = GWT.create( BeanWithIgnorePropertiesAsPropertyReader.class );
     }
 
+    public interface BeanWithIgnorePropertiesAsSeveralPropertiesMapper extends
+            ObjectMapper<BeanWithIgnorePropertiesAsSeveralProperties>, ObjectMapperTester<BeanWithIgnorePropertiesAsSeveralProperties> {
+
+        static BeanWithIgnorePropertiesAsSeveralPropertiesMapper INSTANCE = GWT
+                .create( BeanWithIgnorePropertiesAsSeveralPropertiesMapper.class );
+    }
+
+    public interface BeanWithIgnoredMapKeysReader extends ObjectReader<BeanWithIgnoredMapKeys>,
+            ObjectReaderTester<BeanWithIgnoredMapKeys> {
+
+        static BeanWithIgnoredMapKeysReader INSTANCE = GWT.create( BeanWithIgnoredMapKeysReader.class );
+    }
+
     private JsonIgnoreTester tester = JsonIgnoreTester.INSTANCE;
 
     public void testSerializeBeanWithIgnoredProperties() {
@@ -78,4 +93,16 @@ public class JsonIgnoreGwtTest extends GwtJacksonTestCase {
     public void testDeserializeBeanWithIgnorePropertiesAsProperty() {
         JsonIgnoreTester.INSTANCE.testDeserializeBeanWithIgnorePropertiesAsProperty( BeanWithIgnorePropertiesAsPropertyReader.INSTANCE );
     }
+
+    public void testSerializeBeanWithIgnorePropertiesAsSeveralProperties() {
+        tester.testSerializeBeanWithIgnorePropertiesAsSeveralProperties( BeanWithIgnorePropertiesAsSeveralPropertiesMapper.INSTANCE );
+    }
+
+    public void testDeserializeBeanWithIgnorePropertiesAsSeveralProperties() {
+        tester.testDeserializeBeanWithIgnorePropertiesAsSeveralProperties( BeanWithIgnorePropertiesAsSeveralPropertiesMapper.INSTANCE );
+    }
+
+    public void testDeserializeBeanWithIgnoredMapKeys() {
+        tester.testDeserializeBeanWithIgnoredMapKeys( BeanWithIgnoredMapKeysReader.INSTANCE );
+    }
 }
@@ -35,5 +35,8 @@ public class DoubleKeyDeserializerTest extends AbstractKeyDeserializerTest<Doubl
         assertDeserialization( -784.15454d, "-784.15454" );
         assertDeserialization( Double.MIN_VALUE, "4.9E-324" );
         assertDeserialization( Double.MAX_VALUE, "1.7976931348623157e+308" );
+        assertDeserialization( -12d, "-12" );
+        assertDeserialization( 1500d, "1.5E3" );
+        assertDeserialization( 0.5d, ".5" );
     }
 }
@@ -34,5 +34,8 @@ public class LongKeyDeserializerTest extends AbstractKeyDeserializerTest<Long> {
         assertDeserialization( new Long( "-3441764551145441542" ), "-3441764551145441542" );
         assertDeserialization( Long.MIN_VALUE, "-9223372036854775808" );
         assertDeserialization( Long.MAX_VALUE, "9223372036854775807" );
+        assertDeserialization( 42l, "42" );
+        assertDeserialization( -999999999l, "-999999999" );
+        assertDeserialization( 1000000000l, "1000000000" );
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectMapper;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * @author Nicolas Morel
+ */
+public class PrimitivePropertiesGwtTest extends GwtJacksonTestCase {
+
+    @JsonPropertyOrder( {"intValue", "longValue", "doubleValue", "booleanValue", "privateInt", "nonDefaultInt"} )
+    public static class PrimitiveBean {
+
+        public int intValue;
+
+        public long longValue;
+
+        public double doubleValue;
+
+        public boolean booleanValue;
+
+        @JsonProperty
+        private int privateInt;
+
+        @JsonInclude( Include.NON_DEFAULT )
+        public int nonDefaultInt;
+    }
+
+    public interface PrimitiveBeanMapper extends ObjectMapper<PrimitiveBean> {
+
+        static PrimitiveBeanMapper INSTANCE = GWT.create( PrimitiveBeanMapper.class );
+    }
+
+    public void testSerialize() {
+        PrimitiveBean bean = new PrimitiveBean();
+        bean.intValue = -45;
+        bean.longValue = 1412345678901l;
+        bean.doubleValue = 2.5;
+        bean.booleanValue = true;
+        bean.privateInt = 3;
+
+        String expected = "{\"intValue\":-45,\"longValue\":1412345678901,\"doubleValue\":2.5,\"booleanValue\":true,\"privateInt\":3}";
+        assertEquals( expected, PrimitiveBeanMapper.INSTANCE.write( bean ) );
+        assertEquals( expected, PrimitiveBeanMapper.INSTANCE.write( bean, JsonSerializationContext.builder().useNativeJsonWriter( true )
+                .build() ) );
+
+        bean.nonDefaultInt = 7;
+        assertEquals( "{\"intValue\":-45,\"longValue\":1412345678901,\"doubleValue\":2.5,\"booleanValue\":true,\"privateInt\":3," +
+                "\"nonDefaultInt\":7}", PrimitiveBeanMapper.INSTANCE.write( bean ) );
+    }
+
+    public void testDeserialize() {
+        PrimitiveBean bean = PrimitiveBeanMapper.INSTANCE.read( "{\"intValue\":-45,\"longValue\":1412345678901,\"doubleValue\":2.5," +
+                "\"booleanValue\":true,\"privateInt\":3,\"nonDefaultInt\":7}" );
+        assertEquals( -45, bean.intValue );
+        assertEquals( 1412345678901l, bean.longValue );
+        assertEquals( 2.5, bean.doubleValue );
+        assertTrue( bean.booleanValue );
+        assertEquals( 3, bean.privateInt );
+        assertEquals( 7, bean.nonDefaultInt );
+
+        // the other tokens are still handled by the default deserializers
+        bean = PrimitiveBeanMapper.INSTANCE.read( "{\"intValue\":\"12\",\"longValue\":\"-9007199254740993\",\"doubleValue\":\"1e3\"," +
+                "\"booleanValue\":1}" );
+        assertEquals( 12, bean.intValue );
+        assertEquals( -9007199254740993l, bean.longValue );
+        assertEquals( 1000d, bean.doubleValue );
+        assertTrue( bean.booleanValue );
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import java.util.List;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.StreamingObjectReader;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.mapper.ReadElementsGwtTest.Person;
+import com.google.gwt.core.client.Callback;
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+
+/**
+ * @author Nicolas Morel
+ */
+public class ReadAsyncGwtTest extends GwtJacksonTestCase {
+
+    public interface PersonListReader extends StreamingObjectReader<List<Person>> {
+
+        static PersonListReader INSTANCE = GWT.create( PersonListReader.class );
+    }
+
+    public static class CountedPerson {
+
+        private static int deserialized;
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName( String name ) {
+            this.name = name;
+            deserialized++;
+        }
+    }
+
+    public interface CountedPersonArrayReader extends StreamingObjectReader<CountedPerson[]> {
+
+        static CountedPersonArrayReader INSTANCE = GWT.create( CountedPersonArrayReader.class );
+    }
+
+    public static class CountedPersonRows {
+
+        public String title;
+
+        public List<CountedPerson> rows;
+    }
+
+    public interface CountedPersonRowsReader extends StreamingObjectReader<CountedPersonRows> {
+
+        static CountedPersonRowsReader INSTANCE = GWT.create( CountedPersonRowsReader.class );
+    }
+
+    private static final int COUNT = 5000;
+
+    private boolean called;
+
+    private int observed;
+
+    private int maxStep;
+
+    private int slices;
+
+    public void testReadAsync() {
+        StringBuilder builder = new StringBuilder( "[" );
+        for ( int i = 0; i < COUNT; i++ ) {
+            if ( i > 0 ) {
+                builder.append( ',' );
+            }
+            builder.append( "{\"name\":\"Person \\\"" ).append( i ).append( "\\\"\",\"age\":" ).append( i % 100 ).append( '}' );
+        }
+        builder.append( ']' );
+
+        delayTestFinish( 20000 );
+        JsonDeserializationContext ctx = JsonDeserializationContext.builder().readTimeSlice( 1 ).build();
+        PersonListReader.INSTANCE.readAsync( builder.toString(), ctx, new Callback<List<Person>, RuntimeException>() {
+            @Override
+            public void onFailure( RuntimeException reason ) {
+                fail( reason.getMessage() );
+            }
+
+            @Override
+            public void onSuccess( List<Person> result ) {
+                called = true;
+                assertEquals( COUNT, result.size() );
+                assertEquals( "Person \"0\"", result.get( 0 ).name );
+                assertEquals( "Person \"1245\"", result.get( 1245 ).name );
+                assertEquals( 45, result.get( 1245 ).age );
+                finishTest();
+            }
+        } );
+        // the result is only delivered by a later slice
+        assertFalse( called );
+    }
+
+    public void testReadAsyncYieldsBetweenElements() {
+        final int count = 50;
+        StringBuilder builder = new StringBuilder( "[" );
+        for ( int i = 0; i < count; i++ ) {
+            if ( i > 0 ) {
+                builder.append( ',' );
+            }
+            builder.append( "{\"name\":\"Person " ).append( i ).append( "\"}" );
+        }
+        builder.append( ']' );
+
+        CountedPerson.deserialized = 0;
+        delayTestFinish( 5000 );
+        JsonDeserializationContext ctx = JsonDeserializationContext.builder().readTimeSlice( 0 ).build();
+        CountedPersonArrayReader.INSTANCE.readAsync( builder.toString(), ctx, new Callback<CountedPerson[], RuntimeException>() {
+            @Override
+            public void onFailure( RuntimeException reason ) {
+                fail( reason.getMessage() );
+            }
+
+            @Override
+            public void onSuccess( CountedPerson[] result ) {
+                called = true;
+                assertEquals( count, result.length );
+                assertEquals( "Person 49", result[49].getName() );
+            }
+        } );
+
+        // runs between the slices of the read and records how many elements have been deserialized since the previous slice
+        Scheduler.get().scheduleIncremental( new RepeatingCommand() {
+            @Override
+            public boolean execute() {
+                maxStep = Math.max( maxStep, CountedPerson.deserialized - observed );
+                observed = CountedPerson.deserialized;
+                if ( !called ) {
+                    return true;
+                }
+                assertEquals( count, observed );
+                assertEquals( 1, maxStep );
+                finishTest();
+                return false;
+            }
+        } );
+    }
+
+    public void testReadAsyncYieldsBetweenElementsOfProperty() {
+        final int count = 50;
+        StringBuilder builder = new StringBuilder( "{\"rows\":[" );
+        for ( int i = 0; i < count; i++ ) {
+            if ( i > 0 ) {
+                builder.append( ',' );
+            }
+            builder.append( "{\"name\":\"Person " ).append( i ).append( "\"}" );
+        }
+        builder.append( "],\"title\":\"Persons\"}" );
+
+        CountedPerson.deserialized = 0;
+        delayTestFinish( 5000 );
+        JsonDeserializationContext ctx = JsonDeserializationContext.builder().readTimeSlice( 0 ).build();
+        CountedPersonRowsReader.INSTANCE.readAsync( builder.toString(), ctx, new Callback<CountedPersonRows, RuntimeException>() {
+            @Override
+            public void onFailure( RuntimeException reason ) {
+                fail( reason.getMessage() );
+            }
+
+            @Override
+            public void onSuccess( CountedPersonRows result ) {
+                called = true;
+                assertEquals( "Persons", result.title );
+                assertEquals( count, result.rows.size() );
+                assertEquals( "Person 49", result.rows.get( 49 ).getName() );
+            }
+        } );
+
+        // runs between the slices of the read and records how many elements of the property have been deserialized in each slice
+        Scheduler.get().scheduleIncremental( new RepeatingCommand() {
+            @Override
+            public boolean execute() {
+                maxStep = Math.max( maxStep, CountedPerson.deserialized - observed );
+                observed = CountedPerson.deserialized;
+                if ( !called ) {
+                    slices++;
+                    return true;
+                }
+                assertEquals( count, observed );
+                assertEquals( 1, maxStep );
+                assertTrue( slices > 1 );
+                finishTest();
+                return false;
+            }
+        } );
+    }
+
+    public void testReadAsyncNull() {
+        delayTestFinish( 5000 );
+        PersonListReader.INSTANCE.readAsync( "null", new Callback<List<Person>, RuntimeException>() {
+            @Override
+            public void onFailure( RuntimeException reason ) {
+                fail( reason.getMessage() );
+            }
+
+            @Override
+            public void onSuccess( List<Person> result ) {
+                assertNull( result );
+                finishTest();
+            }
+        } );
+    }
+
+    public void testReadAsyncMalformedInput() {
+        delayTestFinish( 5000 );
+        PersonListReader.INSTANCE.readAsync( "[{\"name\":\"Jean\",}]", new Callback<List<Person>, RuntimeException>() {
+            @Override
+            public void onFailure( RuntimeException reason ) {
+                assertTrue( reason instanceof JsonDeserializationException );
+                finishTest();
+            }
+
+            @Override
+            public void onSuccess( List<Person> result ) {
+                fail( "The input is malformed" );
+            }
+        } );
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.github.nmorel.gwtjackson.client.ElementReader;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * @author Nicolas Morel
+ */
+public class ReadElementsGwtTest extends GwtJacksonTestCase {
+
+    public static class Person {
+
+        public String name;
+
+        public int age;
+    }
+
+    public interface PersonListReader extends ElementReader<List<Person>, Person> {
+
+        static PersonListReader INSTANCE = GWT.create( PersonListReader.class );
+    }
+
+    public interface PersonArrayReader extends ElementReader<Person[], Person> {
+
+        static PersonArrayReader INSTANCE = GWT.create( PersonArrayReader.class );
+    }
+
+    public interface StringSetReader extends ElementReader<Set<String>, String> {
+
+        static StringSetReader INSTANCE = GWT.create( StringSetReader.class );
+    }
+
+    public interface ObjectListReader extends ElementReader<List<Person>, Object> {
+
+        static ObjectListReader INSTANCE = GWT.create( ObjectListReader.class );
+    }
+
+    private static final String PERSONS = "[{\"name\":\"Jean\",\"age\":45},null,{\"name\":\"Omar\",\"age\":40}]";
+
+    private static void assertPersons( Iterator<Person> iterator ) {
+        assertTrue( iterator.hasNext() );
+        Person person = iterator.next();
+        assertEquals( "Jean", person.name );
+        assertEquals( 45, person.age );
+        assertTrue( iterator.hasNext() );
+        assertNull( iterator.next() );
+        person = iterator.next();
+        assertEquals( "Omar", person.name );
+        assertEquals( 40, person.age );
+        assertFalse( iterator.hasNext() );
+        try {
+            iterator.next();
+            fail();
+        } catch ( NoSuchElementException expected ) {
+        }
+    }
+
+    public void testReadListElements() {
+        Iterator<Person> iterator = PersonListReader.INSTANCE.readElements( PERSONS );
+        assertPersons( iterator );
+    }
+
+    public void testReadArrayElements() {
+        Iterator<Person> iterator = PersonArrayReader.INSTANCE.readElements( PERSONS );
+        assertPersons( iterator );
+    }
+
+    public void testReadElementsUnwrapRootValue() {
+        Iterator<Person> iterator = PersonListReader.INSTANCE.readElements( "{\"List\":" + PERSONS + "}", JsonDeserializationContext
+                .builder().unwrapRootValue( true ).build() );
+        assertPersons( iterator );
+    }
+
+    public void testReadEmptyElements() {
+        assertFalse( StringSetReader.INSTANCE.readElements( "[]" ).hasNext() );
+        assertFalse( StringSetReader.INSTANCE.readElements( "null" ).hasNext() );
+    }
+
+    public void testReadSingleValueElements() {
+        try {
+            StringSetReader.INSTANCE.readElements( "\"single\"" );
+            fail();
+        } catch ( JsonDeserializationException expected ) {
+        }
+
+        Iterator<String> iterator = StringSetReader.INSTANCE.readElements( "\"single\"", JsonDeserializationContext.builder()
+                .acceptSingleValueAsArray( true ).build() );
+        assertTrue( iterator.hasNext() );
+        assertEquals( "single", iterator.next() );
+        assertFalse( iterator.hasNext() );
+    }
+
+    public void testReadElementsOfSupertype() {
+        Iterator<Object> iterator = ObjectListReader.INSTANCE.readElements( PERSONS );
+        assertEquals( "Jean", ((Person) iterator.next()).name );
+        assertNull( iterator.next() );
+        assertEquals( "Omar", ((Person) iterator.next()).name );
+        assertFalse( iterator.hasNext() );
+    }
+
+    public void testReadWholeObject() {
+        List<Person> persons = PersonListReader.INSTANCE.read( PERSONS );
+        assertEquals( 3, persons.size() );
+        assertEquals( "Omar", persons.get( 2 ).name );
+    }
+}
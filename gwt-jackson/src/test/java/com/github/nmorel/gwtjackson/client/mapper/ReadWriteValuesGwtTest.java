@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.StreamingObjectMapper;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.mapper.ReadElementsGwtTest.Person;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * @author Nicolas Morel
+ */
+public class ReadWriteValuesGwtTest extends GwtJacksonTestCase {
+
+    public interface PersonMapper extends StreamingObjectMapper<Person> {
+
+        static PersonMapper INSTANCE = GWT.create( PersonMapper.class );
+    }
+
+    private static Person newPerson( String name, int age ) {
+        Person person = new Person();
+        person.name = name;
+        person.age = age;
+        return person;
+    }
+
+    private static List<Person> persons() {
+        return Arrays.asList( newPerson( "Jean", 45 ), newPerson( "Omar", 40 ), newPerson( "Nicolas", 30 ) );
+    }
+
+    private static void assertPersons( Iterator<Person> iterator ) {
+        List<Person> result = new ArrayList<Person>();
+        while ( iterator.hasNext() ) {
+            result.add( iterator.next() );
+        }
+        assertEquals( 3, result.size() );
+        assertEquals( "Jean", result.get( 0 ).name );
+        assertEquals( 45, result.get( 0 ).age );
+        assertEquals( "Omar", result.get( 1 ).name );
+        assertEquals( 40, result.get( 1 ).age );
+        assertEquals( "Nicolas", result.get( 2 ).name );
+        assertEquals( 30, result.get( 2 ).age );
+        try {
+            iterator.next();
+            fail();
+        } catch ( NoSuchElementException expected ) {
+        }
+    }
+
+    public void testWriteValues() {
+        String expected = "{\"name\":\"Jean\",\"age\":45}\n{\"name\":\"Omar\",\"age\":40}\n{\"name\":\"Nicolas\",\"age\":30}";
+        assertEquals( expected, PersonMapper.INSTANCE.writeValues( persons() ) );
+        assertEquals( expected, PersonMapper.INSTANCE.writeValues( persons(), JsonSerializationContext.builder()
+                .useNativeJsonWriter( true ).build() ) );
+        assertEquals( "", PersonMapper.INSTANCE.writeValues( new ArrayList<Person>() ) );
+    }
+
+    public void testReadValues() {
+        assertPersons( PersonMapper.INSTANCE.readValues( "{\"name\":\"Jean\",\"age\":45}\n{\"name\":\"Omar\",\"age\":40}\n" +
+                "{\"name\":\"Nicolas\",\"age\":30}\n" ) );
+        // several documents framed in one message, with or without whitespace between them
+        assertPersons( PersonMapper.INSTANCE.readValues( "{\"name\":\"Jean\",\"age\":45}{\"name\":\"Omar\",\"age\":40} " +
+                "{\"name\":\"Nicolas\",\"age\":30}" ) );
+        // the native parser is not used since it only accepts one document
+        assertPersons( PersonMapper.INSTANCE.readValues( PersonMapper.INSTANCE.writeValues( persons() ), JsonDeserializationContext
+                .builder().useNativeJsonParser( true ).build() ) );
+        assertFalse( PersonMapper.INSTANCE.readValues( "  \n" ).hasNext() );
+    }
+
+    public void testReadWriteValuesWithRootValue() {
+        String output = PersonMapper.INSTANCE.writeValues( persons(), JsonSerializationContext.builder().wrapRootValue( true )
+                .build() );
+        assertTrue( output.startsWith( "{\"Person\":{\"name\":\"Jean\",\"age\":45}}\n{\"Person\":" ) );
+        assertPersons( PersonMapper.INSTANCE.readValues( output, JsonDeserializationContext.builder().unwrapRootValue( true )
+                .build() ) );
+    }
+
+    public void testReadMalformedValue() {
+        Iterator<Person> iterator = PersonMapper.INSTANCE.readValues( "{\"name\":\"Jean\",\"age\":45}\n{\"name\":\"Omar\",}" );
+        assertEquals( "Jean", iterator.next().name );
+        try {
+            iterator.next();
+            fail();
+        } catch ( JsonDeserializationException expected ) {
+        }
+    }
+}
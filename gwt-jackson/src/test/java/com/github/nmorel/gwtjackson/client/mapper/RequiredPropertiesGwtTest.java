@@ -0,0 +1,108 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.mapper;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.ObjectReader;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * @author Nicolas Morel
+ */
+public class RequiredPropertiesGwtTest extends GwtJacksonTestCase {
+
+    public static class RequiredBean {
+
+        @JsonProperty( required = true )
+        public String a;
+
+        public int b;
+
+        @JsonProperty( required = true )
+        public int c;
+    }
+
+    public static class RequiredCreatorBean {
+
+        private final String a;
+
+        private final String b;
+
+        @JsonProperty( required = true )
+        public int c;
+
+        public int d;
+
+        @JsonCreator
+        public RequiredCreatorBean( @JsonProperty( value = "a", required = true ) String a, @JsonProperty( value = "b",
+                required = true ) String b ) {
+            this.a = a;
+            this.b = b;
+        }
+    }
+
+    public interface RequiredBeanReader extends ObjectReader<RequiredBean> {
+
+        static RequiredBeanReader INSTANCE = GWT.create( RequiredBeanReader.class );
+    }
+
+    public interface RequiredCreatorBeanReader extends ObjectReader<RequiredCreatorBean> {
+
+        static RequiredCreatorBeanReader INSTANCE = GWT.create( RequiredCreatorBeanReader.class );
+    }
+
+    public void testRequiredProperties() {
+        RequiredBean bean = RequiredBeanReader.INSTANCE.read( "{\"c\":3,\"a\":\"x\"}" );
+        assertEquals( "x", bean.a );
+        assertEquals( 3, bean.c );
+
+        assertMissing( RequiredBeanReader.INSTANCE, "{\"a\":\"x\",\"b\":2}", "[c]" );
+        assertMissing( RequiredBeanReader.INSTANCE, "{\"c\":3,\"b\":2}", "[a]" );
+        try {
+            RequiredBeanReader.INSTANCE.read( "{\"b\":2}" );
+            fail();
+        } catch ( JsonDeserializationException e ) {
+            // the order of the missing properties is not specified
+            assertTrue( e.getMessage(), e.getMessage().equals( "Required properties are missing : [a, c]" ) || e.getMessage()
+                    .equals( "Required properties are missing : [c, a]" ) );
+        }
+    }
+
+    public void testRequiredCreatorProperties() {
+        // c is buffered until the creator parameters are read
+        RequiredCreatorBean bean = RequiredCreatorBeanReader.INSTANCE.read( "{\"c\":3,\"b\":\"y\",\"a\":\"x\"}" );
+        assertEquals( "x", bean.a );
+        assertEquals( "y", bean.b );
+        assertEquals( 3, bean.c );
+
+        assertMissing( RequiredCreatorBeanReader.INSTANCE, "{\"c\":3,\"a\":\"x\",\"d\":4}", "[b]" );
+        assertMissing( RequiredCreatorBeanReader.INSTANCE, "{\"d\":4}", "[a, b]" );
+        assertMissing( RequiredCreatorBeanReader.INSTANCE, "{\"d\":4,\"b\":\"y\",\"a\":\"x\"}", "[c]" );
+    }
+
+    private static void assertMissing( ObjectReader<?> reader, String input, String missingProperties ) {
+        try {
+            reader.read( input );
+            fail();
+        } catch ( JsonDeserializationException e ) {
+            assertEquals( "Required properties are missing : " + missingProperties, e.getMessage() );
+        }
+    }
+}
@@ -17,7 +17,8 @@
 package com.github.nmorel.gwtjackson.client.mapper;
 
 import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
-import com.github.nmorel.gwtjackson.client.ObjectReader;
+import com.github.nmorel.gwtjackson.client.IncrementalRead;
+import com.github.nmorel.gwtjackson.client.StreamingObjectReader;
 import com.github.nmorel.gwtjackson.shared.ObjectReaderTester;
 import com.github.nmorel.gwtjackson.shared.mapper.SimpleBeanJsonMapperTester;
 import com.github.nmorel.gwtjackson.shared.model.SimpleBean;
@@ -28,7 +29,7 @@ import com.google.gwt.core.client.GWT;
  */
 public class SimpleBeanObjectReaderTest extends GwtJacksonTestCase {
 
-    public static interface SimpleBeanMapper extends ObjectReader<SimpleBean>, ObjectReaderTester<SimpleBean> {
+    public static interface SimpleBeanMapper extends StreamingObjectReader<SimpleBean>, ObjectReaderTester<SimpleBean> {
 
         static SimpleBeanMapper INSTANCE = GWT.create( SimpleBeanMapper.class );
     }
@@ -38,4 +39,19 @@ public class SimpleBeanObjectReaderTest extends GwtJacksonTestCase {
     public void testDeserializeValue() {
         tester.testDeserializeValue( SimpleBeanMapper.INSTANCE );
     }
+
+    public void testDeserializeValueIncrementally() {
+        tester.testDeserializeValue( new ObjectReaderTester<SimpleBean>() {
+            @Override
+            public SimpleBean read( String input ) {
+                IncrementalRead<SimpleBean> read = SimpleBeanMapper.INSTANCE.readIncrementally();
+                for ( int i = 0; i < input.length(); i += 7 ) {
+                    assertFalse( read.isRead() );
+                    read.append( input.substring( i, Math.min( input.length(), i + 7 ) ) );
+                }
+                assertTrue( read.isRead() );
+                return read.end();
+            }
+        } );
+    }
 }
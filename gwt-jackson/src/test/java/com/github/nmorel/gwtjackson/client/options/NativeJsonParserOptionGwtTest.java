@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.options;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectReader;
+import com.github.nmorel.gwtjackson.client.stream.Person;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * @author Nicolas Morel
+ */
+public class NativeJsonParserOptionGwtTest extends GwtJacksonTestCase {
+
+    public interface BeanReader extends ObjectReader<Bean> {
+
+        static BeanReader INSTANCE = GWT.create( BeanReader.class );
+    }
+
+    public static class Bean {
+
+        private final String id;
+
+        public int count;
+
+        public long total;
+
+        public Boolean active;
+
+        public List<Bean> children;
+
+        public Map<String, Double> values;
+
+        public Person person;
+
+        @JsonCreator
+        public Bean( @JsonProperty( "id" ) String id ) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    private JsonDeserializationContext createDeserializationContext() {
+        return JsonDeserializationContext.builder().useNativeJsonParser( true ).failOnUnknownProperties( false ).build();
+    }
+
+    public void testDeserialize() {
+        String input = "{" +
+                "\"count\":4," +
+                "\"unknown\":{\"a\":[1,2]}," +
+                "\"total\":12345678999," +
+                "\"active\":true," +
+                "\"children\":[{\"id\":\"child\",\"count\":1,\"children\":null}]," +
+                "\"values\":{\"a\":1.5,\"b\":null}," +
+                "\"person\":{\"firstName\":\"Bob\",\"lastName\":\"Morane\"}," +
+                "\"id\":\"root\"" +
+                "}";
+
+        Bean bean = BeanReader.INSTANCE.read( input, createDeserializationContext() );
+        assertEquals( "root", bean.getId() );
+        assertEquals( 4, bean.count );
+        assertEquals( 12345678999l, bean.total );
+        assertEquals( Boolean.TRUE, bean.active );
+
+        assertEquals( 1, bean.children.size() );
+        Bean child = bean.children.get( 0 );
+        assertEquals( "child", child.getId() );
+        assertEquals( 1, child.count );
+        assertNull( child.children );
+
+        assertEquals( 2, bean.values.size() );
+        assertEquals( 1.5d, bean.values.get( "a" ) );
+        assertTrue( bean.values.containsKey( "b" ) );
+        assertNull( bean.values.get( "b" ) );
+
+        assertEquals( "Bob", bean.person.getFirstName() );
+        assertEquals( "Morane", bean.person.getLastName() );
+    }
+}
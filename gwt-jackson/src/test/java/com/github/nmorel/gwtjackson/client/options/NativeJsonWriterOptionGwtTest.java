@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.options;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonSerializationContext;
+import com.github.nmorel.gwtjackson.client.ObjectWriter;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.impl.NativeJsonWriter;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * @author Nicolas Morel
+ */
+public class NativeJsonWriterOptionGwtTest extends GwtJacksonTestCase {
+
+    public interface BeanWriter extends ObjectWriter<Bean> {
+
+        static BeanWriter INSTANCE = GWT.create( BeanWriter.class );
+    }
+
+    @JsonPropertyOrder( alphabetic = true )
+    public static class Bean {
+
+        public String id;
+
+        public int count;
+
+        public Boolean active;
+
+        public String empty;
+
+        public List<String> names;
+
+        public Map<String, Double> values;
+    }
+
+    private JsonSerializationContext createSerializationContext() {
+        return JsonSerializationContext.builder().useNativeJsonWriter( true ).serializeNulls( false ).build();
+    }
+
+    public void testSerialize() {
+        Bean bean = new Bean();
+        bean.id = "a\"b";
+        bean.count = 4;
+        bean.active = true;
+        bean.names = Arrays.asList( "c", "d" );
+        bean.values = new LinkedHashMap<String, Double>();
+        bean.values.put( "e", 1.5 );
+
+        assertEquals( "{\"active\":true,\"count\":4,\"id\":\"a\\\"b\",\"names\":[\"c\",\"d\"],\"values\":{\"e\":1.5}}", BeanWriter
+                .INSTANCE.write( bean, createSerializationContext() ) );
+    }
+
+    public void testNewJsonWriter() {
+        JsonSerializationContext context = createSerializationContext();
+        JsonWriter writer = context.newJsonWriter();
+        assertTrue( writer instanceof NativeJsonWriter );
+
+        writer.beginObject();
+        writer.name( "a" ).value( 1 );
+        writer.endObject();
+        assertEquals( "{\"a\":1}", writer.getOutput() );
+        assertNotNull( ((NativeJsonWriter) writer).getOutputAsJavaScriptObject() );
+    }
+}
@@ -155,6 +155,48 @@ public abstract class AbstractJsonReaderTest extends GwtJacksonTestCase {
         assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
     }
 
+    public void testSkipRawValue() {
+        JsonReader reader = newJsonReader( "{\"a\": { \"c\": [\"]}\\\"[{\", '}'], \"d\": [true, null, {}, -1.5e3] },"
+                + " \"b\": [1, [2, [3]]], \"c\": \"banana\", \"d\": 42}" );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        reader.skipRawValue();
+        assertEquals( "b", reader.nextName() );
+        assertEquals( BEGIN_ARRAY, reader.peek() );
+        reader.skipRawValue();
+        assertEquals( "c", reader.nextName() );
+        reader.skipRawValue();
+        assertEquals( "d", reader.nextName() );
+        assertEquals( 42, reader.nextInt() );
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    public void testSkipRawValueWithComments() {
+        JsonReader reader = newJsonReader( "[{\"a\": [1 /* ] */, 2 // }\n, 3 # ]\n]}, \n{\"b\": 4}]" );
+        reader.setLenient( true );
+        reader.beginArray();
+        reader.skipRawValue();
+        assertEquals( 3, reader.getLineNumber() );
+        reader.beginObject();
+        assertEquals( "b", reader.nextName() );
+        assertEquals( 4, reader.nextInt() );
+        reader.endObject();
+        reader.endArray();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    public void testSkipRawValueUnterminated() {
+        JsonReader reader = newJsonReader( "{\"a\": [1, [2], \"]\"" );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        try {
+            reader.skipRawValue();
+            fail();
+        } catch ( MalformedJsonException expected ) {
+        }
+    }
+
     public void testHelloWorld() {
         String json = "{\n" +
                 "   \"hello\": true,\n" +
@@ -1645,6 +1687,169 @@ public abstract class AbstractJsonReaderTest extends GwtJacksonTestCase {
         reader.endObject();
     }
 
+    public void testBufferValue() {
+        JsonReader reader = newJsonReader( "{\"a\": {\"b\": [1, \"two\\n\", true, null, 12345678999], \"c\": 1.5}, \"d\": \"x\"}" );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        JsonReader buffered = reader.bufferValue();
+        assertEquals( "d", reader.nextName() );
+        assertEquals( "x", reader.nextString() );
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+
+        buffered.beginObject();
+        assertEquals( "b", buffered.nextName() );
+        buffered.beginArray();
+        assertEquals( 1, buffered.nextInt() );
+        assertEquals( "two\n", buffered.nextString() );
+        assertTrue( buffered.nextBoolean() );
+        buffered.nextNull();
+        assertEquals( 12345678999l, buffered.nextLong() );
+        assertFalse( buffered.hasNext() );
+        buffered.endArray();
+        assertEquals( "c", buffered.nextName() );
+        assertEquals( 1.5d, buffered.nextDouble() );
+        buffered.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, buffered.peek() );
+    }
+
+    public void testBufferValueScalars() {
+        JsonReader reader = newJsonReader( "[\"str\\u0041\", 456, false]" );
+        reader.beginArray();
+        JsonReader string = reader.bufferValue();
+        JsonReader number = reader.bufferValue();
+        JsonReader bool = reader.bufferValue();
+        reader.endArray();
+
+        assertEquals( JsonToken.NUMBER, number.peek() );
+        assertEquals( 456, number.nextInt() );
+        assertEquals( JsonToken.END_DOCUMENT, number.peek() );
+        assertEquals( "strA", string.nextString() );
+        assertFalse( bool.nextBoolean() );
+    }
+
+    public void testBufferValueReplayedTwice() {
+        JsonReader reader = newJsonReader( "[{\"a\": [1, 2]}, {\"b\": \"c\"}]" );
+        reader.beginArray();
+        JsonReader first = reader.bufferValue();
+        JsonReader second = reader.bufferValue();
+        reader.endArray();
+
+        second.beginObject();
+        assertEquals( "b", second.nextName() );
+        assertEquals( "c", second.nextString() );
+        second.endObject();
+
+        first.beginObject();
+        assertEquals( "a", first.nextName() );
+        JsonReader nested = first.bufferValue();
+        first.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, first.peek() );
+
+        nested.beginArray();
+        assertEquals( 1, nested.nextInt() );
+        nested.skipValue();
+        nested.endArray();
+    }
+
+    public void testBufferValueNextValue() {
+        JsonReader reader = newJsonReader( "{\"a\": {\"b\" : [1, \"two\\\"\"]}, \"c\": \"d\", \"e\": null}" );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        JsonReader a = reader.bufferValue();
+        assertEquals( "c", reader.nextName() );
+        JsonReader c = reader.bufferValue();
+        assertEquals( "e", reader.nextName() );
+        JsonReader e = reader.bufferValue();
+        reader.endObject();
+
+        assertEquals( "{\"b\" : [1, \"two\\\"\"]}", a.nextValue() );
+        assertEquals( "\"d\"", c.nextValue() );
+        assertEquals( "null", e.nextValue() );
+    }
+
+    public void testNextValueSlicesInput() {
+        JsonReader reader = newJsonReader( "[{\"a\" : [1, 2.5, \"b\\\"\"]}, 12, -3e2, \"c\", true, null]" );
+        reader.beginArray();
+        assertEquals( "{\"a\" : [1, 2.5, \"b\\\"\"]}", reader.nextValue() );
+        assertEquals( "12", reader.nextValue() );
+        assertEquals( "-3e2", reader.nextValue() );
+        assertEquals( "\"c\"", reader.nextValue() );
+        assertEquals( "true", reader.nextValue() );
+        assertEquals( "null", reader.nextValue() );
+        reader.endArray();
+    }
+
+    public void testNextValueNormalizesLenientSyntax() {
+        JsonReader reader = newJsonReader( "[{'a': 'b'}, 'c', d]" );
+        reader.setLenient( true );
+        reader.beginArray();
+        assertEquals( "{\"a\":\"b\"}", reader.nextValue() );
+        assertEquals( "\"c\"", reader.nextValue() );
+        assertEquals( "\"d\"", reader.nextValue() );
+        reader.endArray();
+    }
+
+    public void testNextValueNormalizesLenientEscapes() {
+        // escape sequences and control characters accepted by the reader but not valid in JSON
+        String input = "[{\"a\": \"it\\'s\"}, \"\\x\", \"tab\tline\"]";
+
+        JsonReader reader = newJsonReader( input );
+        reader.setLenient( true );
+        reader.beginArray();
+        assertEquals( "{\"a\":\"it's\"}", reader.nextValue() );
+        assertEquals( "\"x\"", reader.nextValue() );
+        assertEquals( "\"tab\\tline\"", reader.nextValue() );
+        reader.endArray();
+
+        reader = newJsonReader( input );
+        reader.setLenient( true );
+        reader.beginArray();
+        assertEquals( "{\"a\":\"it's\"}", reader.bufferValue().nextValue() );
+        assertEquals( "\"x\"", reader.bufferValue().nextValue() );
+        assertEquals( "\"tab\\tline\"", reader.bufferValue().nextValue() );
+        reader.endArray();
+    }
+
+    public void testNextRawValue() {
+        JsonReader reader = newJsonReader( "[{'a': 'b'}, 'c', d, 12, {\"e\" : \"f\"}, false]" );
+        reader.setLenient( true );
+        reader.beginArray();
+        assertEquals( "{'a': 'b'}", reader.nextRawValue() );
+        assertEquals( "'c'", reader.nextRawValue() );
+        assertEquals( "d", reader.nextRawValue() );
+        assertEquals( "12", reader.nextRawValue() );
+        assertEquals( "{\"e\" : \"f\"}", reader.nextRawValue() );
+        assertEquals( "false", reader.nextRawValue() );
+        reader.endArray();
+    }
+
+    public void testBufferValueNextRawValue() {
+        JsonReader reader = newJsonReader( "[{'a': 'b'}, 'c', {\"d\" : 1}]" );
+        reader.setLenient( true );
+        reader.beginArray();
+        JsonReader a = reader.bufferValue();
+        JsonReader c = reader.bufferValue();
+        JsonReader d = reader.bufferValue();
+        reader.endArray();
+
+        assertEquals( "{'a': 'b'}", a.nextRawValue() );
+        assertEquals( "'c'", c.nextRawValue() );
+        assertEquals( "{\"d\" : 1}", d.nextRawValue() );
+    }
+
+    public void testBufferValueNextValueNormalizesLenientSyntax() {
+        JsonReader reader = newJsonReader( "[{'a': 'b'}, 'c']" );
+        reader.setLenient( true );
+        reader.beginArray();
+        JsonReader a = reader.bufferValue();
+        JsonReader c = reader.bufferValue();
+        reader.endArray();
+
+        assertEquals( "{\"a\":\"b\"}", a.nextValue() );
+        assertEquals( "\"c\"", c.nextValue() );
+    }
+
     public void testNextNumber() {
         JsonReader reader = newJsonReader( "[" +
                 "123," +
@@ -1688,6 +1893,15 @@ public abstract class AbstractJsonReaderTest extends GwtJacksonTestCase {
         assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
     }
 
+    public void testNextNumberTooLargeForLong() {
+        JsonReader reader = newJsonReader( "[" + new BigInteger( Long.MAX_VALUE + "" ).add( BigInteger.ONE ) + ", " +
+                new BigInteger( Long.MIN_VALUE + "" ).subtract( BigInteger.ONE ) + "]" );
+        reader.beginArray();
+        assertEquals( new Double( 9223372036854775808d ), reader.nextNumber() );
+        assertEquals( new Double( -9223372036854775809d ), reader.nextNumber() );
+        reader.endArray();
+    }
+
     public void testNextJavaScriptObjectRootNoObjectOrArray() {
         JsonReader reader = newJsonReader( "true" );
         reader.setLenient( true );
@@ -1780,6 +1994,29 @@ public abstract class AbstractJsonReaderTest extends GwtJacksonTestCase {
         assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
     }
 
+    public void testNextJavaScriptObjectLenientEscapes() {
+        // escape sequences and control characters accepted by the reader but rejected by JSON.parse
+        String input = "{\"jso\":{\"firstName\":\"it\\'s \\x\",\"lastName\":\"tab\tnew\nline\"}}";
+
+        JsonReader reader = newJsonReader( input );
+        reader.setLenient( true );
+        reader.beginObject();
+        assertEquals( "jso", reader.nextName() );
+        Person person = reader.nextJavaScriptObject( true ).cast();
+        assertEquals( "it's x", person.getFirstName() );
+        assertEquals( "tab\tnew\nline", person.getLastName() );
+        reader.endObject();
+
+        reader = newJsonReader( input );
+        reader.setLenient( true );
+        reader.beginObject();
+        assertEquals( "jso", reader.nextName() );
+        person = reader.bufferValue().nextJavaScriptObject( false ).cast();
+        assertEquals( "it's x", person.getFirstName() );
+        assertEquals( "tab\tnew\nline", person.getLastName() );
+        reader.endObject();
+    }
+
     public void testNextJavaScriptObjectNoRootArray() {
         // safeEval
         JsonReader reader = newJsonReader( "   {\"name\":\"wrapper\",\"jso\":    [\"Bob\",\"Morane\", true, 145] } " );
@@ -1817,6 +2054,119 @@ public abstract class AbstractJsonReaderTest extends GwtJacksonTestCase {
         assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
     }
 
+    public void testNextJavaScriptObjectNoRootLenient() {
+        // safeEval
+        JsonReader reader = newJsonReader( "{\"name\":\"wrapper\",\"jso\":{firstName:'Bob', /* comment */ 'lastName':Morane}}" );
+        reader.setLenient( true );
+        reader.beginObject();
+        assertEquals( "name", reader.nextName() );
+        assertEquals( "wrapper", reader.nextString() );
+
+        assertEquals( "jso", reader.nextName() );
+        Person person = reader.nextJavaScriptObject( true ).cast();
+        assertEquals( "Bob", person.getFirstName() );
+        assertEquals( "Morane", person.getLastName() );
+
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+
+        // unsafeEval
+        reader = newJsonReader( "{\"jso\":{firstName:'Bob'; 'lastName'=Morane}}" );
+        reader.setLenient( true );
+        reader.beginObject();
+
+        assertEquals( "jso", reader.nextName() );
+        person = reader.nextJavaScriptObject( false ).cast();
+        assertEquals( "Bob", person.getFirstName() );
+        assertEquals( "Morane", person.getLastName() );
+
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    public void testBufferValueNextJavaScriptObject() {
+        JsonReader reader = newJsonReader( "{\"jso\":{\"firstName\":\"Bob\",\"lastName\":\"Mor\\\"ane\"},\"lenient\":{firstName:'Bob'}}" );
+        reader.setLenient( true );
+        reader.beginObject();
+        assertEquals( "jso", reader.nextName() );
+        JsonReader jso = reader.bufferValue();
+        assertEquals( "lenient", reader.nextName() );
+        JsonReader lenient = reader.bufferValue();
+        reader.endObject();
+
+        Person person = jso.nextJavaScriptObject( true ).cast();
+        assertEquals( "Bob", person.getFirstName() );
+        assertEquals( "Mor\"ane", person.getLastName() );
+
+        person = lenient.nextJavaScriptObject( true ).cast();
+        assertEquals( "Bob", person.getFirstName() );
+    }
+
+    public void testNextNameIndex() {
+        String[] names = new String[]{"id", "name", "type", "a\"b"};
+        JsonReader reader = newJsonReader( "{\"name\":1,\"id\":2,\"unknown\":3,\"typ\\u0065\":4,\"a\\\"b\":5,'type':6,type:7}" );
+        reader.setLenient( true );
+        reader.beginObject();
+        assertEquals( 1, reader.nextNameIndex( names, 0 ) );
+        assertEquals( 1, reader.nextInt() );
+        assertEquals( 0, reader.nextNameIndex( names, 2 ) );
+        assertEquals( 2, reader.nextInt() );
+        assertEquals( -1, reader.nextNameIndex( names, 1 ) );
+        assertEquals( "unknown", reader.getUnmatchedName() );
+        assertEquals( 3, reader.nextInt() );
+        assertEquals( 2, reader.nextNameIndex( names, 2 ) );
+        assertEquals( 4, reader.nextInt() );
+        assertEquals( 3, reader.nextNameIndex( names, 3 ) );
+        assertEquals( 5, reader.nextInt() );
+        assertEquals( 2, reader.nextNameIndex( names, 4 ) );
+        assertEquals( 6, reader.nextInt() );
+        assertEquals( 2, reader.nextNameIndex( names, 0 ) );
+        assertEquals( 7, reader.nextInt() );
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    public void testNextNameIndexNoNames() {
+        JsonReader reader = newJsonReader( "{\"a\":1}" );
+        reader.beginObject();
+        assertEquals( -1, reader.nextNameIndex( new String[0], 0 ) );
+        assertEquals( "a", reader.getUnmatchedName() );
+        assertEquals( 1, reader.nextInt() );
+        reader.endObject();
+    }
+
+    public void testNextNameIndexNotAName() {
+        JsonReader reader = newJsonReader( "[1]" );
+        reader.beginArray();
+        try {
+            reader.nextNameIndex( new String[]{"a"}, 0 );
+            fail();
+        } catch ( IllegalStateException expected ) {
+        }
+    }
+
+    public void testBufferValueNextNameIndex() {
+        String[] names = new String[]{"first", "second"};
+        JsonReader reader = newJsonReader( "{\"value\":{\"second\":1,\"unknown\":2,\"fir\\u0073t\":3,'first':4}}" );
+        reader.setLenient( true );
+        reader.beginObject();
+        reader.nextName();
+        JsonReader value = reader.bufferValue();
+        reader.endObject();
+
+        value.beginObject();
+        assertEquals( 1, value.nextNameIndex( names, 0 ) );
+        assertEquals( 1, value.nextInt() );
+        assertEquals( -1, value.nextNameIndex( names, 2 ) );
+        assertEquals( "unknown", value.getUnmatchedName() );
+        assertEquals( 2, value.nextInt() );
+        assertEquals( 0, value.nextNameIndex( names, 0 ) );
+        assertEquals( 3, value.nextInt() );
+        assertEquals( 0, value.nextNameIndex( names, 1 ) );
+        assertEquals( 4, value.nextInt() );
+        value.endObject();
+    }
+
     private void assertDocument( String document, Object... expectations ) {
         JsonReader reader = newJsonReader( document );
         reader.setLenient( true );
@@ -186,16 +186,33 @@ public abstract class AbstractJsonWriterTest extends GwtJacksonTestCase {
     }
 
     public void testLongs() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginArray();
+        jsonWriter.value( 0l );
+        jsonWriter.value( 1l );
+        jsonWriter.value( -1l );
+        jsonWriter.value( Long.MIN_VALUE );
+        jsonWriter.value( Long.MAX_VALUE );
+        jsonWriter.value( 1412345678901l );
+        jsonWriter.value( -9007199254740991l );
+        jsonWriter.value( 9007199254740993l );
+        jsonWriter.endArray();
+        jsonWriter.close();
+        assertEquals( "[0," + "1," + "-1," + "-9223372036854775808," + "9223372036854775807," + "1412345678901," + "-9007199254740991," +
+                "9007199254740993]", jsonWriter.getOutput() );
+    }
+
+    public void testInts() {
         JsonWriter jsonWriter = newJsonWriter();
         jsonWriter.beginArray();
         jsonWriter.value( 0 );
         jsonWriter.value( 1 );
         jsonWriter.value( -1 );
-        jsonWriter.value( Long.MIN_VALUE );
-        jsonWriter.value( Long.MAX_VALUE );
+        jsonWriter.value( Integer.MIN_VALUE );
+        jsonWriter.value( Integer.MAX_VALUE );
         jsonWriter.endArray();
         jsonWriter.close();
-        assertEquals( "[0," + "1," + "-1," + "-9223372036854775808," + "9223372036854775807]", jsonWriter.getOutput() );
+        assertEquals( "[0," + "1," + "-1," + "-2147483648," + "2147483647]", jsonWriter.getOutput() );
     }
 
     public void testNumbers() {
@@ -371,6 +388,42 @@ public abstract class AbstractJsonWriterTest extends GwtJacksonTestCase {
         assertEquals( expected, jsonWriter.getOutput() );
     }
 
+    public void testPrerenderedName() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.setSerializeNulls( false );
+        jsonWriter.beginObject();
+        jsonWriter.prerenderedName( "a", ",\"a\":" ).value( 1 );
+        jsonWriter.prerenderedName( "b", ",\"b\":" ).nullValue();
+        jsonWriter.prerenderedName( "c", ",\"c\":" ).cancelName();
+        jsonWriter.prerenderedName( "d\"e", ",\"d\\\"e\":" ).beginObject();
+        jsonWriter.prerenderedName( "f", ",\"f\":" ).value( true );
+        jsonWriter.name( "g" ).value( "h" );
+        jsonWriter.endObject();
+        jsonWriter.name( "i" ).value( 2 );
+        jsonWriter.endObject();
+        assertEquals( "{\"a\":1,\"d\\\"e\":{\"f\":true,\"g\":\"h\"},\"i\":2}", jsonWriter.getOutput() );
+    }
+
+    public void testPrerenderedNamePrettyPrint() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.setIndent( "   " );
+        jsonWriter.beginObject();
+        jsonWriter.prerenderedName( "a", ",\"a\":" ).value( 1 );
+        jsonWriter.prerenderedName( "b", ",\"b\":" ).value( 2 );
+        jsonWriter.endObject();
+        assertEquals( "{\n" + "   \"a\": 1,\n" + "   \"b\": 2\n" + "}", jsonWriter.getOutput() );
+    }
+
+    public void testPrerenderedNameInArray() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginArray();
+        try {
+            jsonWriter.prerenderedName( "a", ",\"a\":" ).value( 1 );
+            fail();
+        } catch ( IllegalStateException expected ) {
+        }
+    }
+
     public void testPrettyPrintArray() {
         JsonWriter jsonWriter = newJsonWriter();
         jsonWriter.setIndent( "   " );
@@ -402,8 +455,10 @@ public abstract class AbstractJsonWriterTest extends GwtJacksonTestCase {
         jsonWriter.endArray();
         jsonWriter.beginArray();
         jsonWriter.endArray();
+        jsonWriter.value( 1 );
+        jsonWriter.value( 2 );
         jsonWriter.close();
-        assertEquals( "[][]", jsonWriter.getOutput() );
+        assertEquals( "[]\n[]\n1\n2", jsonWriter.getOutput() );
     }
 
     public void testStrictWriterDoesNotPermitMultipleTopLevelValues() {
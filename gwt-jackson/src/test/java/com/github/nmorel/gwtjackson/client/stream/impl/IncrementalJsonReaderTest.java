@@ -0,0 +1,209 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+
+/**
+ * @author Nicolas Morel
+ */
+public class IncrementalJsonReaderTest extends GwtJacksonTestCase {
+
+    private static final String DOCUMENT = "{\"a\": \"android\", \"b\\u0062\": [true, false, null, -0.5e+3, 0, 12345678999],\n" +
+            "  \"c\": {\"d\": \"with \\\"escaped\\\" \\n characters \\u00e9\"}, \"e\": []}";
+
+    private static IncrementalJsonReader append( String input, int chunkSize ) {
+        IncrementalJsonReader reader = new IncrementalJsonReader();
+        for ( int i = 0; i < input.length(); i += chunkSize ) {
+            reader.append( input.substring( i, Math.min( input.length(), i + chunkSize ) ) );
+        }
+        return reader;
+    }
+
+    public void testReadInChunks() {
+        for ( int chunkSize = 1; chunkSize <= DOCUMENT.length(); chunkSize++ ) {
+            IncrementalJsonReader reader = append( DOCUMENT, chunkSize );
+            assertTrue( reader.isComplete() );
+            reader.end();
+
+            reader.beginObject();
+            assertEquals( "a", reader.nextName() );
+            assertEquals( "android", reader.nextString() );
+            assertEquals( "bb", reader.nextName() );
+            reader.beginArray();
+            assertTrue( reader.nextBoolean() );
+            assertFalse( reader.nextBoolean() );
+            assertEquals( JsonToken.NULL, reader.peek() );
+            reader.nextNull();
+            assertEquals( -500d, reader.nextDouble() );
+            assertEquals( 0, reader.nextInt() );
+            assertEquals( 12345678999l, reader.nextLong() );
+            reader.endArray();
+            assertEquals( "c", reader.nextName() );
+            reader.beginObject();
+            assertEquals( "d", reader.nextName() );
+            assertEquals( "with \"escaped\" \n characters \u00e9", reader.nextString() );
+            reader.endObject();
+            assertEquals( "e", reader.nextName() );
+            assertEquals( "[]", reader.nextValue() );
+            reader.endObject();
+            assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+        }
+    }
+
+    public void testReadBeforeComplete() {
+        IncrementalJsonReader reader = new IncrementalJsonReader();
+        assertFalse( reader.append( "{\"a\": [1, 2" ) );
+        assertFalse( reader.isComplete() );
+        try {
+            reader.beginObject();
+            fail();
+        } catch ( IllegalStateException expected ) {
+        }
+        assertTrue( reader.append( "]} " ) );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        assertEquals( "[1, 2]", reader.nextValue() );
+        reader.endObject();
+    }
+
+    public void testEndBeforeComplete() {
+        IncrementalJsonReader reader = new IncrementalJsonReader();
+        reader.append( "[\"abc" );
+        try {
+            reader.end();
+            fail();
+        } catch ( MalformedJsonException expected ) {
+        }
+    }
+
+    public void testTopLevelValues() {
+        IncrementalJsonReader reader = new IncrementalJsonReader();
+        assertFalse( reader.append( "-4" ) );
+        assertFalse( reader.append( "2" ) );
+        reader.end();
+        assertEquals( -42, reader.nextInt() );
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+
+        reader = append( "12.5 ", 1 );
+        assertTrue( reader.isComplete() );
+        assertEquals( 12.5d, reader.nextDouble() );
+
+        reader = append( "\"string\"", 3 );
+        assertTrue( reader.isComplete() );
+        assertEquals( "string", reader.nextString() );
+
+        reader = append( "null", 1 );
+        assertTrue( reader.isComplete() );
+        reader.nextNull();
+    }
+
+    public void testMalformedInput() {
+        String[] inputs = new String[]{"[1,]", "{\"a\" 1}", "{a:1}", "{\"a\":1,}", "[01]", "[1.]", "[-]", "[1e]", "[trux]", "['a']",
+                "[\"\\u00zz\"]", "[1] [2]", "[1 // comment\n]", "{\"a\":1]", "[NaN]"};
+        for ( String input : inputs ) {
+            try {
+                IncrementalJsonReader reader = append( input, 1 );
+                reader.end();
+                fail( "Expected a MalformedJsonException for " + input );
+            } catch ( MalformedJsonException expected ) {
+            }
+        }
+    }
+
+    public void testEscapes() {
+        String input = "[\"\\\" \\\\ \\/ \\b \\f \\n \\r \\t \\u00e9\"]";
+        for ( int chunkSize = 1; chunkSize <= input.length(); chunkSize++ ) {
+            IncrementalJsonReader reader = append( input, chunkSize );
+            reader.end();
+            reader.beginArray();
+            assertEquals( "\" \\ / \b \f \n \r \t \u00e9", reader.nextString() );
+            reader.endArray();
+        }
+    }
+
+    public void testInvalidEscapesAndControlCharacters() {
+        String[] inputs = new String[]{"[\"it\\'s\"]", "[\"\\x\"]", "[\"\\\n\"]", "{\"a\\0\":1}", "[\"tab\tline\"]",
+                "[\"new\nline\"]", "{\"a\u0000\":1}"};
+        for ( String input : inputs ) {
+            for ( int chunkSize = 1; chunkSize <= input.length(); chunkSize++ ) {
+                try {
+                    append( input, chunkSize );
+                    fail( "Expected a MalformedJsonException for " + input );
+                } catch ( MalformedJsonException expected ) {
+                }
+            }
+        }
+    }
+
+    public void testInvalidEscapePosition() {
+        IncrementalJsonReader reader = new IncrementalJsonReader();
+        reader.append( "[\"a\\" );
+        try {
+            reader.append( "'\"]" );
+            fail();
+        } catch ( MalformedJsonException e ) {
+            assertEquals( "Invalid escape sequence at line 1 column 5", e.getMessage() );
+        }
+    }
+
+    public void testAppendRanges() {
+        IncrementalJsonReader reader = new IncrementalJsonReader();
+        for ( int i = 0; i < DOCUMENT.length(); i += 7 ) {
+            reader.append( DOCUMENT, i, Math.min( DOCUMENT.length(), i + 7 ) );
+        }
+        reader.end();
+        assertSame( DOCUMENT, reader.getInput() );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        assertEquals( "android", reader.nextString() );
+
+        // a range of another String switches to a copy of the input
+        String input = "[\"abc\", 12]";
+        reader = new IncrementalJsonReader();
+        reader.append( input, 0, 5 );
+        reader.append( "xx" + input, 7, input.length() + 2 );
+        reader.end();
+        assertEquals( input, reader.getInput() );
+        reader.beginArray();
+        assertEquals( "abc", reader.nextString() );
+        assertEquals( 12, reader.nextInt() );
+        reader.endArray();
+    }
+
+    public void testAppendAfterEnd() {
+        IncrementalJsonReader reader = append( "[]", 1 );
+        reader.end();
+        try {
+            reader.append( " " );
+            fail();
+        } catch ( IllegalStateException expected ) {
+        }
+    }
+
+    public void testSyntaxErrorPosition() {
+        IncrementalJsonReader reader = new IncrementalJsonReader();
+        reader.append( "{\"a\": 1,\n  \"b\"" );
+        try {
+            reader.append( " 2}" );
+            fail();
+        } catch ( MalformedJsonException e ) {
+            assertEquals( "Expected ':' at line 2 column 7", e.getMessage() );
+        }
+    }
+}
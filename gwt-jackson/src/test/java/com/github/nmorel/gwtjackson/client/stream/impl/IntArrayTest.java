@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+
+/**
+ * @author Nicolas Morel
+ */
+public class IntArrayTest extends GwtJacksonTestCase {
+
+    public void testGrow() {
+        IntArray array = IntArray.create( 2 );
+        for ( int i = 0; i < 1000; i++ ) {
+            array.set( i, i * 3 - 500 );
+        }
+        for ( int i = 0; i < 1000; i++ ) {
+            assertEquals( i * 3 - 500, array.get( i ) );
+        }
+
+        // setting an index far past the end
+        array.set( 5000, Integer.MIN_VALUE );
+        assertEquals( Integer.MIN_VALUE, array.get( 5000 ) );
+        assertEquals( 0, array.get( 4999 ) );
+        assertEquals( 2497, array.get( 999 ) );
+    }
+
+    public void testDeepNesting() {
+        StringBuilder builder = new StringBuilder();
+        for ( int i = 0; i < 200; i++ ) {
+            builder.append( "[{\"a\":" );
+        }
+        builder.append( "1" );
+        for ( int i = 0; i < 200; i++ ) {
+            builder.append( "}]" );
+        }
+        String json = builder.toString();
+
+        NonBufferedJsonReader reader = new NonBufferedJsonReader( json );
+        FastJsonWriter writer = new FastJsonWriter( new StringBuilder() );
+        for ( int i = 0; i < 200; i++ ) {
+            reader.beginArray();
+            reader.beginObject();
+            assertEquals( "a", reader.nextName() );
+            writer.beginArray();
+            writer.beginObject();
+            writer.name( "a" );
+        }
+        writer.value( reader.nextInt() );
+        for ( int i = 0; i < 200; i++ ) {
+            reader.endObject();
+            reader.endArray();
+            writer.endObject();
+            writer.endArray();
+        }
+        writer.close();
+        assertEquals( json, writer.getOutput() );
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+import com.github.nmorel.gwtjackson.client.stream.Person;
+import com.google.gwt.core.client.JsArrayString;
+
+/**
+ * @author Nicolas Morel
+ */
+public class NativeJsonReaderTest extends GwtJacksonTestCase {
+
+    public void testReadObject() {
+        JsonReader reader = new NativeJsonReader( "{\"a\": \"android\", \"b\": [true, false, null], \"c\": {}}" );
+        assertEquals( JsonToken.BEGIN_OBJECT, reader.peek() );
+        reader.beginObject();
+        assertEquals( JsonToken.NAME, reader.peek() );
+        assertEquals( "a", reader.nextName() );
+        assertEquals( "android", reader.nextString() );
+        assertEquals( "b", reader.nextName() );
+        reader.beginArray();
+        assertTrue( reader.nextBoolean() );
+        assertFalse( reader.nextBoolean() );
+        assertEquals( JsonToken.NULL, reader.peek() );
+        reader.nextNull();
+        assertFalse( reader.hasNext() );
+        reader.endArray();
+        assertEquals( "c", reader.nextName() );
+        reader.beginObject();
+        assertFalse( reader.hasNext() );
+        reader.endObject();
+        assertFalse( reader.hasNext() );
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    public void testReadNumbers() {
+        JsonReader reader = new NativeJsonReader( "[123, -12345678999, 1.5, \"42\", \"12345678999\", 2147483648, \"-1.5\"]" );
+        reader.beginArray();
+        assertEquals( JsonToken.NUMBER, reader.peek() );
+        assertEquals( 123, reader.nextInt() );
+        assertEquals( -12345678999l, reader.nextLong() );
+        try {
+            reader.nextInt();
+            fail();
+        } catch ( NumberFormatException e ) {
+            // expected exception
+        }
+        assertEquals( 1.5d, reader.nextDouble() );
+        assertEquals( 42, reader.nextInt() );
+        assertEquals( new Long( 12345678999l ), reader.nextNumber() );
+        assertEquals( new Long( 2147483648l ), reader.nextNumber() );
+        assertEquals( new Double( -1.5d ), reader.nextNumber() );
+        reader.endArray();
+    }
+
+    public void testNumberAsString() {
+        JsonReader reader = new NativeJsonReader( "[12, 1.5]" );
+        reader.beginArray();
+        assertEquals( "12", reader.nextString() );
+        assertEquals( "1.5", reader.nextString() );
+        reader.endArray();
+    }
+
+    public void testUnexpectedToken() {
+        JsonReader reader = new NativeJsonReader( "{\"a\": \"android\"}" );
+        try {
+            reader.beginArray();
+            fail();
+        } catch ( IllegalStateException e ) {
+            // expected exception
+        }
+        reader.beginObject();
+        try {
+            reader.nextString();
+            fail();
+        } catch ( IllegalStateException e ) {
+            // expected exception
+        }
+    }
+
+    public void testMalformedJson() {
+        try {
+            new NativeJsonReader( "{a: 'android'}" );
+            fail();
+        } catch ( MalformedJsonException e ) {
+            // expected exception
+        }
+    }
+
+    public void testSkipValue() {
+        JsonReader reader = new NativeJsonReader( "{\"a\": {\"b\": [1, 2]}, \"c\": 3}" );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        reader.skipValue();
+        assertEquals( "c", reader.nextName() );
+        assertEquals( 3, reader.nextInt() );
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    public void testNextValue() {
+        JsonReader reader = new NativeJsonReader( "[{\"a\" : [1, \"b\\\"\"]}, \"c\", 12, null]" );
+        reader.beginArray();
+        assertEquals( "{\"a\":[1,\"b\\\"\"]}", reader.nextValue() );
+        assertEquals( "\"c\"", reader.nextValue() );
+        assertEquals( "12", reader.nextValue() );
+        assertEquals( "null", reader.nextValue() );
+        reader.endArray();
+    }
+
+    public void testBufferValue() {
+        JsonReader reader = new NativeJsonReader( "{\"a\": {\"b\": [1, 2]}, \"c\": \"d\"}" );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        JsonReader a = reader.bufferValue();
+        assertEquals( "c", reader.nextName() );
+        JsonReader c = reader.bufferValue();
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+
+        a.beginObject();
+        assertEquals( "b", a.nextName() );
+        a.beginArray();
+        assertEquals( 1, a.nextInt() );
+        assertEquals( 2, a.nextInt() );
+        a.endArray();
+        a.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, a.peek() );
+
+        assertEquals( "d", c.nextString() );
+        assertEquals( JsonToken.END_DOCUMENT, c.peek() );
+    }
+
+    public void testNextJavaScriptObject() {
+        JsonReader reader = new NativeJsonReader( "{\"jso\":{\"firstName\":\"Bob\",\"lastName\":\"Morane\"},\"array\":[\"Bob\"]}" );
+        reader.beginObject();
+        assertEquals( "jso", reader.nextName() );
+        Person person = reader.nextJavaScriptObject( true ).cast();
+        assertEquals( "Bob", person.getFirstName() );
+        assertEquals( "Morane", person.getLastName() );
+        assertEquals( "array", reader.nextName() );
+        JsArrayString array = reader.nextJavaScriptObject( false ).cast();
+        assertEquals( 1, array.length() );
+        assertEquals( "Bob", array.get( 0 ) );
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+
+    public void testNextNameIndex() {
+        String[] names = new String[]{"id", "name"};
+        JsonReader reader = new NativeJsonReader( "{\"name\":1,\"unknown\":2,\"i\\u0064\":3}" );
+        reader.beginObject();
+        assertEquals( 1, reader.nextNameIndex( names, 0 ) );
+        assertEquals( 1, reader.nextInt() );
+        assertEquals( -1, reader.nextNameIndex( names, 2 ) );
+        assertEquals( "unknown", reader.getUnmatchedName() );
+        assertEquals( 2, reader.nextInt() );
+        assertEquals( 0, reader.nextNameIndex( names, 1 ) );
+        assertEquals( 3, reader.nextInt() );
+        reader.endObject();
+    }
+
+    public void testReadScalarDocument() {
+        JsonReader reader = new NativeJsonReader( "\"root\"" );
+        assertEquals( JsonToken.STRING, reader.peek() );
+        assertEquals( "root", reader.nextString() );
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.github.nmorel.gwtjackson.client.stream.AbstractJsonWriterTest;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonWriter;
+import com.github.nmorel.gwtjackson.client.stream.Person;
+import com.google.gwt.core.client.JsArrayMixed;
+
+/**
+ * @author Nicolas Morel
+ */
+public class NativeJsonWriterTest extends AbstractJsonWriterTest {
+
+    @Override
+    public JsonWriter newJsonWriter() {
+        return new NativeJsonWriter();
+    }
+
+    @Override
+    public void testDoubles() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginArray();
+        jsonWriter.value( -0.0 );
+        jsonWriter.value( 1.0 );
+        jsonWriter.value( Double.MAX_VALUE );
+        jsonWriter.value( Double.MIN_VALUE );
+        jsonWriter.value( 0.0 );
+        jsonWriter.value( -0.5 );
+        jsonWriter.value( 2.2250738585072014E-308 );
+        jsonWriter.value( Math.PI );
+        jsonWriter.value( Math.E );
+        jsonWriter.endArray();
+        jsonWriter.close();
+        // numbers are written by JSON.stringify
+        assertEquals( "[0," + "1," + "1.7976931348623157e+308," + "5e-324," + "0," + "-0.5," + "2.2250738585072014e-308," +
+                "" + "3.141592653589793," + "2.718281828459045]", jsonWriter.getOutput() );
+    }
+
+    @Override
+    public void testLongs() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginArray();
+        jsonWriter.value( 0l );
+        jsonWriter.value( 1l );
+        jsonWriter.value( -1l );
+        jsonWriter.value( 9007199254740992l );
+        jsonWriter.value( -9007199254740992l );
+        jsonWriter.endArray();
+        jsonWriter.close();
+        assertEquals( "[0," + "1," + "-1," + "9007199254740992," + "-9007199254740992]", jsonWriter.getOutput() );
+    }
+
+    @Override
+    public void testNumbers() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginArray();
+        jsonWriter.value( new BigInteger( "0" ) );
+        jsonWriter.value( new BigInteger( "9007199254740992" ) );
+        jsonWriter.value( new BigDecimal( "3.5" ) );
+        jsonWriter.endArray();
+        jsonWriter.close();
+        assertEquals( "[0," + "9007199254740992," + "3.5]", jsonWriter.getOutput() );
+    }
+
+    @Override
+    public void testRepeatedName() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginObject();
+        jsonWriter.name( "a" ).value( true );
+        jsonWriter.name( "a" ).value( false );
+        jsonWriter.endObject();
+        // the last value replaces the previous one in the object
+        assertEquals( "{\"a\":false}", jsonWriter.getOutput() );
+    }
+
+    @Override
+    public void testNoEscaping() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginObject();
+        jsonWriter.unescapeName( "\"json\"" );
+        jsonWriter.unescapeValue( "{\"key\":\"value\"}" );
+        jsonWriter.endObject();
+        jsonWriter.close();
+
+        // JSON.stringify always escapes the strings
+        assertEquals( "{\"\\\"json\\\"\":\"{\\\"key\\\":\\\"value\\\"}\"}", jsonWriter.getOutput() );
+    }
+
+    @Override
+    public void testUnicodeLineBreaksEscaped() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginArray();
+        jsonWriter.value( "\u2028\u2029" );
+        jsonWriter.endArray();
+
+        // depending on the browser, JSON.stringify may not escape them but they are still valid JSON
+        JsonReader reader = new NonBufferedJsonReader( jsonWriter.getOutput() );
+        reader.beginArray();
+        assertEquals( "\u2028\u2029", reader.nextString() );
+        reader.endArray();
+    }
+
+    public void testGetOutputAsJavaScriptObject() {
+        NativeJsonWriter jsonWriter = new NativeJsonWriter();
+        jsonWriter.beginArray();
+        jsonWriter.beginObject();
+        jsonWriter.name( "firstName" ).value( "Bob" );
+        jsonWriter.name( "lastName" ).value( "Morane" );
+        jsonWriter.endObject();
+        jsonWriter.value( 5 );
+        jsonWriter.nullValue();
+        jsonWriter.endArray();
+        jsonWriter.close();
+
+        JsArrayMixed array = jsonWriter.getOutputAsJavaScriptObject().cast();
+        assertEquals( 3, array.length() );
+        Person person = array.getObject( 0 ).cast();
+        assertEquals( "Bob", person.getFirstName() );
+        assertEquals( "Morane", person.getLastName() );
+        assertEquals( 5d, array.getNumber( 1 ) );
+        assertNull( array.getObject( 2 ) );
+
+        assertEquals( "[{\"firstName\":\"Bob\",\"lastName\":\"Morane\"},5,null]", jsonWriter.getOutput() );
+    }
+
+    public void testGetOutputAsJavaScriptObjectOnScalar() {
+        NativeJsonWriter jsonWriter = new NativeJsonWriter();
+        jsonWriter.setLenient( true );
+        jsonWriter.value( "root" );
+        assertEquals( "\"root\"", jsonWriter.getOutput() );
+        try {
+            jsonWriter.getOutputAsJavaScriptObject();
+            fail();
+        } catch ( IllegalStateException expected ) {
+        }
+    }
+
+    public void testRawValue() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.beginObject();
+        jsonWriter.name( "raw" ).rawValue( "{\"a\" : [1, true]}" );
+        jsonWriter.endObject();
+        assertEquals( "{\"raw\":{\"a\":[1,true]}}", jsonWriter.getOutput() );
+    }
+
+    public void testSerializeNulls() {
+        JsonWriter jsonWriter = newJsonWriter();
+        jsonWriter.setSerializeNulls( false );
+        jsonWriter.beginObject();
+        jsonWriter.name( "a" ).nullValue();
+        jsonWriter.name( "b" ).value( "c" );
+        jsonWriter.name( "d" ).cancelName();
+        jsonWriter.endObject();
+        assertEquals( "{\"b\":\"c\"}", jsonWriter.getOutput() );
+    }
+}
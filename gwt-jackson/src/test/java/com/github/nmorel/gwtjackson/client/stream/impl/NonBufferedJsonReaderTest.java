@@ -28,4 +28,67 @@ public class NonBufferedJsonReaderTest extends AbstractJsonReaderTest {
     public JsonReader newJsonReader( String input ) {
         return new NonBufferedJsonReader( input );
     }
+
+    public void testEscapedStringCount() {
+        NonBufferedJsonReader.resetEscapedStringCount();
+        JsonReader reader = newJsonReader( "{\"a\":\"b\",\"c\\\"d\":\"e\\nf\\tg\",\"h\":\"\\u0069\"}" );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        assertEquals( "b", reader.nextString() );
+        assertEquals( 0, NonBufferedJsonReader.getEscapedStringCount() );
+        assertEquals( "c\"d", reader.nextName() );
+        assertEquals( "e\nf\tg", reader.nextString() );
+        assertEquals( "h", reader.nextName() );
+        assertEquals( "i", reader.nextString() );
+        reader.endObject();
+        assertEquals( 3, NonBufferedJsonReader.getEscapedStringCount() );
+
+        NonBufferedJsonReader.resetEscapedStringCount();
+        assertEquals( 0, NonBufferedJsonReader.getEscapedStringCount() );
+    }
+
+    public void testIntegerBoundaries() {
+        JsonReader reader = newJsonReader( "[999999999, -999999999, 1000000000, -1000000000, 2147483647, 2147483648, -2147483649, -0, 0]" );
+        reader.beginArray();
+        assertEquals( 999999999, reader.nextInt() );
+        assertEquals( -999999999l, reader.nextLong() );
+        assertEquals( 1000000000, reader.nextInt() );
+        assertEquals( -1000000000l, reader.nextLong() );
+        assertEquals( Integer.MAX_VALUE, reader.nextNumber() );
+        assertEquals( 2147483648l, reader.nextNumber() );
+        try {
+            reader.nextInt();
+            fail();
+        } catch ( NumberFormatException expected ) {
+        }
+        assertEquals( -2147483649d, reader.nextDouble() );
+        assertEquals( 0, reader.nextInt() );
+        assertEquals( 0d, reader.nextDouble() );
+        reader.endArray();
+    }
+
+    public void testTimestamps() {
+        JsonReader reader = newJsonReader( "[1412345678901, -1412345678901, 999999999999999, 1000000000000000, -9007199254740993, " +
+                "\"1412345678901\"]" );
+        reader.beginArray();
+        assertEquals( 1412345678901l, reader.nextLong() );
+        assertEquals( -1412345678901l, reader.nextLong() );
+        assertEquals( 999999999999999l, reader.nextLong() );
+        assertEquals( 1000000000000000l, reader.nextLong() );
+        assertEquals( -9007199254740993l, reader.nextLong() );
+        assertEquals( 1412345678901l, reader.nextLong() );
+        reader.endArray();
+    }
+
+    public void testNumberLiterals() {
+        JsonReader reader = newJsonReader( "[123, -9876543210, 1.50, 2.5e-3, 12345678901234567890, -12345678901234567890.5]" );
+        reader.beginArray();
+        assertEquals( "123", reader.nextString() );
+        assertEquals( "-9876543210", reader.nextString() );
+        assertEquals( "1.50", reader.nextString() );
+        assertEquals( 0.0025d, reader.nextDouble() );
+        assertEquals( new Double( 12345678901234567890d ), reader.nextNumber() );
+        assertEquals( new Double( -12345678901234567890.5d ), reader.nextNumber() );
+        reader.endArray();
+    }
 }
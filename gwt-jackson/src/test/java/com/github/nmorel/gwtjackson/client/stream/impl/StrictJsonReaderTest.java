@@ -0,0 +1,286 @@
+/*
+ * Copyright 2013 Nicolas Morel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nmorel.gwtjackson.client.stream.impl;
+
+import com.github.nmorel.gwtjackson.client.GwtJacksonTestCase;
+import com.github.nmorel.gwtjackson.client.JsonDeserializationContext;
+import com.github.nmorel.gwtjackson.client.exception.JsonDeserializationException;
+import com.github.nmorel.gwtjackson.client.stream.JsonReader;
+import com.github.nmorel.gwtjackson.client.stream.JsonToken;
+
+/**
+ * @author Nicolas Morel
+ */
+public class StrictJsonReaderTest extends GwtJacksonTestCase {
+
+    /**
+     * Documents accepted by RFC 8259 with an object or an array at the top-level, so they are also accepted by a strict
+     * {@link NonBufferedJsonReader}.
+     */
+    private static final String[] ACCEPTED = new String[]{"[]", "{}", " [ ] ", "\t\r\n[\n]\n", "[[[[[]]]]]", "[{}]", "{\"\":{}}",
+            "{\"a\":\"b\",\"a\":\"c\"}", "[1,-1,0,-0,1.5,-0.25,1e3,1E3,1e+3,1e-3,0.5e10,-1.0E-10,12345678901234567890,9223372036854775807," +
+            "-9223372036854775808]", "[true,false,null]", "[\"\",\"a\",\"\\\"\",\"\\\\\",\"\\/\",\"\\b\\f\\n\\r\\t\"]",
+            "[\"\\u0000\",\"\\u00e9\",\"\\uD834\\uDD1E\",\"\\u00E9\"]", "[\"\u00e9\",\"\u2028\",\"\u007f\"]",
+            "{\"a\" : [ 1 , { \"b\" : null } ] , \"c\" : \"d\" }", "\ufeff[1]"};
+
+    /**
+     * Documents accepted by RFC 8259 with a scalar at the top-level.
+     */
+    private static final String[] ACCEPTED_SCALARS = new String[]{"1", " -2.5e3 ", "\"string\"", "true", "false", "null", "0"};
+
+    private static final String[] REJECTED = new String[]{"", " ", "[", "]", "{", "}", "[1", "[1,", "{\"a\"", "{\"a\":", "{\"a\":1",
+            "[1,]", "[,1]", "[1,,2]", "[1 2]", "{\"a\":1,}", "{,\"a\":1}", "{\"a\" 1}", "{\"a\"=1}", "{\"a\"=>1}", "{\"a\":1;\"b\":2}",
+            "[1;2]", "{a:1}", "{'a':1}", "['a']", "[abc]", "[True]", "[NULL]", "[nul]", "[truex]", "[01]", "[-01]", "[00]", "[1.]",
+            "[.5]", "[-]", "[+1]", "[1e]", "[1e+]", "[1.e3]", "[0x10]", "[1x]", "[NaN]", "[Infinity]", "[-Infinity]", "[\"a]",
+            "[\"\\x\"]", "[\"\\u00zz\"]", "[\"\\u00\"]", "[\"\\'\"]", "[\"a\nb\"]", "[\"a\tb\"]", "[\"\u0001\"]", "[1] [2]", "[1]x",
+            "{} {}", "1 2", ")]}'\n[]", "[1 // comment\n]", "[1 /* comment */]", "[1 # comment\n]", "{\"a\":1]", "[1}", "[\f1]"};
+
+    public void testAcceptedDocuments() {
+        for ( String input : ACCEPTED ) {
+            NonBufferedJsonReader expected = new NonBufferedJsonReader( input );
+            assertEquals( input, write( expected ), write( new StrictJsonReader( input ) ) );
+        }
+    }
+
+    public void testAcceptedScalars() {
+        for ( String input : ACCEPTED_SCALARS ) {
+            NonBufferedJsonReader expected = new NonBufferedJsonReader( input );
+            expected.setLenient( true );
+            assertEquals( input, write( expected ), write( new StrictJsonReader( input ) ) );
+        }
+    }
+
+    public void testRejectedDocuments() {
+        for ( String input : REJECTED ) {
+            try {
+                write( new StrictJsonReader( input ) );
+                fail( "Expected a JsonDeserializationException for " + input );
+            } catch ( JsonDeserializationException expected ) {
+            }
+        }
+    }
+
+    /**
+     * Reads the whole document and writes its tokens.
+     */
+    private static String write( JsonReader reader ) {
+        StringBuilder builder = new StringBuilder();
+        write( reader, builder );
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+        return builder.toString();
+    }
+
+    private static void write( JsonReader reader, StringBuilder builder ) {
+        switch ( reader.peek() ) {
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                builder.append( '[' );
+                while ( reader.hasNext() ) {
+                    write( reader, builder );
+                    builder.append( ',' );
+                }
+                reader.endArray();
+                builder.append( ']' );
+                break;
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                builder.append( '{' );
+                while ( reader.hasNext() ) {
+                    builder.append( '<' ).append( reader.nextName() ).append( ">:" );
+                    write( reader, builder );
+                    builder.append( ',' );
+                }
+                reader.endObject();
+                builder.append( '}' );
+                break;
+            case STRING:
+                builder.append( '<' ).append( reader.nextString() ).append( '>' );
+                break;
+            case NUMBER:
+                builder.append( "number:" ).append( reader.nextString() );
+                break;
+            case BOOLEAN:
+                builder.append( reader.nextBoolean() );
+                break;
+            case NULL:
+                reader.nextNull();
+                builder.append( "null" );
+                break;
+            default:
+                throw new IllegalStateException( "Unexpected token " + reader.peek() );
+        }
+    }
+
+    public void testSetLenient() {
+        StrictJsonReader reader = new StrictJsonReader( "[]" );
+        reader.setLenient( false );
+        try {
+            reader.setLenient( true );
+            fail();
+        } catch ( IllegalArgumentException expected ) {
+        }
+    }
+
+    public void testNumbers() {
+        JsonReader reader = new StrictJsonReader( "[1, -2147483648, 9223372036854775807, 1.5, 1e2, \"12\", \"1e2\", \"NaN\", 12345678901]" );
+        reader.beginArray();
+        assertEquals( 1, reader.nextInt() );
+        assertEquals( Integer.MIN_VALUE, reader.nextInt() );
+        assertEquals( Long.MAX_VALUE, reader.nextLong() );
+        assertEquals( 1.5, reader.nextDouble() );
+        assertEquals( 100, reader.nextInt() );
+        assertEquals( 12, reader.nextInt() );
+        assertEquals( 100l, reader.nextLong() );
+        // a quoted NaN is a valid string
+        assertTrue( Double.isNaN( reader.nextDouble() ) );
+        assertEquals( 12345678901l, reader.nextNumber() );
+        reader.endArray();
+    }
+
+    public void testIntegerBoundaries() {
+        JsonReader reader = new StrictJsonReader( "[999999999, -999999999, 1000000000, -1000000000, 2147483647, 2147483648, " +
+                "-2147483649, -0, 0]" );
+        reader.beginArray();
+        assertEquals( 999999999, reader.nextInt() );
+        assertEquals( -999999999l, reader.nextLong() );
+        assertEquals( 1000000000, reader.nextInt() );
+        assertEquals( -1000000000l, reader.nextLong() );
+        assertEquals( Integer.MAX_VALUE, reader.nextNumber() );
+        assertEquals( 2147483648l, reader.nextNumber() );
+        try {
+            reader.nextInt();
+            fail();
+        } catch ( NumberFormatException expected ) {
+        }
+        assertEquals( -2147483649d, reader.nextDouble() );
+        assertEquals( 0, reader.nextInt() );
+        assertEquals( 0d, reader.nextDouble() );
+        reader.endArray();
+    }
+
+    public void testTimestamps() {
+        JsonReader reader = new StrictJsonReader( "[1412345678901, -1412345678901, 999999999999999, 1000000000000000, " +
+                "-9007199254740993, \"1412345678901\"]" );
+        reader.beginArray();
+        assertEquals( 1412345678901l, reader.nextLong() );
+        assertEquals( -1412345678901l, reader.nextLong() );
+        assertEquals( 999999999999999l, reader.nextLong() );
+        assertEquals( 1000000000000000l, reader.nextLong() );
+        assertEquals( -9007199254740993l, reader.nextLong() );
+        assertEquals( 1412345678901l, reader.nextLong() );
+        reader.endArray();
+    }
+
+    public void testNumberLiterals() {
+        JsonReader reader = new StrictJsonReader( "[123, -9876543210, 1.50, 2.5e-3, 12345678901234567890, -12345678901234567890.5, 1.5, " +
+                "2.5e1]" );
+        reader.beginArray();
+        assertEquals( "123", reader.nextString() );
+        assertEquals( "-9876543210", reader.nextString() );
+        assertEquals( "1.50", reader.nextString() );
+        assertEquals( 0.0025d, reader.nextDouble() );
+        assertEquals( new Double( 12345678901234567890d ), reader.nextNumber() );
+        assertEquals( new Double( -12345678901234567890.5d ), reader.nextNumber() );
+        try {
+            reader.nextLong();
+            fail();
+        } catch ( NumberFormatException expected ) {
+        }
+        // the literal is still available after a failed conversion
+        assertEquals( "1.5", reader.nextString() );
+        assertEquals( 25, reader.nextInt() );
+        reader.endArray();
+    }
+
+    public void testNextNameIndex() {
+        String[] names = new String[]{"a", "b", "c"};
+        JsonReader reader = new StrictJsonReader( "{\"b\":1,\"\\u0061\":2,\"d\":3,\"c\\\"\":4}" );
+        reader.beginObject();
+        assertEquals( 1, reader.nextNameIndex( names, 0 ) );
+        assertEquals( 1, reader.nextInt() );
+        assertEquals( 0, reader.nextNameIndex( names, 2 ) );
+        assertEquals( 2, reader.nextInt() );
+        assertEquals( -1, reader.nextNameIndex( names, 0 ) );
+        assertEquals( "d", reader.getUnmatchedName() );
+        assertEquals( 3, reader.nextInt() );
+        assertEquals( -1, reader.nextNameIndex( names, 0 ) );
+        assertEquals( "c\"", reader.getUnmatchedName() );
+        assertEquals( 4, reader.nextInt() );
+        reader.endObject();
+    }
+
+    public void testValues() {
+        JsonReader reader = new StrictJsonReader( "{\"a\": [1, {\"b\": \"c\\n\"}], \"d\": -1.5e3, \"e\": {\"f\": [true]}, \"g\": null}" );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        assertEquals( "[1, {\"b\": \"c\\n\"}]", reader.nextValue() );
+        assertEquals( "d", reader.nextName() );
+        assertEquals( "-1.5e3", reader.nextRawValue() );
+        assertEquals( "e", reader.nextName() );
+        JsonReader buffered = reader.bufferValue();
+        assertEquals( "g", reader.nextName() );
+        reader.skipRawValue();
+        reader.endObject();
+        assertEquals( JsonToken.END_DOCUMENT, reader.peek() );
+
+        buffered.beginObject();
+        assertEquals( "f", buffered.nextName() );
+        buffered.beginArray();
+        assertTrue( buffered.nextBoolean() );
+        buffered.endArray();
+        buffered.endObject();
+    }
+
+    public void testSkipRawValue() {
+        JsonReader reader = new StrictJsonReader( "[{\"a\": \"]}\\\"\", \"b\": [[], {}]}, 2]" );
+        reader.beginArray();
+        reader.skipRawValue();
+        assertEquals( 2, reader.nextInt() );
+        reader.endArray();
+
+        reader = new StrictJsonReader( "[{\"a\": [1, 2]" );
+        reader.beginArray();
+        try {
+            reader.skipRawValue();
+            fail();
+        } catch ( MalformedJsonException expected ) {
+        }
+    }
+
+    public void testSyntaxErrorPosition() {
+        JsonReader reader = new StrictJsonReader( "{\"a\": 1,\n  \"b\": 01}" );
+        reader.beginObject();
+        assertEquals( "a", reader.nextName() );
+        assertEquals( 1, reader.nextInt() );
+        assertEquals( "b", reader.nextName() );
+        assertEquals( 0, reader.nextInt() );
+        try {
+            reader.peek();
+            fail();
+        } catch ( MalformedJsonException e ) {
+            assertEquals( "Unterminated object at line 2 column 10", e.getMessage() );
+        }
+    }
+
+    public void testNewJsonReader() {
+        assertTrue( JsonDeserializationContext.builder().build().newJsonReader( "[]" ) instanceof NonBufferedJsonReader );
+        assertTrue( JsonDeserializationContext.builder().useStrictJsonReader( true ).build()
+                .newJsonReader( "[]" ) instanceof StrictJsonReader );
+        assertTrue( JsonDeserializationContext.builder().useStrictJsonReader( true ).useNativeJsonParser( true ).build()
+                .newJsonReader( "[]" ) instanceof NativeJsonReader );
+    }
+}
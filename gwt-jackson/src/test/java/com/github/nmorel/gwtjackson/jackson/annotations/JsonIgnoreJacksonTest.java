@@ -57,4 +57,22 @@ public class JsonIgnoreJacksonTest extends AbstractJacksonTest {
                 .testDeserializeBeanWithIgnorePropertiesAsProperty( createReader( JsonIgnoreTester.BeanWithIgnorePropertiesAsProperty
                         .class ) );
     }
+
+    @Test
+    public void testSerializeBeanWithIgnorePropertiesAsSeveralProperties() {
+        JsonIgnoreTester.INSTANCE.testSerializeBeanWithIgnorePropertiesAsSeveralProperties( createWriter( JsonIgnoreTester
+                .BeanWithIgnorePropertiesAsSeveralProperties.class ) );
+    }
+
+    @Test
+    @Ignore("does not take the ignoreUnknown property into account")
+    public void testDeserializeBeanWithIgnorePropertiesAsSeveralProperties() {
+        JsonIgnoreTester.INSTANCE.testDeserializeBeanWithIgnorePropertiesAsSeveralProperties( createReader( JsonIgnoreTester
+                .BeanWithIgnorePropertiesAsSeveralProperties.class ) );
+    }
+
+    @Test
+    public void testDeserializeBeanWithIgnoredMapKeys() {
+        JsonIgnoreTester.INSTANCE.testDeserializeBeanWithIgnoredMapKeys( createReader( JsonIgnoreTester.BeanWithIgnoredMapKeys.class ) );
+    }
 }
@@ -16,6 +16,9 @@
 
 package com.github.nmorel.gwtjackson.shared.annotations;
 
+import java.util.List;
+import java.util.Map;
+
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -41,6 +44,23 @@ public final class JsonIgnoreTester extends AbstractTester {
         public BeanWithIgnoredProperties property;
     }
 
+    public static class BeanWithIgnorePropertiesAsSeveralProperties {
+
+        @JsonIgnoreProperties(value = {"intProperty"}, ignoreUnknown = true)
+        public BeanWithIgnoredProperties first;
+
+        @JsonIgnoreProperties(value = {"aStringProperty"}, ignoreUnknown = true)
+        public BeanWithIgnoredProperties second;
+
+        public BeanWithIgnoredProperties third;
+    }
+
+    public static class BeanWithIgnoredMapKeys {
+
+        @JsonIgnoreProperties({"ignored"})
+        public Map<String, List<Integer>> map;
+    }
+
     @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
     @JsonIgnoreProperties({"stringProperty", "aBooleanProperty", "notAnActualProperty"})
     public static class BeanWithIgnoredProperties {
@@ -126,4 +146,59 @@ public final class JsonIgnoreTester extends AbstractTester {
         assertEquals( 0, result.property.intProperty );
     }
 
+    private static BeanWithIgnoredProperties newBeanWithIgnoredProperties( int intProperty, String stringProperty ) {
+        BeanWithIgnoredProperties bean = new BeanWithIgnoredProperties();
+        bean.intProperty = intProperty;
+        bean.stringProperty = stringProperty;
+        return bean;
+    }
+
+    public void testSerializeBeanWithIgnorePropertiesAsSeveralProperties( ObjectWriterTester<BeanWithIgnorePropertiesAsSeveralProperties>
+                                                                                  writer ) {
+        BeanWithIgnorePropertiesAsSeveralProperties bean = new BeanWithIgnorePropertiesAsSeveralProperties();
+        bean.first = newBeanWithIgnoredProperties( 1, "first" );
+        bean.second = newBeanWithIgnoredProperties( 2, "second" );
+        bean.third = newBeanWithIgnoredProperties( 3, "third" );
+
+        String expected = "{\"first\":{\"aStringProperty\":\"first\"}," +
+                "\"second\":{\"intProperty\":2}," +
+                "\"third\":{\"intProperty\":3,\"aStringProperty\":\"third\"}}";
+
+        // written twice to make sure the ignored properties of a property are not kept for another one
+        assertEquals( expected, writer.write( bean ) );
+        assertEquals( expected, writer.write( bean ) );
+    }
+
+    public void testDeserializeBeanWithIgnorePropertiesAsSeveralProperties( ObjectReaderTester<BeanWithIgnorePropertiesAsSeveralProperties>
+                                                                                    reader ) {
+        String input = "{\"first\":{\"aStringProperty\":\"first\",\"intProperty\":1}," +
+                "\"second\":{\"aStringProperty\":\"second\",\"intProperty\":2}," +
+                "\"third\":{\"intProperty\":3}}";
+
+        for ( int i = 0; i < 2; i++ ) {
+            BeanWithIgnorePropertiesAsSeveralProperties result = reader.read( input );
+
+            assertEquals( "first", result.first.stringProperty );
+            assertEquals( 0, result.first.intProperty );
+            assertNull( result.second.stringProperty );
+            assertEquals( 2, result.second.intProperty );
+            assertEquals( 3, result.third.intProperty );
+        }
+    }
+
+    public void testDeserializeBeanWithIgnoredMapKeys( ObjectReaderTester<BeanWithIgnoredMapKeys> reader ) {
+        String input = "{\"map\":{" +
+                "\"first\":[1,2]," +
+                "\"ignored\":[{\"not\":\"an integer\"},[3,\"]\"]]," +
+                "\"last\":[4]}}";
+
+        BeanWithIgnoredMapKeys result = reader.read( input );
+
+        assertNotNull( result.map );
+        assertEquals( 2, result.map.size() );
+        assertEquals( 2, result.map.get( "first" ).size() );
+        assertFalse( result.map.containsKey( "ignored" ) );
+        assertEquals( Integer.valueOf( 4 ), result.map.get( "last" ).get( 0 ) );
+    }
+
 }